@@ -29,14 +29,24 @@ import org.springframework.web.filter.CommonsRequestLoggingFilter;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
 import pt.ulisboa.ewp.node.config.bootstrap.BootstrapProperties;
+import pt.ulisboa.ewp.node.config.cache.ConditionsHashCacheProperties;
+import pt.ulisboa.ewp.node.config.cache.EwpApiResponseCacheProperties;
+import pt.ulisboa.ewp.node.config.client.EwpClientProperties;
+import pt.ulisboa.ewp.node.config.discovery.DiscoveryManifestProperties;
+import pt.ulisboa.ewp.node.config.logging.HttpCommunicationLogProperties;
+import pt.ulisboa.ewp.node.config.mapping.EwpMappingProperties;
+import pt.ulisboa.ewp.node.config.notification.EwpNotificationSenderProperties;
+import pt.ulisboa.ewp.node.config.plugin.HostProviderInvocationProperties;
 import pt.ulisboa.ewp.node.config.registry.RegistryProperties;
 import pt.ulisboa.ewp.node.config.security.SecurityProperties;
+import pt.ulisboa.ewp.node.config.xml.XmlProperties;
 import pt.ulisboa.ewp.node.domain.utils.DatabaseProperties;
 import pt.ulisboa.ewp.node.service.bootstrap.BootstrapService;
 import pt.ulisboa.ewp.node.service.bootstrap.KeystoreBootstrapService;
 import pt.ulisboa.ewp.node.service.ewp.mapping.sync.EwpMappingSyncService;
 import pt.ulisboa.ewp.node.service.ewp.notification.EwpNotificationSenderDaemon;
 import pt.ulisboa.ewp.node.service.http.log.ewp.EwpHttpCommunicationLogService;
+import pt.ulisboa.ewp.node.service.keystore.KeyStoreService;
 import pt.ulisboa.ewp.node.utils.bean.ParamNameProcessor;
 import pt.ulisboa.ewp.node.utils.http.converter.xml.EwpNamespacePrefixMapper;
 import pt.ulisboa.ewp.node.utils.http.converter.xml.Jaxb2HttpMessageConverter;
@@ -47,7 +57,16 @@ import pt.ulisboa.ewp.node.utils.http.converter.xml.Jaxb2HttpMessageConverter;
         DatabaseProperties.class,
         BootstrapProperties.class,
         RegistryProperties.class,
-        SecurityProperties.class
+        SecurityProperties.class,
+        EwpClientProperties.class,
+        HttpCommunicationLogProperties.class,
+        HostProviderInvocationProperties.class,
+        EwpNotificationSenderProperties.class,
+        XmlProperties.class,
+        EwpApiResponseCacheProperties.class,
+        ConditionsHashCacheProperties.class,
+        EwpMappingProperties.class,
+        DiscoveryManifestProperties.class
     })
 @EnableWebSecurity
 @EnableGlobalMethodSecurity(securedEnabled = true, jsr250Enabled = true, prePostEnabled = true)
@@ -60,9 +79,13 @@ public class EwpNodeApplication {
   @Autowired
   private KeystoreBootstrapService keystoreBootstrapService;
   @Autowired
+  private KeyStoreService keyStoreService;
+  @Autowired
   private ThreadPoolTaskScheduler taskScheduler;
   @Autowired
   private EwpNotificationSenderDaemon ewpNotificationSenderDaemon;
+  @Autowired
+  private EwpNotificationSenderProperties ewpNotificationSenderProperties;
 
   @Autowired
   private Collection<EwpMappingSyncService> mappingSyncServices;
@@ -82,10 +105,16 @@ public class EwpNodeApplication {
   }
 
   private void initSchedules() {
-    taskScheduler.schedule(ewpNotificationSenderDaemon,
-        new PeriodicTrigger(EwpNotificationSenderDaemon.TASK_INTERVAL_IN_MILLISECONDS,
+    taskScheduler.schedule(keyStoreService::refreshFromStorage,
+        new PeriodicTrigger(keyStoreService.getRefreshIntervalInMilliseconds(),
             TimeUnit.MILLISECONDS));
 
+    if (ewpNotificationSenderProperties.isEnabled()) {
+      taskScheduler.schedule(ewpNotificationSenderDaemon,
+          new PeriodicTrigger(EwpNotificationSenderDaemon.TASK_INTERVAL_IN_MILLISECONDS,
+              TimeUnit.MILLISECONDS));
+    }
+
     for (EwpMappingSyncService mappingSyncService : mappingSyncServices) {
       taskScheduler.schedule(mappingSyncService,
           new PeriodicTrigger(mappingSyncService.getTaskIntervalInMilliseconds(),
@@ -107,8 +136,8 @@ public class EwpNodeApplication {
   }
 
   @Bean
-  public Marshaller marshaller() throws JAXBException {
-    return jaxb2Marshaller().getJaxbContext().createMarshaller();
+  public Marshaller marshaller(Jaxb2Marshaller jaxb2Marshaller) throws JAXBException {
+    return jaxb2Marshaller.getJaxbContext().createMarshaller();
   }
 
   /**
@@ -116,22 +145,23 @@ public class EwpNodeApplication {
    * when marshalling/unmarshalling.
    */
   @Bean
-  public Jaxb2HttpMessageConverter marshallingHttpMessageConverter() {
+  public Jaxb2HttpMessageConverter marshallingHttpMessageConverter(XmlProperties xmlProperties) {
     Jaxb2HttpMessageConverter result = new Jaxb2HttpMessageConverter();
     result.setPackagesToScan("eu.erasmuswithoutpaper.api", "pt.ulisboa.ewp.node");
     result.setSupportJaxbElementClass(true);
     result.setNamespacePrefixMapper(new EwpNamespacePrefixMapper());
+    result.setFormattedOutput(xmlProperties.isFormattedOutput());
     return result;
   }
 
   @Bean
-  public Jaxb2Marshaller jaxb2Marshaller() {
+  public Jaxb2Marshaller jaxb2Marshaller(XmlProperties xmlProperties) {
     Jaxb2Marshaller marshaller = new Jaxb2Marshaller();
     marshaller.setPackagesToScan("eu.erasmuswithoutpaper.api", "pt.ulisboa.ewp.node");
     marshaller.setSupportJaxbElementClass(true);
 
     Map<String, Object> jaxbProperties = new HashMap<>();
-    jaxbProperties.put(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+    jaxbProperties.put(Marshaller.JAXB_FORMATTED_OUTPUT, xmlProperties.isFormattedOutput());
     marshaller.setMarshallerProperties(jaxbProperties);
     return marshaller;
   }
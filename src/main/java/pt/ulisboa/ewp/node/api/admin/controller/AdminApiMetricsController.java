@@ -0,0 +1,40 @@
+package pt.ulisboa.ewp.node.api.admin.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.annotation.Secured;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import pt.ulisboa.ewp.node.api.admin.annotation.AdminApiWithResponseBodyWrapper;
+import pt.ulisboa.ewp.node.api.admin.security.AdminApiSecurityCommonConstants;
+import pt.ulisboa.ewp.node.api.admin.utils.AdminApiConstants;
+import pt.ulisboa.ewp.node.service.metrics.MetricsProvider;
+
+@RestController
+@AdminApi
+@RequestMapping(AdminApiConstants.API_BASE_URI + "metrics")
+@Secured({AdminApiSecurityCommonConstants.ROLE_ADMIN_WITH_PREFIX})
+@AdminApiWithResponseBodyWrapper
+@Validated
+public class AdminApiMetricsController extends AbstractAdminApiController {
+
+  @Autowired private Collection<MetricsProvider> metricsProviders;
+
+  @GetMapping
+  @Operation(
+      summary = "Get the current runtime metrics of the node.",
+      tags = {"admin"})
+  public ResponseEntity<Map<String, Map<String, Number>>> getMetrics() {
+    Map<String, Map<String, Number>> result = new TreeMap<>();
+    for (MetricsProvider metricsProvider : metricsProviders) {
+      result.put(metricsProvider.getMetricsGroupName(), metricsProvider.getMetrics());
+    }
+    return ResponseEntity.ok(result);
+  }
+}
@@ -1,6 +1,7 @@
 package pt.ulisboa.ewp.node.api.common.security.jwt;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.exceptions.TokenExpiredException;
@@ -104,11 +105,9 @@ public abstract class AbstractJwtTokenAuthenticationFilter extends BasicAuthenti
   protected DecodedJWT decodeToken(String jwtToken) {
     try {
       DecodedJWT decodedToken = JWT.decode(jwtToken);
-      Optional<String> tokenSecretOptional = getTokenSecret(decodedToken);
-      if (tokenSecretOptional.isPresent()) {
-        return JWT.require(Algorithm.HMAC256(tokenSecretOptional.get().getBytes()))
-            .build()
-            .verify(jwtToken);
+      Optional<JWTVerifier> tokenVerifierOptional = getTokenVerifier(decodedToken);
+      if (tokenVerifierOptional.isPresent()) {
+        return tokenVerifierOptional.get().verify(jwtToken);
       } else {
         LoggerUtils.error(
             "No token secret found for verification of JWT token: " + jwtToken,
@@ -140,6 +139,18 @@ public abstract class AbstractJwtTokenAuthenticationFilter extends BasicAuthenti
    */
   protected abstract Authentication resolveToAuthentication(DecodedJWT decodedToken);
 
+  /**
+   * Returns the verifier of the JWT. It may be overriden to reuse verifiers instead of building one
+   * per request. The default implementation builds a verifier from the token secret returned by
+   * {@link #getTokenSecret(DecodedJWT)}.
+   *
+   * @return Verifier of the JWT
+   */
+  protected Optional<JWTVerifier> getTokenVerifier(DecodedJWT jwt) {
+    return getTokenSecret(jwt)
+        .map(tokenSecret -> JWT.require(Algorithm.HMAC256(tokenSecret.getBytes())).build());
+  }
+
   /**
    * Returns the token secret to verify the JWT. It may be overriden to use the decoded JWT (not
    * verified) in order, for instance, obtain its issuer and, thus obtain the corresponding token
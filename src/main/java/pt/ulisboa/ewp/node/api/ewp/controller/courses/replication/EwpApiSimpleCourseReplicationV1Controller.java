@@ -15,6 +15,7 @@ import pt.ulisboa.ewp.node.api.ewp.utils.EwpApiConstants;
 import pt.ulisboa.ewp.node.api.ewp.utils.EwpApiParamConstants;
 import pt.ulisboa.ewp.node.exception.ewp.EwpUnknownHeiIdException;
 import pt.ulisboa.ewp.node.plugin.manager.host.HostPluginManager;
+import pt.ulisboa.ewp.node.plugin.manager.host.HostProviderInvoker;
 
 @RestController
 @EwpApi
@@ -25,8 +26,12 @@ public class EwpApiSimpleCourseReplicationV1Controller {
 
   private final HostPluginManager hostPluginManager;
 
-  public EwpApiSimpleCourseReplicationV1Controller(HostPluginManager hostPluginManager) {
+  private final HostProviderInvoker hostProviderInvoker;
+
+  public EwpApiSimpleCourseReplicationV1Controller(HostPluginManager hostPluginManager,
+      HostProviderInvoker hostProviderInvoker) {
     this.hostPluginManager = hostPluginManager;
+    this.hostProviderInvoker = hostProviderInvoker;
   }
 
   @RequestMapping(method = {RequestMethod.GET,
@@ -45,7 +50,8 @@ public class EwpApiSimpleCourseReplicationV1Controller {
         heiId, SimpleCourseReplicationV1HostProvider.class);
 
     CourseReplicationResponseV1 response = new CourseReplicationResponseV1();
-    providers.forEach(provider -> response.getLosId().addAll(provider.findAllByHeiId(heiId)));
+    hostProviderInvoker.invokeAll(providers, provider -> provider.findAllByHeiId(heiId))
+        .forEach(losIds -> response.getLosId().addAll(losIds));
     return ResponseEntity.ok(response);
   }
 }
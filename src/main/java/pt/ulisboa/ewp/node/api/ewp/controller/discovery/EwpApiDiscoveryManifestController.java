@@ -1,5 +1,7 @@
 package pt.ulisboa.ewp.node.api.ewp.controller.discovery;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import eu.erasmuswithoutpaper.api.architecture.v1.MultilineStringV1;
 import eu.erasmuswithoutpaper.api.architecture.v1.StringWithOptionalLangV1;
 import eu.erasmuswithoutpaper.api.discovery.v5.HostV5;
@@ -7,29 +9,37 @@ import eu.erasmuswithoutpaper.api.discovery.v5.ManifestV5;
 import eu.erasmuswithoutpaper.api.registry.v1.ApisImplementedV1;
 import eu.erasmuswithoutpaper.api.registry.v1.OtherHeiIdV1;
 import io.swagger.v3.oas.annotations.Operation;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.security.KeyStoreException;
-import java.security.NoSuchAlgorithmException;
-import java.security.UnrecoverableKeyException;
-import java.security.cert.CertificateException;
 import java.util.Collection;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.servlet.http.HttpServletRequest;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.event.TransactionalEventListener;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import pt.ulisboa.ewp.node.api.ewp.controller.EwpApi;
 import pt.ulisboa.ewp.node.api.ewp.controller.EwpManifestEntryProvider;
 import pt.ulisboa.ewp.node.api.ewp.utils.EwpApiConstants;
+import pt.ulisboa.ewp.node.config.discovery.DiscoveryManifestProperties;
 import pt.ulisboa.ewp.node.domain.entity.Hei;
+import pt.ulisboa.ewp.node.domain.event.HostChangedEvent;
 import pt.ulisboa.ewp.node.domain.repository.HostRepository;
 import pt.ulisboa.ewp.node.service.keystore.KeyStoreService;
+import pt.ulisboa.ewp.node.utils.http.converter.xml.Jaxb2HttpMessageConverter;
 import pt.ulisboa.ewp.node.utils.keystore.DecodedCertificateAndKey;
 
 @RestController
@@ -53,26 +63,94 @@ public class EwpApiDiscoveryManifestController {
   @Autowired
   Collection<EwpManifestEntryProvider> manifestEntryProviders;
 
+  @Autowired
+  private Jaxb2HttpMessageConverter jaxb2HttpMessageConverter;
+
+  /**
+   * Rendered manifests, per base URL variant (the URLs of the APIs depend on the requested host
+   * and base URI). A rendered manifest is rendered again when a host changes or the keystore in use
+   * is reloaded. The plugins' manifest entries are only rendered once, as plugins are only loaded
+   * on startup.
+   */
+  private final Cache<String, RenderedManifest> baseUrlVariantToRenderedManifestCache;
+
+  private final AtomicLong hostsVersion = new AtomicLong();
+
+  public EwpApiDiscoveryManifestController(
+      DiscoveryManifestProperties discoveryManifestProperties) {
+    this.baseUrlVariantToRenderedManifestCache = CacheBuilder.newBuilder()
+        .maximumSize(discoveryManifestProperties.getMaxNumberCachedManifests())
+        .build();
+  }
+
   @GetMapping(produces = MediaType.APPLICATION_XML_VALUE)
   @Operation(
       summary = "Discovery manifest API.",
       tags = {"ewp"})
-  public ResponseEntity<ManifestV5> manifest(HttpServletRequest request)
-      throws UnrecoverableKeyException, CertificateException, NoSuchAlgorithmException,
-      KeyStoreException, IOException {
-    ManifestV5 manifest = new ManifestV5();
+  public ResponseEntity<byte[]> manifest(HttpServletRequest request)
+      throws ExecutionException, IOException {
+    RenderedManifest renderedManifest = getRenderedManifest(request);
 
-    setHosts(request, manifest);
+    if (renderedManifest.matchesAnyETagOf(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(renderedManifest.getETag())
+          .build();
+    }
 
-    return ResponseEntity.ok(manifest);
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_XML)
+        .eTag(renderedManifest.getETag())
+        .body(renderedManifest.getBytes());
   }
 
-  private void setHosts(HttpServletRequest request, ManifestV5 manifest)
-      throws UnrecoverableKeyException, CertificateException, NoSuchAlgorithmException,
-      KeyStoreException, IOException {
-    DecodedCertificateAndKey decodedCertificateAndKeyFromStorage =
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onHostChanged(HostChangedEvent event) {
+    hostsVersion.incrementAndGet();
+  }
+
+  private RenderedManifest getRenderedManifest(HttpServletRequest request)
+      throws ExecutionException, IOException {
+    // NOTE: the version must be read before rendering, so a concurrent host change is never missed
+    long currentHostsVersion = hostsVersion.get();
+    DecodedCertificateAndKey decodedCertificateAndKey =
         keyStoreService.getDecodedCertificateAndKeyFromStorage();
+    String baseUrlVariant = getBaseUrl(request, false) + " " + getBaseUrl(request, true);
+
+    RenderedManifest renderedManifest = baseUrlVariantToRenderedManifestCache.get(baseUrlVariant,
+        () -> renderManifest(request, decodedCertificateAndKey, currentHostsVersion));
+    if (!renderedManifest.isRenderedFrom(decodedCertificateAndKey, currentHostsVersion)) {
+      renderedManifest = renderManifest(request, decodedCertificateAndKey, currentHostsVersion);
+      baseUrlVariantToRenderedManifestCache.put(baseUrlVariant, renderedManifest);
+    }
+    return renderedManifest;
+  }
+
+  private RenderedManifest renderManifest(HttpServletRequest request,
+      DecodedCertificateAndKey decodedCertificateAndKey, long hostsVersion) throws IOException {
+    ManifestV5 manifest = new ManifestV5();
+
+    setHosts(request, manifest, decodedCertificateAndKey);
+
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    jaxb2HttpMessageConverter.write(manifest, MediaType.APPLICATION_XML, new HttpOutputMessage() {
 
+      private final HttpHeaders headers = new HttpHeaders();
+
+      @Override
+      public OutputStream getBody() {
+        return outputStream;
+      }
+
+      @Override
+      public HttpHeaders getHeaders() {
+        return headers;
+      }
+    });
+    return new RenderedManifest(outputStream.toByteArray(), decodedCertificateAndKey,
+        hostsVersion);
+  }
+
+  private void setHosts(HttpServletRequest request, ManifestV5 manifest,
+      DecodedCertificateAndKey decodedCertificateAndKeyFromStorage) {
     hostRepository
         .findAll()
         .forEach(
@@ -197,4 +275,53 @@ public class EwpApiDiscoveryManifestController {
       return EwpApiConstants.API_BASE_URI;
     }
   }
+
+  private static class RenderedManifest {
+
+    private final byte[] bytes;
+    private final String eTag;
+    private final DecodedCertificateAndKey decodedCertificateAndKey;
+    private final long hostsVersion;
+
+    RenderedManifest(byte[] bytes, DecodedCertificateAndKey decodedCertificateAndKey,
+        long hostsVersion) {
+      this.bytes = bytes;
+      this.eTag = "\"" + DigestUtils.sha256Hex(bytes) + "\"";
+      this.decodedCertificateAndKey = decodedCertificateAndKey;
+      this.hostsVersion = hostsVersion;
+    }
+
+    byte[] getBytes() {
+      return bytes;
+    }
+
+    String getETag() {
+      return eTag;
+    }
+
+    boolean isRenderedFrom(DecodedCertificateAndKey decodedCertificateAndKey, long hostsVersion) {
+      return this.decodedCertificateAndKey == decodedCertificateAndKey
+          && this.hostsVersion == hostsVersion;
+    }
+
+    /**
+     * Checks if some entity tag of an If-None-Match header value matches the one of this manifest,
+     * using weak comparison as defined by RFC 7232.
+     */
+    boolean matchesAnyETagOf(String ifNoneMatchHeaderValue) {
+      if (ifNoneMatchHeaderValue == null) {
+        return false;
+      }
+      for (String candidateETag : ifNoneMatchHeaderValue.split(",")) {
+        candidateETag = candidateETag.trim();
+        if (candidateETag.startsWith("W/")) {
+          candidateETag = candidateETag.substring(2);
+        }
+        if (candidateETag.equals("*") || candidateETag.equals(eTag)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
 }
@@ -9,10 +9,9 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -25,11 +24,12 @@ import pt.ulisboa.ewp.node.api.ewp.controller.EwpApi;
 import pt.ulisboa.ewp.node.api.ewp.utils.EwpApiConstants;
 import pt.ulisboa.ewp.node.api.ewp.utils.EwpApiParamConstants;
 import pt.ulisboa.ewp.node.domain.entity.mapping.EwpInterInstitutionalAgreementMapping;
-import pt.ulisboa.ewp.node.domain.repository.mapping.EwpInterInstitutionalAgreementMappingRepository;
 import pt.ulisboa.ewp.node.exception.ewp.EwpBadRequestException;
 import pt.ulisboa.ewp.node.exception.ewp.EwpUnknownHeiIdException;
 import pt.ulisboa.ewp.node.plugin.manager.host.HostPluginManager;
+import pt.ulisboa.ewp.node.plugin.manager.host.HostProviderInvoker;
 import pt.ulisboa.ewp.node.service.ewp.iia.ConditionsHashDecorator;
+import pt.ulisboa.ewp.node.service.ewp.mapping.EwpInterInstitutionalAgreementMappingService;
 
 @RestController
 @EwpApi
@@ -41,15 +41,19 @@ public class EwpApiInterInstitutionalAgreementsV6Controller {
 
   private final HostPluginManager hostPluginManager;
 
-  private final EwpInterInstitutionalAgreementMappingRepository mappingRepository;
+  private final HostProviderInvoker hostProviderInvoker;
+
+  private final EwpInterInstitutionalAgreementMappingService mappingService;
 
   private final ConditionsHashDecorator conditionsHashDecorator;
 
   public EwpApiInterInstitutionalAgreementsV6Controller(HostPluginManager hostPluginManager,
-      EwpInterInstitutionalAgreementMappingRepository mappingRepository,
+      HostProviderInvoker hostProviderInvoker,
+      EwpInterInstitutionalAgreementMappingService mappingService,
       ConditionsHashDecorator conditionsHashDecorator) {
     this.hostPluginManager = hostPluginManager;
-    this.mappingRepository = mappingRepository;
+    this.hostProviderInvoker = hostProviderInvoker;
+    this.mappingService = mappingService;
     this.conditionsHashDecorator = conditionsHashDecorator;
   }
 
@@ -74,12 +78,10 @@ public class EwpApiInterInstitutionalAgreementsV6Controller {
         heiId, InterInstitutionalAgreementsV6HostProvider.class);
 
     IiasIndexResponseV6 response = new IiasIndexResponseV6();
-    providers.forEach(provider -> {
-      Collection<String> iiaIds = provider.findAllIiaIdsByHeiId(Collections.singletonList(heiId),
-          heiId, partnerHeiId,
-          receivingAcademicYearIds, modifiedSince);
-      response.getIiaId().addAll(iiaIds);
-    });
+    hostProviderInvoker.invokeAll(providers,
+            provider -> provider.findAllIiaIdsByHeiId(Collections.singletonList(heiId),
+                heiId, partnerHeiId, receivingAcademicYearIds, modifiedSince))
+        .forEach(iiaIds -> response.getIiaId().addAll(iiaIds));
     return ResponseEntity.ok(response);
   }
 
@@ -140,12 +142,10 @@ public class EwpApiInterInstitutionalAgreementsV6Controller {
     }
 
     IiasGetResponseV6 response = new IiasGetResponseV6();
-    for (Map.Entry<InterInstitutionalAgreementsV6HostProvider, Collection<String>> entry : providerToIiaIdsMap.entrySet()) {
-      InterInstitutionalAgreementsV6HostProvider provider = entry.getKey();
-      Collection<String> coveredIiaIds = entry.getValue();
-      provider.findByHeiIdAndIiaIds(Collections.singletonList(heiId), heiId, coveredIiaIds, sendPdf)
-          .forEach(iia -> response.getIia().add(iia));
-    }
+    hostProviderInvoker.invokeAll(providerToIiaIdsMap,
+            (provider, coveredIiaIds) -> provider.findByHeiIdAndIiaIds(
+                Collections.singletonList(heiId), heiId, coveredIiaIds, sendPdf))
+        .forEach(iias -> response.getIia().addAll(iias));
     conditionsHashDecorator.decorateWithConditionsHashes(response);
     return ResponseEntity.ok(response);
   }
@@ -168,13 +168,10 @@ public class EwpApiInterInstitutionalAgreementsV6Controller {
     }
 
     IiasGetResponseV6 response = new IiasGetResponseV6();
-    for (Map.Entry<InterInstitutionalAgreementsV6HostProvider, Collection<String>> entry : providerToIiaCodesMap.entrySet()) {
-      InterInstitutionalAgreementsV6HostProvider provider = entry.getKey();
-      Collection<String> coveredIiaCodes = entry.getValue();
-      provider.findByHeiIdAndIiaCodes(Collections.singletonList(heiId), heiId, coveredIiaCodes,
-              sendPdf)
-          .forEach(iia -> response.getIia().add(iia));
-    }
+    hostProviderInvoker.invokeAll(providerToIiaCodesMap,
+            (provider, coveredIiaCodes) -> provider.findByHeiIdAndIiaCodes(
+                Collections.singletonList(heiId), heiId, coveredIiaCodes, sendPdf))
+        .forEach(iias -> response.getIia().addAll(iias));
     conditionsHashDecorator.decorateWithConditionsHashes(response);
     return ResponseEntity.ok(response);
   }
@@ -187,13 +184,12 @@ public class EwpApiInterInstitutionalAgreementsV6Controller {
       throw new EwpUnknownHeiIdException(heiId);
     }
 
-    Map<InterInstitutionalAgreementsV6HostProvider, Collection<String>> result = new HashMap<>();
+    Map<InterInstitutionalAgreementsV6HostProvider, Collection<String>> result = new LinkedHashMap<>();
+    Map<String, EwpInterInstitutionalAgreementMapping> iiaIdToMappingMap = mappingService.getMappingsByIiaIds(
+        heiId, iiaIds);
     for (String iiaId : iiaIds) {
-      Optional<EwpInterInstitutionalAgreementMapping> mappingOptional = mappingRepository.findByHeiIdAndIiaId(
-          heiId, iiaId);
-      if (mappingOptional.isPresent()) {
-        EwpInterInstitutionalAgreementMapping mapping = mappingOptional.get();
-
+      EwpInterInstitutionalAgreementMapping mapping = iiaIdToMappingMap.get(iiaId);
+      if (mapping != null) {
         Collection<InterInstitutionalAgreementsV6HostProvider> providers = hostPluginManager.getProvidersByHeiIdAndOunitId(
             heiId, mapping.getOunitId(),
             InterInstitutionalAgreementsV6HostProvider.class);
@@ -215,13 +211,12 @@ public class EwpApiInterInstitutionalAgreementsV6Controller {
       throw new EwpUnknownHeiIdException(heiId);
     }
 
-    Map<InterInstitutionalAgreementsV6HostProvider, Collection<String>> result = new HashMap<>();
+    Map<InterInstitutionalAgreementsV6HostProvider, Collection<String>> result = new LinkedHashMap<>();
+    Map<String, EwpInterInstitutionalAgreementMapping> iiaCodeToMappingMap = mappingService.getMappingsByIiaCodes(
+        heiId, iiaCodes);
     for (String iiaCode : iiaCodes) {
-      Optional<EwpInterInstitutionalAgreementMapping> mappingOptional = mappingRepository.findByHeiIdAndIiaCode(
-          heiId, iiaCode);
-      if (mappingOptional.isPresent()) {
-        EwpInterInstitutionalAgreementMapping mapping = mappingOptional.get();
-
+      EwpInterInstitutionalAgreementMapping mapping = iiaCodeToMappingMap.get(iiaCode);
+      if (mapping != null) {
         Collection<InterInstitutionalAgreementsV6HostProvider> providers = hostPluginManager.getProvidersByHeiIdAndOunitId(
             heiId, mapping.getOunitId(),
             InterInstitutionalAgreementsV6HostProvider.class);
@@ -4,9 +4,8 @@ import eu.erasmuswithoutpaper.api.iias.approval.v1.IiasApprovalResponseV1;
 import io.swagger.v3.oas.annotations.Operation;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Optional;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -18,9 +17,10 @@ import pt.ulisboa.ewp.node.api.ewp.controller.EwpApi;
 import pt.ulisboa.ewp.node.api.ewp.utils.EwpApiConstants;
 import pt.ulisboa.ewp.node.api.ewp.utils.EwpApiParamConstants;
 import pt.ulisboa.ewp.node.domain.entity.mapping.EwpInterInstitutionalAgreementMapping;
-import pt.ulisboa.ewp.node.domain.repository.mapping.EwpInterInstitutionalAgreementMappingRepository;
 import pt.ulisboa.ewp.node.exception.ewp.EwpUnknownHeiIdException;
 import pt.ulisboa.ewp.node.plugin.manager.host.HostPluginManager;
+import pt.ulisboa.ewp.node.plugin.manager.host.HostProviderInvoker;
+import pt.ulisboa.ewp.node.service.ewp.mapping.EwpInterInstitutionalAgreementMappingService;
 
 @RestController
 @EwpApi
@@ -32,13 +32,17 @@ public class EwpApiInterInstitutionalAgreementsApprovalV1Controller {
 
   private final HostPluginManager hostPluginManager;
 
-  private final EwpInterInstitutionalAgreementMappingRepository mappingRepository;
+  private final HostProviderInvoker hostProviderInvoker;
+
+  private final EwpInterInstitutionalAgreementMappingService mappingService;
 
   public EwpApiInterInstitutionalAgreementsApprovalV1Controller(
       HostPluginManager hostPluginManager,
-      EwpInterInstitutionalAgreementMappingRepository mappingRepository) {
+      HostProviderInvoker hostProviderInvoker,
+      EwpInterInstitutionalAgreementMappingService mappingService) {
     this.hostPluginManager = hostPluginManager;
-    this.mappingRepository = mappingRepository;
+    this.hostProviderInvoker = hostProviderInvoker;
+    this.mappingService = mappingService;
   }
 
   @RequestMapping(method = {RequestMethod.GET,
@@ -57,12 +61,10 @@ public class EwpApiInterInstitutionalAgreementsApprovalV1Controller {
         approvingHeiId, iiaIds);
 
     IiasApprovalResponseV1 response = new IiasApprovalResponseV1();
-    for (Map.Entry<InterInstitutionalAgreementsApprovalV1HostProvider, Collection<String>> entry : providerToIiaIdsMap.entrySet()) {
-      InterInstitutionalAgreementsApprovalV1HostProvider provider = entry.getKey();
-      Collection<String> coveredIiaIds = entry.getValue();
-      provider.findByIiaIds(approvingHeiId, ownerHeiId, coveredIiaIds, sendPdf)
-          .forEach(iia -> response.getApproval().add(iia));
-    }
+    hostProviderInvoker.invokeAll(providerToIiaIdsMap,
+            (provider, coveredIiaIds) -> provider.findByIiaIds(approvingHeiId, ownerHeiId,
+                coveredIiaIds, sendPdf))
+        .forEach(approvals -> response.getApproval().addAll(approvals));
     return ResponseEntity.ok(response);
   }
 
@@ -74,13 +76,12 @@ public class EwpApiInterInstitutionalAgreementsApprovalV1Controller {
       throw new EwpUnknownHeiIdException(heiId);
     }
 
-    Map<InterInstitutionalAgreementsApprovalV1HostProvider, Collection<String>> result = new HashMap<>();
+    Map<InterInstitutionalAgreementsApprovalV1HostProvider, Collection<String>> result = new LinkedHashMap<>();
+    Map<String, EwpInterInstitutionalAgreementMapping> iiaIdToMappingMap = mappingService.getMappingsByIiaIds(
+        heiId, iiaIds);
     for (String iiaId : iiaIds) {
-      Optional<EwpInterInstitutionalAgreementMapping> mappingOptional = mappingRepository.findByHeiIdAndIiaId(
-          heiId, iiaId);
-      if (mappingOptional.isPresent()) {
-        EwpInterInstitutionalAgreementMapping mapping = mappingOptional.get();
-
+      EwpInterInstitutionalAgreementMapping mapping = iiaIdToMappingMap.get(iiaId);
+      if (mapping != null) {
         Collection<InterInstitutionalAgreementsApprovalV1HostProvider> providers = hostPluginManager.getProvidersByHeiIdAndOunitId(
             heiId, mapping.getOunitId(),
             InterInstitutionalAgreementsApprovalV1HostProvider.class);
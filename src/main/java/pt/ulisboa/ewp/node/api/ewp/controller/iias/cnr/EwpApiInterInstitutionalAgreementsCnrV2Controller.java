@@ -1,5 +1,7 @@
 package pt.ulisboa.ewp.node.api.ewp.controller.iias.cnr;
 
+import static pt.ulisboa.ewp.node.utils.EwpApi.INTERINSTITUTIONAL_AGREEMENTS;
+
 import eu.erasmuswithoutpaper.api.architecture.v1.EmptyV1;
 import eu.erasmuswithoutpaper.api.iias.cnr.v2.IiaCnrResponseV2;
 import io.swagger.v3.oas.annotations.Operation;
@@ -15,6 +17,7 @@ import pt.ulisboa.ewp.node.api.ewp.controller.EwpApi;
 import pt.ulisboa.ewp.node.api.ewp.utils.EwpApiConstants;
 import pt.ulisboa.ewp.node.api.ewp.utils.EwpApiParamConstants;
 import pt.ulisboa.ewp.node.plugin.manager.host.HostPluginManager;
+import pt.ulisboa.ewp.node.service.ewp.cache.EwpApiResponseCacheService;
 
 @RestController
 @EwpApi
@@ -25,9 +28,12 @@ public class EwpApiInterInstitutionalAgreementsCnrV2Controller {
   public static final String BASE_PATH = "iias/cnr/v2";
 
   private final HostPluginManager hostPluginManager;
+  private final EwpApiResponseCacheService responseCacheService;
 
-  public EwpApiInterInstitutionalAgreementsCnrV2Controller(HostPluginManager hostPluginManager) {
+  public EwpApiInterInstitutionalAgreementsCnrV2Controller(HostPluginManager hostPluginManager,
+      EwpApiResponseCacheService responseCacheService) {
     this.hostPluginManager = hostPluginManager;
+    this.responseCacheService = responseCacheService;
   }
 
   @RequestMapping(method = {RequestMethod.GET,
@@ -45,6 +51,9 @@ public class EwpApiInterInstitutionalAgreementsCnrV2Controller {
       provider.onChangeNotification(notifierHeiId, iiaId);
     }
 
+    // NOTE: hosts may update their IIAs in reaction to the notification
+    responseCacheService.invalidate(INTERINSTITUTIONAL_AGREEMENTS);
+
     return ResponseEntity.ok(new IiaCnrResponseV2(new EmptyV1()));
   }
 }
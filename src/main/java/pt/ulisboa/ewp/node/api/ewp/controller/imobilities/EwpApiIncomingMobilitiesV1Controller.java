@@ -5,10 +5,9 @@ import io.swagger.v3.oas.annotations.Operation;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -21,9 +20,10 @@ import pt.ulisboa.ewp.node.api.ewp.security.EwpApiHostAuthenticationToken;
 import pt.ulisboa.ewp.node.api.ewp.utils.EwpApiConstants;
 import pt.ulisboa.ewp.node.api.ewp.utils.EwpApiParamConstants;
 import pt.ulisboa.ewp.node.domain.entity.mapping.EwpOutgoingMobilityMapping;
-import pt.ulisboa.ewp.node.domain.repository.mapping.EwpOutgoingMobilityMappingRepository;
 import pt.ulisboa.ewp.node.exception.ewp.EwpBadRequestException;
 import pt.ulisboa.ewp.node.plugin.manager.host.HostPluginManager;
+import pt.ulisboa.ewp.node.plugin.manager.host.HostProviderInvoker;
+import pt.ulisboa.ewp.node.service.ewp.mapping.EwpOutgoingMobilityMappingService;
 
 @RestController
 @EwpApi
@@ -35,12 +35,16 @@ public class EwpApiIncomingMobilitiesV1Controller {
 
   private final HostPluginManager hostPluginManager;
 
-  private final EwpOutgoingMobilityMappingRepository mappingRepository;
+  private final HostProviderInvoker hostProviderInvoker;
+
+  private final EwpOutgoingMobilityMappingService mappingService;
 
   public EwpApiIncomingMobilitiesV1Controller(HostPluginManager hostPluginManager,
-      EwpOutgoingMobilityMappingRepository mappingRepository) {
+      HostProviderInvoker hostProviderInvoker,
+      EwpOutgoingMobilityMappingService mappingService) {
     this.hostPluginManager = hostPluginManager;
-    this.mappingRepository = mappingRepository;
+    this.hostProviderInvoker = hostProviderInvoker;
+    this.mappingService = mappingService;
   }
 
   @RequestMapping(path = "/get", method = {RequestMethod.GET,
@@ -81,26 +85,22 @@ public class EwpApiIncomingMobilitiesV1Controller {
         receivingHeiId, outgoingMobilityIds);
 
     ImobilitiesGetResponseV1 response = new ImobilitiesGetResponseV1();
-    for (Map.Entry<IncomingMobilitiesV1HostProvider, Collection<String>> entry : providerToOmobilityIdsMap.entrySet()) {
-      IncomingMobilitiesV1HostProvider provider = entry.getKey();
-      Collection<String> coveredOmobilityIds = entry.getValue();
-      provider.findByReceivingHeiIdAndOutgoingMobilityIds(
-              authenticationToken.getPrincipal().getHeiIdsCoveredByClient(), receivingHeiId,
-              coveredOmobilityIds)
-          .forEach(mobility -> response.getSingleIncomingMobilityObject().add(mobility));
-    }
+    hostProviderInvoker.invokeAll(providerToOmobilityIdsMap,
+            (provider, coveredOmobilityIds) -> provider.findByReceivingHeiIdAndOutgoingMobilityIds(
+                authenticationToken.getPrincipal().getHeiIdsCoveredByClient(), receivingHeiId,
+                coveredOmobilityIds))
+        .forEach(mobilities -> response.getSingleIncomingMobilityObject().addAll(mobilities));
     return ResponseEntity.ok(response);
   }
 
   private Map<IncomingMobilitiesV1HostProvider, Collection<String>> getOmobilityIdsCoveredPerProviderOfHeiId(
       String heiId, Collection<String> omobilityIds) {
-    Map<IncomingMobilitiesV1HostProvider, Collection<String>> result = new HashMap<>();
+    Map<IncomingMobilitiesV1HostProvider, Collection<String>> result = new LinkedHashMap<>();
+    Map<String, EwpOutgoingMobilityMapping> omobilityIdToMappingMap = mappingService.getMappings(
+        heiId, omobilityIds);
     for (String omobilityId : omobilityIds) {
-      Optional<EwpOutgoingMobilityMapping> mappingOptional = mappingRepository.findByHeiIdAndOmobilityId(
-          heiId, omobilityId);
-      if (mappingOptional.isPresent()) {
-        EwpOutgoingMobilityMapping mapping = mappingOptional.get();
-
+      EwpOutgoingMobilityMapping mapping = omobilityIdToMappingMap.get(omobilityId);
+      if (mapping != null) {
         Collection<IncomingMobilitiesV1HostProvider> providers = hostPluginManager.getProvidersByHeiIdAndOunitId(
             heiId, mapping.getOunitId(), IncomingMobilitiesV1HostProvider.class);
         if (!providers.isEmpty()) {
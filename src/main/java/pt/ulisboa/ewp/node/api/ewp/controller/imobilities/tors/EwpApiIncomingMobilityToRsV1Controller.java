@@ -9,10 +9,9 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -26,9 +25,10 @@ import pt.ulisboa.ewp.node.api.ewp.security.EwpApiHostAuthenticationToken;
 import pt.ulisboa.ewp.node.api.ewp.utils.EwpApiConstants;
 import pt.ulisboa.ewp.node.api.ewp.utils.EwpApiParamConstants;
 import pt.ulisboa.ewp.node.domain.entity.mapping.EwpOutgoingMobilityMapping;
-import pt.ulisboa.ewp.node.domain.repository.mapping.EwpOutgoingMobilityMappingRepository;
 import pt.ulisboa.ewp.node.exception.ewp.EwpBadRequestException;
 import pt.ulisboa.ewp.node.plugin.manager.host.HostPluginManager;
+import pt.ulisboa.ewp.node.plugin.manager.host.HostProviderInvoker;
+import pt.ulisboa.ewp.node.service.ewp.mapping.EwpOutgoingMobilityMappingService;
 
 @RestController
 @EwpApi
@@ -40,12 +40,16 @@ public class EwpApiIncomingMobilityToRsV1Controller {
 
   private final HostPluginManager hostPluginManager;
 
-  private final EwpOutgoingMobilityMappingRepository mappingRepository;
+  private final HostProviderInvoker hostProviderInvoker;
+
+  private final EwpOutgoingMobilityMappingService mappingService;
 
   public EwpApiIncomingMobilityToRsV1Controller(HostPluginManager hostPluginManager,
-      EwpOutgoingMobilityMappingRepository mappingRepository) {
+      HostProviderInvoker hostProviderInvoker,
+      EwpOutgoingMobilityMappingService mappingService) {
     this.hostPluginManager = hostPluginManager;
-    this.mappingRepository = mappingRepository;
+    this.hostProviderInvoker = hostProviderInvoker;
+    this.mappingService = mappingService;
   }
 
   @RequestMapping(path = "/index", method = {RequestMethod.GET,
@@ -69,12 +73,10 @@ public class EwpApiIncomingMobilityToRsV1Controller {
         receivingHeiId, IncomingMobilityToRsV1HostProvider.class);
 
     ImobilityTorsIndexResponseV1 response = new ImobilityTorsIndexResponseV1();
-    providers.forEach(provider -> {
-      Collection<String> outgoingMobilityIds = provider
-          .findOutgoingMobilityIds(authenticationToken.getPrincipal().getHeiIdsCoveredByClient(),
-              receivingHeiId, sendingHeiIds, modifiedSince);
-      response.getOmobilityId().addAll(outgoingMobilityIds);
-    });
+    hostProviderInvoker.invokeAll(providers, provider -> provider
+            .findOutgoingMobilityIds(authenticationToken.getPrincipal().getHeiIdsCoveredByClient(),
+                receivingHeiId, sendingHeiIds, modifiedSince))
+        .forEach(outgoingMobilityIds -> response.getOmobilityId().addAll(outgoingMobilityIds));
     return ResponseEntity.ok(response);
   }
 
@@ -116,26 +118,22 @@ public class EwpApiIncomingMobilityToRsV1Controller {
         receivingHeiId, outgoingMobilityIds);
 
     ImobilityTorsGetResponseV1 response = new ImobilityTorsGetResponseV1();
-    for (Map.Entry<IncomingMobilityToRsV1HostProvider, Collection<String>> entry : providerToOmobilityIdsMap.entrySet()) {
-      IncomingMobilityToRsV1HostProvider provider = entry.getKey();
-      Collection<String> coveredOmobilityIds = entry.getValue();
-      provider.findByReceivingHeiIdAndOutgoingMobilityIds(
-              authenticationToken.getPrincipal().getHeiIdsCoveredByClient(), receivingHeiId,
-              coveredOmobilityIds)
-          .forEach(tor -> response.getTor().add(tor));
-    }
+    hostProviderInvoker.invokeAll(providerToOmobilityIdsMap,
+            (provider, coveredOmobilityIds) -> provider.findByReceivingHeiIdAndOutgoingMobilityIds(
+                authenticationToken.getPrincipal().getHeiIdsCoveredByClient(), receivingHeiId,
+                coveredOmobilityIds))
+        .forEach(tors -> response.getTor().addAll(tors));
     return ResponseEntity.ok(response);
   }
 
   private Map<IncomingMobilityToRsV1HostProvider, Collection<String>> getOmobilityIdsCoveredPerProviderOfHeiId(
       String heiId, Collection<String> omobilityIds) {
-    Map<IncomingMobilityToRsV1HostProvider, Collection<String>> result = new HashMap<>();
+    Map<IncomingMobilityToRsV1HostProvider, Collection<String>> result = new LinkedHashMap<>();
+    Map<String, EwpOutgoingMobilityMapping> omobilityIdToMappingMap = mappingService.getMappings(
+        heiId, omobilityIds);
     for (String omobilityId : omobilityIds) {
-      Optional<EwpOutgoingMobilityMapping> mappingOptional = mappingRepository.findByHeiIdAndOmobilityId(
-          heiId, omobilityId);
-      if (mappingOptional.isPresent()) {
-        EwpOutgoingMobilityMapping mapping = mappingOptional.get();
-
+      EwpOutgoingMobilityMapping mapping = omobilityIdToMappingMap.get(omobilityId);
+      if (mapping != null) {
         Collection<IncomingMobilityToRsV1HostProvider> providers = hostPluginManager.getProvidersByHeiIdAndOunitId(
             heiId, mapping.getOunitId(), IncomingMobilityToRsV1HostProvider.class);
         if (!providers.isEmpty()) {
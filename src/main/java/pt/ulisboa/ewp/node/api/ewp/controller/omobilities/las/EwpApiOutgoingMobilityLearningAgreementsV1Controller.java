@@ -11,7 +11,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -31,9 +31,10 @@ import pt.ulisboa.ewp.node.api.ewp.security.EwpApiHostAuthenticationToken;
 import pt.ulisboa.ewp.node.api.ewp.utils.EwpApiConstants;
 import pt.ulisboa.ewp.node.api.ewp.utils.EwpApiParamConstants;
 import pt.ulisboa.ewp.node.domain.entity.mapping.EwpOutgoingMobilityMapping;
-import pt.ulisboa.ewp.node.domain.repository.mapping.EwpOutgoingMobilityMappingRepository;
 import pt.ulisboa.ewp.node.exception.ewp.EwpBadRequestException;
 import pt.ulisboa.ewp.node.plugin.manager.host.HostPluginManager;
+import pt.ulisboa.ewp.node.plugin.manager.host.HostProviderInvoker;
+import pt.ulisboa.ewp.node.service.ewp.mapping.EwpOutgoingMobilityMappingService;
 
 @RestController
 @EwpApi
@@ -45,12 +46,16 @@ public class EwpApiOutgoingMobilityLearningAgreementsV1Controller {
 
   private final HostPluginManager hostPluginManager;
 
-  private final EwpOutgoingMobilityMappingRepository mappingRepository;
+  private final HostProviderInvoker hostProviderInvoker;
+
+  private final EwpOutgoingMobilityMappingService mappingService;
 
   public EwpApiOutgoingMobilityLearningAgreementsV1Controller(HostPluginManager hostPluginManager,
-      EwpOutgoingMobilityMappingRepository mappingRepository) {
+      HostProviderInvoker hostProviderInvoker,
+      EwpOutgoingMobilityMappingService mappingService) {
     this.hostPluginManager = hostPluginManager;
-    this.mappingRepository = mappingRepository;
+    this.hostProviderInvoker = hostProviderInvoker;
+    this.mappingService = mappingService;
   }
 
   @RequestMapping(path = "/index", method = {RequestMethod.GET,
@@ -77,13 +82,11 @@ public class EwpApiOutgoingMobilityLearningAgreementsV1Controller {
         sendingHeiId, OutgoingMobilityLearningAgreementsV1HostProvider.class);
 
     OmobilityLasIndexResponseV1 response = new OmobilityLasIndexResponseV1();
-    providers.forEach(provider -> {
-      Collection<String> outgoingMobilityIds = provider
-          .findOutgoingMobilityIds(authenticationToken.getPrincipal().getHeiIdsCoveredByClient(),
-              sendingHeiId, receivingHeiIds, receivingAcademicYearId, globalId, mobilityType,
-              modifiedSince);
-      response.getOmobilityId().addAll(outgoingMobilityIds);
-    });
+    hostProviderInvoker.invokeAll(providers, provider -> provider
+            .findOutgoingMobilityIds(authenticationToken.getPrincipal().getHeiIdsCoveredByClient(),
+                sendingHeiId, receivingHeiIds, receivingAcademicYearId, globalId, mobilityType,
+                modifiedSince))
+        .forEach(outgoingMobilityIds -> response.getOmobilityId().addAll(outgoingMobilityIds));
     return ResponseEntity.ok(response);
   }
 
@@ -125,14 +128,11 @@ public class EwpApiOutgoingMobilityLearningAgreementsV1Controller {
         sendingHeiId, outgoingMobilityIds);
 
     OmobilityLasGetResponseV1 response = new OmobilityLasGetResponseV1();
-    for (Map.Entry<OutgoingMobilityLearningAgreementsV1HostProvider, Collection<String>> entry : providerToOmobilityIdsMap.entrySet()) {
-      OutgoingMobilityLearningAgreementsV1HostProvider provider = entry.getKey();
-      Collection<String> coveredOmobilityIds = entry.getValue();
-      provider.findBySendingHeiIdAndOutgoingMobilityIds(
-              authenticationToken.getPrincipal().getHeiIdsCoveredByClient(), sendingHeiId,
-              coveredOmobilityIds)
-          .forEach(la -> response.getLa().add(la));
-    }
+    hostProviderInvoker.invokeAll(providerToOmobilityIdsMap,
+            (provider, coveredOmobilityIds) -> provider.findBySendingHeiIdAndOutgoingMobilityIds(
+                authenticationToken.getPrincipal().getHeiIdsCoveredByClient(), sendingHeiId,
+                coveredOmobilityIds))
+        .forEach(las -> response.getLa().addAll(las));
     return ResponseEntity.ok(response);
   }
 
@@ -148,7 +148,7 @@ public class EwpApiOutgoingMobilityLearningAgreementsV1Controller {
 
     String omobilityId = getOmobilityIdOfUpdateData(updateData);
 
-    Optional<EwpOutgoingMobilityMapping> mappingOptional = mappingRepository.findByHeiIdAndOmobilityId(
+    Optional<EwpOutgoingMobilityMapping> mappingOptional = mappingService.getMapping(
         sendingHeiId, omobilityId);
     if (mappingOptional.isEmpty()) {
       throw new EwpBadRequestException(
@@ -178,13 +178,12 @@ public class EwpApiOutgoingMobilityLearningAgreementsV1Controller {
 
   private Map<OutgoingMobilityLearningAgreementsV1HostProvider, Collection<String>> getOmobilityIdsCoveredPerProviderOfHeiId(
       String heiId, Collection<String> omobilityIds) {
-    Map<OutgoingMobilityLearningAgreementsV1HostProvider, Collection<String>> result = new HashMap<>();
+    Map<OutgoingMobilityLearningAgreementsV1HostProvider, Collection<String>> result = new LinkedHashMap<>();
+    Map<String, EwpOutgoingMobilityMapping> omobilityIdToMappingMap = mappingService.getMappings(
+        heiId, omobilityIds);
     for (String omobilityId : omobilityIds) {
-      Optional<EwpOutgoingMobilityMapping> mappingOptional = mappingRepository.findByHeiIdAndOmobilityId(
-          heiId, omobilityId);
-      if (mappingOptional.isPresent()) {
-        EwpOutgoingMobilityMapping mapping = mappingOptional.get();
-
+      EwpOutgoingMobilityMapping mapping = omobilityIdToMappingMap.get(omobilityId);
+      if (mapping != null) {
         Collection<OutgoingMobilityLearningAgreementsV1HostProvider> providers = hostPluginManager.getProvidersByHeiIdAndOunitId(
             heiId, mapping.getOunitId(), OutgoingMobilityLearningAgreementsV1HostProvider.class);
         if (!providers.isEmpty()) {
@@ -21,6 +21,7 @@ import pt.ulisboa.ewp.node.api.ewp.utils.EwpApiParamConstants;
 import pt.ulisboa.ewp.node.exception.ewp.EwpBadRequestException;
 import pt.ulisboa.ewp.node.exception.ewp.EwpUnknownHeiIdException;
 import pt.ulisboa.ewp.node.plugin.manager.host.HostPluginManager;
+import pt.ulisboa.ewp.node.plugin.manager.host.HostProviderInvoker;
 
 @RestController
 @EwpApi
@@ -31,8 +32,12 @@ public class EwpApiOrganizationalUnitsV2Controller {
 
   private final HostPluginManager hostPluginManager;
 
-  public EwpApiOrganizationalUnitsV2Controller(HostPluginManager hostPluginManager) {
+  private final HostProviderInvoker hostProviderInvoker;
+
+  public EwpApiOrganizationalUnitsV2Controller(HostPluginManager hostPluginManager,
+      HostProviderInvoker hostProviderInvoker) {
     this.hostPluginManager = hostPluginManager;
+    this.hostProviderInvoker = hostProviderInvoker;
   }
 
   @RequestMapping(method = {RequestMethod.GET,
@@ -86,12 +91,10 @@ public class EwpApiOrganizationalUnitsV2Controller {
     }
 
     Map<String, Ounit> ounitIdToOunitMap = new HashMap<>();
-    for (Map.Entry<OrganizationalUnitsV2HostProvider, Collection<String>> entry : providerToOunitIdsMap.entrySet()) {
-      OrganizationalUnitsV2HostProvider provider = entry.getKey();
-      Collection<String> coveredOunitIds = entry.getValue();
-      provider.findByHeiIdAndOunitIds(heiId, coveredOunitIds)
-          .forEach(ounit -> ounitIdToOunitMap.put(ounit.getOunitId(), ounit));
-    }
+    hostProviderInvoker.invokeAll(providerToOunitIdsMap,
+            (provider, coveredOunitIds) -> provider.findByHeiIdAndOunitIds(heiId, coveredOunitIds))
+        .forEach(ounits -> ounits.forEach(
+            ounit -> ounitIdToOunitMap.put(ounit.getOunitId(), ounit)));
 
     OunitsResponseV2 response = new OunitsResponseV2();
     for (String ounitId : ounitIds) {
@@ -117,12 +120,11 @@ public class EwpApiOrganizationalUnitsV2Controller {
     }
 
     Map<String, Ounit> ounitCodeToOunitMap = new HashMap<>();
-    for (Map.Entry<OrganizationalUnitsV2HostProvider, Collection<String>> entry : providerToOunitCodesMap.entrySet()) {
-      OrganizationalUnitsV2HostProvider provider = entry.getKey();
-      Collection<String> coveredOunitCodes = entry.getValue();
-      provider.findByHeiIdAndOunitCodes(heiId, coveredOunitCodes)
-          .forEach(ounit -> ounitCodeToOunitMap.put(ounit.getOunitCode(), ounit));
-    }
+    hostProviderInvoker.invokeAll(providerToOunitCodesMap,
+            (provider, coveredOunitCodes) -> provider.findByHeiIdAndOunitCodes(heiId,
+                coveredOunitCodes))
+        .forEach(ounits -> ounits.forEach(
+            ounit -> ounitCodeToOunitMap.put(ounit.getOunitCode(), ounit)));
 
     OunitsResponseV2 response = new OunitsResponseV2();
     for (String ounitCode : ounitCodes) {
@@ -0,0 +1,88 @@
+package pt.ulisboa.ewp.node.api.ewp.filter;
+
+import java.io.IOException;
+import java.security.NoSuchAlgorithmException;
+import java.util.Optional;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import pt.ulisboa.ewp.node.api.ewp.security.EwpApiHostAuthenticationToken;
+import pt.ulisboa.ewp.node.service.ewp.cache.EwpApiCachedResponse;
+import pt.ulisboa.ewp.node.service.ewp.cache.EwpApiResponseCacheService;
+import pt.ulisboa.ewp.node.service.ewp.cache.EwpApiResponseCacheService.Key;
+import pt.ulisboa.ewp.node.utils.EwpApi;
+import pt.ulisboa.ewp.node.utils.http.HttpSignatureUtils;
+
+/**
+ * Filter that responds to authenticated requests to idempotent EWP API endpoints with cached
+ * responses, when available, caching the successful responses otherwise. The digest of the
+ * response body is made available as a request attribute, so the response signer only needs to
+ * sign the headers specific to each request.
+ */
+public class EwpApiResponseCacheFilter extends OncePerRequestFilter {
+
+  public static final String REQUEST_ATTRIBUTE_RESPONSE_DIGEST_HEADER_VALUE =
+      EwpApiResponseCacheFilter.class.getName() + ".RESPONSE_DIGEST_HEADER_VALUE";
+
+  private final EwpApiResponseCacheService responseCacheService;
+
+  public EwpApiResponseCacheFilter(EwpApiResponseCacheService responseCacheService) {
+    this.responseCacheService = responseCacheService;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws IOException, ServletException {
+
+    Optional<EwpApi> apiOptional = responseCacheService.findCachedApi(request.getRequestURI());
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (apiOptional.isEmpty() || !(authentication instanceof EwpApiHostAuthenticationToken)) {
+      chain.doFilter(request, response);
+      return;
+    }
+
+    EwpApi api = apiOptional.get();
+    Key key = new Key(request.getRequestURI(), request.getParameterMap(),
+        ((EwpApiHostAuthenticationToken) authentication).getPrincipal()
+            .getHeiIdsCoveredByClient());
+
+    Optional<EwpApiCachedResponse> cachedResponseOptional = responseCacheService.find(api, key);
+    if (cachedResponseOptional.isPresent()) {
+      EwpApiCachedResponse cachedResponse = cachedResponseOptional.get();
+      request.setAttribute(REQUEST_ATTRIBUTE_RESPONSE_DIGEST_HEADER_VALUE,
+          cachedResponse.getDigestHeaderValue());
+      response.setStatus(HttpStatus.OK.value());
+      response.setContentType(cachedResponse.getContentType());
+      response.getOutputStream().write(cachedResponse.getBody());
+      return;
+    }
+
+    // NOTE: the body is held until the chain completes, so it is only written once it is known
+    // whether the response is successful
+    ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+    try {
+      chain.doFilter(request, responseWrapper);
+
+      if (responseWrapper.getStatus() == HttpStatus.OK.value()) {
+        byte[] body = responseWrapper.getContentAsByteArray();
+        String digestHeaderValue = HttpSignatureUtils.calculateDigestHeaderValue(body);
+        responseCacheService.put(api, key,
+            new EwpApiCachedResponse(responseWrapper.getContentType(), body, digestHeaderValue));
+        request.setAttribute(REQUEST_ATTRIBUTE_RESPONSE_DIGEST_HEADER_VALUE, digestHeaderValue);
+      }
+
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+
+    } finally {
+      responseWrapper.copyBodyToResponse();
+    }
+  }
+}
@@ -13,16 +13,19 @@ import org.springframework.security.config.annotation.web.configuration.WebSecur
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.AuthenticationEntryPoint;
+import org.springframework.security.web.access.intercept.FilterSecurityInterceptor;
 import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.security.web.header.HeaderWriterFilter;
 import org.springframework.security.web.session.SessionManagementFilter;
 import pt.ulisboa.ewp.node.api.common.security.logging.MDCAuthenticationFilter;
+import pt.ulisboa.ewp.node.api.ewp.filter.EwpApiResponseCacheFilter;
 import pt.ulisboa.ewp.node.api.ewp.security.filter.EwpApiAuthenticationFilter;
 import pt.ulisboa.ewp.node.api.ewp.security.filter.EwpApiPreAuthenticationFilter;
 import pt.ulisboa.ewp.node.api.ewp.security.filter.EwpApiResponseSignerFilter;
 import pt.ulisboa.ewp.node.api.ewp.utils.EwpApiConstants;
 import pt.ulisboa.ewp.node.client.ewp.registry.RegistryClient;
 import pt.ulisboa.ewp.node.config.security.SecurityProperties;
+import pt.ulisboa.ewp.node.service.ewp.cache.EwpApiResponseCacheService;
 import pt.ulisboa.ewp.node.service.ewp.security.signer.response.ResponseAuthenticationSigner;
 import pt.ulisboa.ewp.node.service.ewp.security.verifier.request.AbstractRequestAuthenticationMethodVerifier;
 
@@ -45,6 +48,9 @@ public class EwpApiSecurityConfig extends WebSecurityConfigurerAdapter {
   @Autowired
   private Jaxb2Marshaller jaxb2Marshaller;
 
+  @Autowired
+  private EwpApiResponseCacheService responseCacheService;
+
   @Override
   protected void configure(HttpSecurity http) throws Exception {
     http.antMatcher(EwpApiConstants.API_BASE_URI + "**")
@@ -73,6 +79,9 @@ public class EwpApiSecurityConfig extends WebSecurityConfigurerAdapter {
         EwpApiPreAuthenticationFilter.class);
 
     http.addFilterAfter(new MDCAuthenticationFilter(), SessionManagementFilter.class);
+
+    http.addFilterAfter(
+        new EwpApiResponseCacheFilter(responseCacheService), FilterSecurityInterceptor.class);
   }
 
   private static class UnauthorizedAuthenticationEntryPoint implements AuthenticationEntryPoint {
@@ -41,17 +41,23 @@ public class EwpApiUtils {
       Class<T> apiConfigurationElementClassType,
       Function<T, C> apiConfigurationTransformer)
       throws NoEwpApiForHeiIdAndMajorVersionException {
-    Optional<T> apiElementOptional =
-        getApiElement(
-            registryClient,
+    Optional<C> apiConfigurationOptional =
+        registryClient.getApiConfiguration(
             heiId,
             apiLocalName,
             wantedMajorVersion,
-            apiConfigurationElementClassType);
-    if (apiElementOptional.isEmpty()) {
+            () ->
+                getApiElement(
+                        registryClient,
+                        heiId,
+                        apiLocalName,
+                        wantedMajorVersion,
+                        apiConfigurationElementClassType)
+                    .map(apiConfigurationTransformer));
+    if (apiConfigurationOptional.isEmpty()) {
       throw new NoEwpApiForHeiIdAndMajorVersionException(heiId, apiLocalName, wantedMajorVersion);
     }
-    return apiConfigurationTransformer.apply(apiElementOptional.get());
+    return apiConfigurationOptional.get();
   }
 
   public static <T> Optional<T> getApiElement(
@@ -2,6 +2,7 @@ package pt.ulisboa.ewp.node.api.ewp.wrapper;
 
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.Enumeration;
@@ -11,29 +12,33 @@ import java.util.function.Predicate;
 import javax.servlet.ReadListener;
 import javax.servlet.ServletInputStream;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
 import org.apache.catalina.connector.Request;
 import org.apache.catalina.connector.RequestFacade;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpMethod;
-import org.springframework.http.converter.StringHttpMessageConverter;
 import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.util.ReflectionUtils;
-import org.springframework.web.util.ContentCachingRequestWrapper;
+import org.springframework.util.StreamUtils;
 import pt.ulisboa.ewp.node.api.ewp.security.EwpApiHostAuthenticationToken;
 
 /**
  * A wrapper of HttpServletRequest interface that allows multiple body readings using the method
- * getBody(). The body obtained is as was sent by client. It also allows to filter headers according
- * to a predicate. When used jointly with an EWP authentication procedure it provides authentication
- * details.
+ * getBody(). It also allows to filter headers according to a predicate. When used jointly with an
+ * EWP authentication procedure it provides authentication details.
+ *
+ * <p>The body is read once and only its bytes are kept, which are shared by the input stream
+ * returned to the application and the digest verification. The body as a string is only decoded
+ * when first requested (e.g. for logging).
  */
-public class EwpApiHttpRequestWrapper extends ContentCachingRequestWrapper {
+public class EwpApiHttpRequestWrapper extends HttpServletRequestWrapper {
 
   private static final Logger log = LoggerFactory.getLogger(EwpApiHttpRequestWrapper.class);
   private static final String REQUEST_FIELD_NAME = "request";
 
   private final String originalQueryString;
+  private byte[] bodyBytes;
   private String body;
   private ServletInputStream inputStream;
 
@@ -88,15 +93,19 @@ public class EwpApiHttpRequestWrapper extends ContentCachingRequestWrapper {
 
   private void initBody(HttpServletRequest request) throws IOException {
     if (HttpMethod.POST.matches(request.getMethod())) {
-      this.body =
-          new StringHttpMessageConverter().read(String.class, new ServletServerHttpRequest(this));
+      // NOTE: the body is the one sent by the client, except for form POSTs whose parameters were
+      // already parsed by the container. In that case the body is rebuilt from the parameters,
+      // using the request's character encoding, so it may differ from the bytes that were sent
+      // (e.g. in the percent-encoding or the order of the parameters).
+      this.bodyBytes =
+          StreamUtils.copyToByteArray(new ServletServerHttpRequest(request).getBody());
     } else {
-      this.body = "";
+      this.bodyBytes = new byte[0];
     }
   }
 
   private void initInputStream() {
-    this.inputStream = new ContentCachingInputStream(body.getBytes(StandardCharsets.UTF_8));
+    this.inputStream = new ContentCachingInputStream(bodyBytes);
   }
 
   public String getOriginalQueryString() {
@@ -172,9 +181,25 @@ public class EwpApiHttpRequestWrapper extends ContentCachingRequestWrapper {
    * Returns request body. It may be called multiple times.
    */
   public String getBody() {
+    if (body == null) {
+      body = new String(bodyBytes, getBodyCharset());
+    }
     return body;
   }
 
+  /**
+   * Returns request body's bytes. It may be called multiple times.
+   */
+  public byte[] getBodyBytes() {
+    return bodyBytes;
+  }
+
+  private Charset getBodyCharset() {
+    String characterEncoding = getCharacterEncoding();
+    return characterEncoding != null ? Charset.forName(characterEncoding)
+        : StandardCharsets.UTF_8;
+  }
+
   /**
    * Reference: https://stackoverflow.com/questions/30484388/inputstream-to-servletinputstream/33836552
    */
@@ -17,6 +17,7 @@ import pt.ulisboa.ewp.node.api.host.forward.ewp.utils.ForwardEwpApiResponseUtils
 import pt.ulisboa.ewp.node.client.ewp.registry.RegistryClient;
 import pt.ulisboa.ewp.node.domain.entity.notification.EwpInterInstitutionalAgreementChangeNotification;
 import pt.ulisboa.ewp.node.domain.repository.notification.EwpChangeNotificationRepository;
+import pt.ulisboa.ewp.node.service.ewp.cache.EwpApiResponseCacheService;
 import pt.ulisboa.ewp.node.service.ewp.mapping.EwpInterInstitutionalAgreementMappingService;
 import pt.ulisboa.ewp.node.utils.EwpApi;
 
@@ -29,14 +30,17 @@ public class ForwardEwpApiInterInstitutionalAgreementsCnrController extends
 
   private final EwpChangeNotificationRepository changeNotificationRepository;
   private final EwpInterInstitutionalAgreementMappingService interInstitutionalAgreementMappingService;
+  private final EwpApiResponseCacheService responseCacheService;
 
   public ForwardEwpApiInterInstitutionalAgreementsCnrController(
       RegistryClient registryClient,
       EwpChangeNotificationRepository changeNotificationRepository,
-      EwpInterInstitutionalAgreementMappingService interInstitutionalAgreementMappingService) {
+      EwpInterInstitutionalAgreementMappingService interInstitutionalAgreementMappingService,
+      EwpApiResponseCacheService responseCacheService) {
     super(registryClient);
     this.changeNotificationRepository = changeNotificationRepository;
     this.interInstitutionalAgreementMappingService = interInstitutionalAgreementMappingService;
+    this.responseCacheService = responseCacheService;
   }
 
   @PostMapping(
@@ -57,6 +61,10 @@ public class ForwardEwpApiInterInstitutionalAgreementsCnrController extends
 
       index++;
     }
+
+    // NOTE: the host's IIAs changed, so the cached IIAs responses are no longer valid
+    responseCacheService.invalidate(EwpApi.INTERINSTITUTIONAL_AGREEMENTS);
+
     return ForwardEwpApiResponseUtils.toAcceptedResponseEntity();
   }
 }
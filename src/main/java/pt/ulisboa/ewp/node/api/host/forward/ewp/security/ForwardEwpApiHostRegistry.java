@@ -0,0 +1,101 @@
+package pt.ulisboa.ewp.node.api.host.forward.ewp.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pt.ulisboa.ewp.node.domain.entity.Host;
+import pt.ulisboa.ewp.node.domain.event.HostChangedEvent;
+import pt.ulisboa.ewp.node.domain.repository.HostRepository;
+
+/**
+ * Registry of the hosts that may authenticate on the Forward EWP APIs, indexed by host code. Each
+ * host is kept along with the JWT verifier built from its forward EWP API configuration's secret,
+ * so that authenticating a request requires no database queries. A host is reloaded from the
+ * database whenever it changes.
+ */
+@Component
+public class ForwardEwpApiHostRegistry {
+
+  private final HostRepository repository;
+
+  private final Map<String, RegisteredHost> codeToRegisteredHostMap = new ConcurrentHashMap<>();
+
+  private final AtomicLong hostsVersion = new AtomicLong();
+
+  public ForwardEwpApiHostRegistry(HostRepository repository) {
+    this.repository = repository;
+  }
+
+  /**
+   * Returns the host with a given code, if it exists and has a forward EWP API configuration.
+   */
+  public Optional<Host> findHost(String code) {
+    return findRegisteredHost(code).map(RegisteredHost::getHost);
+  }
+
+  /**
+   * Returns the verifier of JWTs issued by the host with a given code, if that host exists and has
+   * a forward EWP API configuration.
+   */
+  public Optional<JWTVerifier> findTokenVerifier(String code) {
+    return findRegisteredHost(code).map(RegisteredHost::getTokenVerifier);
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onHostChanged(HostChangedEvent event) {
+    hostsVersion.incrementAndGet();
+    codeToRegisteredHostMap.remove(event.getHostCode());
+  }
+
+  private Optional<RegisteredHost> findRegisteredHost(String code) {
+    if (code == null) {
+      return Optional.empty();
+    }
+
+    RegisteredHost registeredHost = codeToRegisteredHostMap.get(code);
+    if (registeredHost != null) {
+      return Optional.of(registeredHost);
+    }
+
+    // NOTE: the version must be read before loading, so a concurrent host change is never missed
+    long currentHostsVersion = hostsVersion.get();
+    Optional<RegisteredHost> registeredHostOptional = repository.findByCode(code)
+        .filter(host -> host.getForwardEwpApiConfiguration() != null)
+        .map(RegisteredHost::new);
+    // NOTE: unknown codes are not registered, as they are provided by unauthenticated clients
+    if (registeredHostOptional.isPresent()) {
+      codeToRegisteredHostMap.putIfAbsent(code, registeredHostOptional.get());
+      if (currentHostsVersion != hostsVersion.get()) {
+        codeToRegisteredHostMap.remove(code, registeredHostOptional.get());
+      }
+    }
+    return registeredHostOptional;
+  }
+
+  private static class RegisteredHost {
+
+    private final Host host;
+    private final JWTVerifier tokenVerifier;
+
+    RegisteredHost(Host host) {
+      this.host = host;
+      this.tokenVerifier = JWT.require(
+              Algorithm.HMAC256(host.getForwardEwpApiConfiguration().getSecret().getBytes()))
+          .build();
+    }
+
+    Host getHost() {
+      return host;
+    }
+
+    JWTVerifier getTokenVerifier() {
+      return tokenVerifier;
+    }
+  }
+}
@@ -9,13 +9,12 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import pt.ulisboa.ewp.node.api.common.security.logging.MDCAuthenticationFilter;
 import pt.ulisboa.ewp.node.api.host.forward.ewp.security.filter.ForwardEwpApiJwtTokenAuthenticationFilter;
 import pt.ulisboa.ewp.node.api.host.forward.ewp.utils.ForwardEwpApiConstants;
-import pt.ulisboa.ewp.node.domain.repository.HostRepository;
 
 @Configuration
 @Order(2)
 public class ForwardEwpApiSecurityConfig extends WebSecurityConfigurerAdapter {
 
-  @Autowired private HostRepository repository;
+  @Autowired private ForwardEwpApiHostRegistry hostRegistry;
 
   @Override
   protected void configure(HttpSecurity http) throws Exception {
@@ -35,7 +34,7 @@ public class ForwardEwpApiSecurityConfig extends WebSecurityConfigurerAdapter {
         .sessionCreationPolicy(SessionCreationPolicy.STATELESS);
 
     http.addFilter(
-        new ForwardEwpApiJwtTokenAuthenticationFilter(authenticationManager(), repository));
+        new ForwardEwpApiJwtTokenAuthenticationFilter(authenticationManager(), hostRegistry));
     http.addFilterAfter(
         new MDCAuthenticationFilter(), ForwardEwpApiJwtTokenAuthenticationFilter.class);
   }
@@ -1,5 +1,6 @@
 package pt.ulisboa.ewp.node.api.host.forward.ewp.security.filter;
 
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import java.io.IOException;
 import java.util.Optional;
@@ -15,9 +16,9 @@ import pt.ulisboa.ewp.node.api.common.security.jwt.JwtAuthenticationUserDetails;
 import pt.ulisboa.ewp.node.api.common.utils.ApiUtils;
 import pt.ulisboa.ewp.node.api.host.forward.ewp.security.ForwardEwpApiAuthenticationToken;
 import pt.ulisboa.ewp.node.api.host.forward.ewp.security.ForwardEwpApiHostPrincipal;
+import pt.ulisboa.ewp.node.api.host.forward.ewp.security.ForwardEwpApiHostRegistry;
 import pt.ulisboa.ewp.node.api.host.forward.ewp.utils.ForwardEwpApiResponseUtils;
 import pt.ulisboa.ewp.node.domain.entity.Host;
-import pt.ulisboa.ewp.node.domain.repository.HostRepository;
 
 /**
  * A filter that authenticates an host, for the Forward EWP APIs. It expects a JWT with the claim
@@ -30,29 +31,22 @@ public class ForwardEwpApiJwtTokenAuthenticationFilter
   public static final String REQUEST_ATTRIBUTE_HOST_NAME =
       ForwardEwpApiJwtTokenAuthenticationFilter.class.getPackage().getName() + ".HOST";
 
-  private final HostRepository repository;
+  private final ForwardEwpApiHostRegistry hostRegistry;
 
   public ForwardEwpApiJwtTokenAuthenticationFilter(
-      AuthenticationManager authenticationManager, HostRepository repository) {
+      AuthenticationManager authenticationManager, ForwardEwpApiHostRegistry hostRegistry) {
     super(authenticationManager, true);
-    this.repository = repository;
+    this.hostRegistry = hostRegistry;
   }
 
   @Override
-  protected Optional<String> getTokenSecret(DecodedJWT jwt) {
-    String issuer = jwt.getIssuer();
-    Optional<Host> hostOptional = repository.findByCode(issuer);
-    if (hostOptional.isPresent()) {
-      Host host = hostOptional.get();
-      return Optional.of(host.getForwardEwpApiConfiguration().getSecret());
-    } else {
-      return Optional.empty();
-    }
+  protected Optional<JWTVerifier> getTokenVerifier(DecodedJWT jwt) {
+    return hostRegistry.findTokenVerifier(jwt.getIssuer());
   }
 
   @Override
   protected ForwardEwpApiAuthenticationToken resolveToAuthentication(DecodedJWT decodedToken) {
-    Optional<Host> hostOptional = repository.findByCode(decodedToken.getIssuer());
+    Optional<Host> hostOptional = hostRegistry.findHost(decodedToken.getIssuer());
     assert hostOptional.isPresent();
     Host host = hostOptional.get();
 
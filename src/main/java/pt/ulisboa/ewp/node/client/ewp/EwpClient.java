@@ -8,12 +8,28 @@ import java.security.NoSuchAlgorithmException;
 import java.security.NoSuchProviderException;
 import java.security.UnrecoverableKeyException;
 import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PreDestroy;
+import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLContext;
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.ClientBuilder;
 import javax.ws.rs.client.Entity;
 import javax.ws.rs.client.Invocation;
 import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.Response;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.glassfish.jersey.apache.connector.ApacheClientProperties;
+import org.glassfish.jersey.apache.connector.ApacheConnectorProvider;
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.RequestEntityProcessing;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
@@ -33,6 +49,7 @@ import pt.ulisboa.ewp.node.client.ewp.operation.request.body.EwpRequestFormDataB
 import pt.ulisboa.ewp.node.client.ewp.operation.request.body.EwpRequestSerializableBody;
 import pt.ulisboa.ewp.node.client.ewp.operation.response.EwpResponse;
 import pt.ulisboa.ewp.node.client.ewp.operation.result.EwpSuccessOperationResult;
+import pt.ulisboa.ewp.node.config.client.EwpClientProperties;
 import pt.ulisboa.ewp.node.exception.XmlCannotUnmarshallToTypeException;
 import pt.ulisboa.ewp.node.exception.ewp.EwpClientAuthenticationFailedException;
 import pt.ulisboa.ewp.node.exception.ewp.EwpServerAuthenticationFailedException;
@@ -58,17 +75,22 @@ public class EwpClient {
   private final ResponseAuthenticationVerifier responseVerifier;
   private final EwpHttpCommunicationLogService ewpHttpCommunicationLogService;
   private final Jaxb2Marshaller jaxb2Marshaller;
+  private final EwpClientProperties ewpClientProperties;
+
+  private volatile KeystoreBoundClient keystoreBoundClient;
 
   public EwpClient(KeyStoreService keystoreService,
       RequestAuthenticationSigner requestSigner,
       ResponseAuthenticationVerifier responseVerifier,
       EwpHttpCommunicationLogService ewpHttpCommunicationLogService,
-      Jaxb2Marshaller jaxb2Marshaller) {
+      Jaxb2Marshaller jaxb2Marshaller,
+      EwpClientProperties ewpClientProperties) {
     this.keystoreService = keystoreService;
     this.requestSigner = requestSigner;
     this.responseVerifier = responseVerifier;
     this.ewpHttpCommunicationLogService = ewpHttpCommunicationLogService;
     this.jaxb2Marshaller = jaxb2Marshaller;
+    this.ewpClientProperties = ewpClientProperties;
   }
 
   /**
@@ -102,18 +124,24 @@ public class EwpClient {
     EwpResponse response = null;
     EwpAuthenticationResult responseAuthenticationResult = null;
     try {
-      Client client = getClient();
+      KeystoreBoundClient keystoreBoundClient = acquireClient();
+      try {
+        requestSigner.sign(request);
 
-      requestSigner.sign(request);
+        WebTarget target = keystoreBoundClient.getClient().target(request.getUrl());
+        target.property("http.autoredirect", true);
 
-      WebTarget target = client.target(request.getUrl());
-      target.property("http.autoredirect", true);
+        Invocation invocation = buildRequest(request, target);
 
-      Invocation invocation = buildRequest(request, target);
+        LOGGER.info("Sending EWP request to: {}", request.getUrl());
 
-      LOGGER.info("Sending EWP request to: {}", request.getUrl());
+        try (Response rawResponse = invocation.invoke()) {
+          response = EwpResponse.create(rawResponse);
+        }
 
-      response = EwpResponse.create(invocation.invoke());
+      } finally {
+        keystoreBoundClient.release();
+      }
 
       responseAuthenticationResult =
           responseVerifier.verifyAgainstMethod(request, response);
@@ -148,7 +176,8 @@ public class EwpClient {
 
     if (response.isSuccess()) {
       T responseBody = XmlUtils
-          .unmarshall(jaxb2Marshaller, response.getRawBody(), expectedResponseBodyType);
+          .unmarshall(jaxb2Marshaller, response.getRawBodyBytes(), response.getRawBodyCharset(),
+              expectedResponseBodyType);
       return new EwpSuccessOperationResult.Builder<T>()
           .request(request)
           .response(response)
@@ -169,7 +198,8 @@ public class EwpClient {
 
     if (response.isClientError()) {
       ErrorResponseV1 errorResponse =
-          XmlUtils.unmarshall(jaxb2Marshaller, response.getRawBody(), ErrorResponseV1.class);
+          XmlUtils.unmarshall(jaxb2Marshaller, response.getRawBodyBytes(),
+              response.getRawBodyCharset(), ErrorResponseV1.class);
       if (HttpStatus.BAD_REQUEST.equals(response.getStatus())) {
         return new EwpClientErrorResponseException(request, response, responseAuthenticationResult,
             errorResponse);
@@ -193,17 +223,93 @@ public class EwpClient {
         "Unknown response status code: " + response.getStatus()));
   }
 
-  private Client getClient()
+  @PreDestroy
+  public synchronized void close() {
+    if (this.keystoreBoundClient != null) {
+      this.keystoreBoundClient.retire();
+      this.keystoreBoundClient = null;
+    }
+  }
+
+  /**
+   * Acquires a pooled client bound to the current keystore, which must be released once the request
+   * using it completes. The client (and its connection pool and TLS sessions) is reused across
+   * requests and only rebuilt when the keystore service returns a different decoded keystore. The
+   * replaced client is closed as soon as its in-flight requests complete.
+   */
+  private KeystoreBoundClient acquireClient()
       throws NoSuchAlgorithmException, NoSuchProviderException, KeyStoreException,
       UnrecoverableKeyException, KeyManagementException {
     DecodedKeystore decodedKeystore = keystoreService.getDecodedKeyStoreFromStorage();
+    while (true) {
+      KeystoreBoundClient currentClient = getClientBoundTo(decodedKeystore);
+      // NOTE: fails only if the client was closed meanwhile, in which case a new one is obtained
+      if (currentClient.acquire()) {
+        return currentClient;
+      }
+    }
+  }
+
+  private KeystoreBoundClient getClientBoundTo(DecodedKeystore decodedKeystore)
+      throws NoSuchAlgorithmException, NoSuchProviderException, KeyStoreException,
+      UnrecoverableKeyException, KeyManagementException {
+    KeystoreBoundClient currentClient = this.keystoreBoundClient;
+    if (currentClient != null && currentClient.isBoundTo(decodedKeystore)) {
+      return currentClient;
+    }
+
+    synchronized (this) {
+      currentClient = this.keystoreBoundClient;
+      if (currentClient != null && currentClient.isBoundTo(decodedKeystore)) {
+        return currentClient;
+      }
+
+      LOGGER.info("Creating pooled EWP client for current keystore");
+      KeystoreBoundClient newClient = createKeystoreBoundClient(decodedKeystore);
+      this.keystoreBoundClient = newClient;
+      if (currentClient != null) {
+        currentClient.retire();
+      }
+      return newClient;
+    }
+  }
+
+  private KeystoreBoundClient createKeystoreBoundClient(DecodedKeystore decodedKeystore)
+      throws NoSuchAlgorithmException, NoSuchProviderException, KeyStoreException,
+      UnrecoverableKeyException, KeyManagementException {
     SSLContext sslContext =
         SecurityUtils.createSecurityContext(
             decodedKeystore.getKeyStore(), null, decodedKeystore.getKeyStorePassword());
-    return ClientBuilder.newBuilder()
+    HostnameVerifier hostnameVerifier =
+        (hostname, session) -> hostname.equalsIgnoreCase(session.getPeerHost());
+
+    Registry<ConnectionSocketFactory> socketFactoryRegistry =
+        RegistryBuilder.<ConnectionSocketFactory>create()
+            .register("http", PlainConnectionSocketFactory.getSocketFactory())
+            .register("https", new SSLConnectionSocketFactory(sslContext, hostnameVerifier))
+            .build();
+    PoolingHttpClientConnectionManager connectionManager =
+        new PoolingHttpClientConnectionManager(
+            socketFactoryRegistry,
+            null,
+            null,
+            null,
+            ewpClientProperties.getConnectionTimeToLiveInSeconds(),
+            TimeUnit.SECONDS);
+    connectionManager.setMaxTotal(ewpClientProperties.getMaxConnectionsTotal());
+    connectionManager.setDefaultMaxPerRoute(ewpClientProperties.getMaxConnectionsPerRoute());
+
+    ClientConfig clientConfig = new ClientConfig()
+        .connectorProvider(new ApacheConnectorProvider())
+        .property(ApacheClientProperties.CONNECTION_MANAGER, connectionManager)
+        .property(ClientProperties.REQUEST_ENTITY_PROCESSING, RequestEntityProcessing.BUFFERED);
+
+    Client client = ClientBuilder.newBuilder()
+        .withConfig(clientConfig)
         .sslContext(sslContext)
-        .hostnameVerifier((hostname, session) -> hostname.equalsIgnoreCase(session.getPeerHost()))
+        .hostnameVerifier(hostnameVerifier)
         .build();
+    return new KeystoreBoundClient(decodedKeystore, client, connectionManager);
   }
 
   private Invocation buildRequest(EwpRequest request, WebTarget target) {
@@ -248,4 +354,78 @@ public class EwpClient {
   private Entity<Serializable> createSerializableEntity(EwpRequestSerializableBody body) {
     return Entity.entity(body.serialize(), MediaType.TEXT_XML_VALUE);
   }
+
+  /**
+   * Client bound to a decoded keystore. It keeps count of the requests using it, so that, once
+   * retired, it is closed (along with its connection pool) as soon as no request is using it.
+   */
+  static class KeystoreBoundClient {
+
+    private static final int CLOSED = -1;
+
+    private final DecodedKeystore decodedKeystore;
+    private final Client client;
+    private final PoolingHttpClientConnectionManager connectionManager;
+
+    private final AtomicInteger numberUsages = new AtomicInteger();
+    private volatile boolean retired;
+
+    KeystoreBoundClient(DecodedKeystore decodedKeystore, Client client,
+        PoolingHttpClientConnectionManager connectionManager) {
+      this.decodedKeystore = decodedKeystore;
+      this.client = client;
+      this.connectionManager = connectionManager;
+    }
+
+    boolean isBoundTo(DecodedKeystore decodedKeystore) {
+      return this.decodedKeystore == decodedKeystore;
+    }
+
+    Client getClient() {
+      return client;
+    }
+
+    /**
+     * Registers a usage of this client.
+     *
+     * @return true if the usage was registered, false if the client is already closed.
+     */
+    boolean acquire() {
+      while (true) {
+        int currentNumberUsages = numberUsages.get();
+        if (currentNumberUsages == CLOSED) {
+          return false;
+        }
+        if (numberUsages.compareAndSet(currentNumberUsages, currentNumberUsages + 1)) {
+          return true;
+        }
+      }
+    }
+
+    void release() {
+      if (numberUsages.decrementAndGet() == 0 && retired) {
+        closeIfUnused();
+      }
+    }
+
+    /**
+     * Marks this client as no longer to be used by new requests. It is closed immediately if no
+     * request is using it, otherwise once the last request using it releases it.
+     */
+    void retire() {
+      this.retired = true;
+      closeIfUnused();
+    }
+
+    boolean isClosed() {
+      return numberUsages.get() == CLOSED;
+    }
+
+    private void closeIfUnused() {
+      if (numberUsages.compareAndSet(0, CLOSED)) {
+        client.close();
+        connectionManager.shutdown();
+      }
+    }
+  }
 }
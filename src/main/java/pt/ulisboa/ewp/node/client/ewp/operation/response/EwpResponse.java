@@ -1,25 +1,48 @@
 package pt.ulisboa.ewp.node.client.ewp.operation.response;
 
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.List;
 import java.util.stream.Collectors;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import org.springframework.http.HttpStatus;
 import pt.ulisboa.ewp.node.utils.http.ExtendedHttpHeaders;
+import pt.ulisboa.ewp.node.utils.http.HttpSignatureUtils;
 import pt.ulisboa.ewp.node.utils.http.HttpUtils;
 
+/**
+ * Response received from an EWP node.
+ *
+ * <p>The body is kept only as the bytes received, which are read once from the connection while
+ * their SHA-256 digest is calculated, so they may be verified and unmarshalled without being copied
+ * again. The body as a string (e.g. for logging) is only decoded when first requested.
+ */
 public class EwpResponse implements Serializable {
 
   private HttpStatus status;
   private String mediaType;
   private ExtendedHttpHeaders headers = new ExtendedHttpHeaders();
-  private String rawBody = "";
+  private byte[] rawBodyBytes = new byte[0];
+  private String rawBodyCharsetName = StandardCharsets.UTF_8.name();
+  private byte[] rawBodySha256Digest;
+  private transient volatile String rawBody;
 
   protected EwpResponse(Builder builder) {
     this.status = builder.status;
     this.mediaType = builder.mediaType;
     this.headers = builder.headers;
-    this.rawBody = builder.rawBody;
+    this.rawBodyBytes = builder.rawBodyBytes;
+    this.rawBodyCharsetName = builder.rawBodyCharset.name();
+    this.rawBodySha256Digest = builder.rawBodySha256Digest;
   }
 
   public HttpStatus getStatus() {
@@ -34,8 +57,32 @@ public class EwpResponse implements Serializable {
     return headers;
   }
 
+  public byte[] getRawBodyBytes() {
+    return rawBodyBytes;
+  }
+
+  /**
+   * Returns the SHA-256 digest of the body, calculating it if it was not calculated when the body
+   * was read.
+   */
+  public byte[] getRawBodySha256Digest() {
+    if (rawBodySha256Digest == null) {
+      rawBodySha256Digest = createSha256MessageDigest().digest(rawBodyBytes);
+    }
+    return rawBodySha256Digest;
+  }
+
+  public Charset getRawBodyCharset() {
+    return Charset.forName(rawBodyCharsetName);
+  }
+
   public String getRawBody() {
-    return rawBody;
+    String result = rawBody;
+    if (result == null) {
+      result = new String(rawBodyBytes, getRawBodyCharset());
+      rawBody = result;
+    }
+    return result;
   }
 
   public boolean isSuccess() {
@@ -66,20 +113,43 @@ public class EwpResponse implements Serializable {
                     headerValues.stream().map(String::valueOf).collect(Collectors.toList())));
 
     if (response.hasEntity()) {
-      response.bufferEntity();
-
-      responseBuilder.rawBody(response.readEntity(String.class));
+      MessageDigest messageDigest = createSha256MessageDigest();
+      try (InputStream inputStream = new DigestInputStream(
+          response.readEntity(InputStream.class), messageDigest)) {
+        responseBuilder.rawBody(ByteStreams.toByteArray(inputStream), getCharset(response));
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      responseBuilder.rawBodySha256Digest(messageDigest.digest());
     }
 
     return responseBuilder.build();
   }
 
+  private static Charset getCharset(Response response) {
+    // NOTE: as Jersey does when reading an entity as a string, defaults to UTF-8
+    MediaType mediaType = response.getMediaType();
+    String charsetName =
+        mediaType != null ? mediaType.getParameters().get(MediaType.CHARSET_PARAMETER) : null;
+    return charsetName != null ? Charset.forName(charsetName) : StandardCharsets.UTF_8;
+  }
+
+  private static MessageDigest createSha256MessageDigest() {
+    try {
+      return MessageDigest.getInstance(HttpSignatureUtils.SHA_256);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
   public static class Builder {
 
     private HttpStatus status;
     private String mediaType;
     private ExtendedHttpHeaders headers = new ExtendedHttpHeaders();
-    private String rawBody = "";
+    private byte[] rawBodyBytes = new byte[0];
+    private Charset rawBodyCharset = StandardCharsets.UTF_8;
+    private byte[] rawBodySha256Digest;
 
     public Builder(HttpStatus status) {
       this.status = status;
@@ -108,12 +178,26 @@ public class EwpResponse implements Serializable {
       return this;
     }
 
-    public String rawBody() {
-      return rawBody;
+    public byte[] rawBodyBytes() {
+      return rawBodyBytes;
     }
 
     public Builder rawBody(String rawBody) {
-      this.rawBody = rawBody;
+      return rawBody(rawBody.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+    }
+
+    public Builder rawBody(byte[] rawBodyBytes, Charset charset) {
+      this.rawBodyBytes = rawBodyBytes;
+      this.rawBodyCharset = charset;
+      this.rawBodySha256Digest = null;
+      return this;
+    }
+
+    /**
+     * Sets the SHA-256 digest of the body, when it was already calculated while reading the body.
+     */
+    public Builder rawBodySha256Digest(byte[] rawBodySha256Digest) {
+      this.rawBodySha256Digest = rawBodySha256Digest;
       return this;
     }
 
@@ -4,18 +4,34 @@ import eu.erasmuswithoutpaper.registryclient.ClientImpl;
 import eu.erasmuswithoutpaper.registryclient.ClientImplOptions;
 import eu.erasmuswithoutpaper.registryclient.DefaultCatalogueFetcher;
 import eu.erasmuswithoutpaper.registryclient.HeiEntry;
+import java.security.cert.CertificateEncodingException;
 import java.security.cert.X509Certificate;
 import java.security.interfaces.RSAPublicKey;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.tuple.Triple;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import pt.ulisboa.ewp.node.config.registry.RegistryProperties;
 
+/**
+ * Registry client that keeps an index of the lookups done on every request (API configurations,
+ * client keys and certificates) for the current catalogue. The index is filled as lookups are
+ * done and is replaced as a whole whenever the catalogue is refreshed, so it never mixes data of
+ * different catalogue versions.
+ */
 @Service
 public class RegistryClient extends ClientImpl {
 
+  private volatile CatalogueIndex catalogueIndex = new CatalogueIndex();
+
   @Autowired
   public RegistryClient(RegistryProperties properties) {
     this(createClientOptions(properties));
@@ -34,13 +50,39 @@ public class RegistryClient extends ClientImpl {
     return options;
   }
 
+  @Override
+  public void refresh() throws RefreshFailureException {
+    super.refresh();
+    catalogueIndex = new CatalogueIndex();
+  }
+
+  /**
+   * Returns the configuration of an API, for a given HEI ID and major version, as of the current
+   * catalogue. The resolver is only invoked when the configuration was not yet resolved since the
+   * last catalogue refresh. The absence of a configuration is cached as well.
+   */
+  @SuppressWarnings("unchecked")
+  public <C> Optional<C> getApiConfiguration(String heiId, String apiLocalName,
+      int majorVersion, Supplier<Optional<C>> resolver) {
+    // NOTE: a value resolved concurrently with a refresh is stored in the index that was
+    // current when the lookup started, hence it is discarded together with that index.
+    Map<Triple<String, String, Integer>, Optional<Object>> apiConfigurations = catalogueIndex.apiConfigurations;
+    Triple<String, String, Integer> key = Triple.of(heiId, apiLocalName, majorVersion);
+    Optional<Object> configuration = apiConfigurations.get(key);
+    if (configuration == null) {
+      configuration = (Optional<Object>) resolver.get();
+      apiConfigurations.putIfAbsent(key, configuration);
+    }
+    return (Optional<C>) configuration;
+  }
+
   public X509Certificate getCertificateKnownInEwpNetwork(X509Certificate[] certificates) {
     if (certificates == null) {
       return null;
     }
 
     for (X509Certificate certificate : certificates) {
-      if (isCertificateKnown(certificate)) {
+      if (findHeisCoveredByKnownCertificate(certificate) != null) {
         return certificate;
       }
     }
@@ -48,18 +90,82 @@ public class RegistryClient extends ClientImpl {
   }
 
   public Collection<String> getHeisCoveredByCertificate(X509Certificate certificate) {
-    if (certificate != null && isCertificateKnown(certificate)) {
-      return super.getHeisCoveredByCertificate(certificate);
+    if (certificate != null) {
+      Collection<String> heiIds = findHeisCoveredByKnownCertificate(certificate);
+      if (heiIds != null) {
+        return heiIds;
+      }
     }
     return new ArrayList<>();
   }
 
   public RSAPublicKey findClientRsaPublicKey(String fingerprint) {
-    RSAPublicKey rsaPublicKey = super.findRsaPublicKey(fingerprint);
-    return rsaPublicKey != null && isClientKeyKnown(rsaPublicKey) ? rsaPublicKey : null;
+    CatalogueIndex index = catalogueIndex;
+    RSAPublicKey rsaPublicKey = index.clientKeysByFingerprint.get(fingerprint);
+    if (rsaPublicKey == null) {
+      rsaPublicKey = super.findRsaPublicKey(fingerprint);
+      if (rsaPublicKey == null || !isClientKeyKnown(rsaPublicKey)) {
+        return null;
+      }
+      // NOTE: only known keys are indexed, so unknown fingerprints cannot grow the index
+      index.clientKeysByFingerprint.putIfAbsent(fingerprint, rsaPublicKey);
+    }
+    return rsaPublicKey;
+  }
+
+  @Override
+  public Collection<String> getHeisCoveredByClientKey(RSAPublicKey clientKey) {
+    CatalogueIndex index = catalogueIndex;
+    Collection<String> heiIds = index.heiIdsByClientKey.get(clientKey);
+    if (heiIds == null) {
+      heiIds = List.copyOf(super.getHeisCoveredByClientKey(clientKey));
+      if (isClientKeyKnown(clientKey)) {
+        index.heiIdsByClientKey.putIfAbsent(clientKey, heiIds);
+      }
+    }
+    return heiIds;
   }
 
   public Collection<String> getAllHeiIds() {
     return getAllHeis().stream().map(HeiEntry::getId).collect(Collectors.toList());
   }
+
+  /**
+   * Returns the HEI IDs covered by a certificate, or null if the certificate is not known.
+   */
+  private Collection<String> findHeisCoveredByKnownCertificate(X509Certificate certificate) {
+    CatalogueIndex index = catalogueIndex;
+    String fingerprint = getFingerprint(certificate);
+    Collection<String> heiIds = index.heiIdsByCertificateFingerprint.get(fingerprint);
+    if (heiIds == null) {
+      if (!isCertificateKnown(certificate)) {
+        return null;
+      }
+      heiIds = List.copyOf(super.getHeisCoveredByCertificate(certificate));
+      index.heiIdsByCertificateFingerprint.putIfAbsent(fingerprint, heiIds);
+    }
+    return heiIds;
+  }
+
+  private static String getFingerprint(X509Certificate certificate) {
+    try {
+      return DigestUtils.sha256Hex(certificate.getEncoded());
+    } catch (CertificateEncodingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Lookups done on a given catalogue version.
+   */
+  private static class CatalogueIndex {
+
+    private final Map<Triple<String, String, Integer>, Optional<Object>> apiConfigurations = new ConcurrentHashMap<>();
+
+    private final Map<String, RSAPublicKey> clientKeysByFingerprint = new ConcurrentHashMap<>();
+
+    private final Map<RSAPublicKey, Collection<String>> heiIdsByClientKey = new ConcurrentHashMap<>();
+
+    private final Map<String, Collection<String>> heiIdsByCertificateFingerprint = new ConcurrentHashMap<>();
+  }
 }
@@ -0,0 +1,29 @@
+package pt.ulisboa.ewp.node.config.cache;
+
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Scope;
+
+@Scope(ConfigurableBeanFactory.SCOPE_SINGLETON)
+@ConfigurationProperties(prefix = "conditions-hash-cache")
+public class ConditionsHashCacheProperties {
+
+  private long maxNumberCachedConditionsHashes = 10000;
+  private long timeToLiveInMinutes = 60;
+
+  public long getMaxNumberCachedConditionsHashes() {
+    return maxNumberCachedConditionsHashes;
+  }
+
+  public void setMaxNumberCachedConditionsHashes(long maxNumberCachedConditionsHashes) {
+    this.maxNumberCachedConditionsHashes = maxNumberCachedConditionsHashes;
+  }
+
+  public long getTimeToLiveInMinutes() {
+    return timeToLiveInMinutes;
+  }
+
+  public void setTimeToLiveInMinutes(long timeToLiveInMinutes) {
+    this.timeToLiveInMinutes = timeToLiveInMinutes;
+  }
+}
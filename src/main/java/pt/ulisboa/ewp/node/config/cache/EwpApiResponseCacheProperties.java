@@ -0,0 +1,41 @@
+package pt.ulisboa.ewp.node.config.cache;
+
+import java.util.EnumMap;
+import java.util.Map;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Scope;
+import pt.ulisboa.ewp.node.utils.EwpApi;
+
+@Scope(ConfigurableBeanFactory.SCOPE_SINGLETON)
+@ConfigurationProperties(prefix = "ewp-api-response-cache")
+public class EwpApiResponseCacheProperties {
+
+  private boolean enabled = false;
+  private long maxNumberCachedResponsesPerApi = 1000;
+  private Map<EwpApi, Long> timeToLiveInSeconds = new EnumMap<>(EwpApi.class);
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public long getMaxNumberCachedResponsesPerApi() {
+    return maxNumberCachedResponsesPerApi;
+  }
+
+  public void setMaxNumberCachedResponsesPerApi(long maxNumberCachedResponsesPerApi) {
+    this.maxNumberCachedResponsesPerApi = maxNumberCachedResponsesPerApi;
+  }
+
+  public Map<EwpApi, Long> getTimeToLiveInSeconds() {
+    return timeToLiveInSeconds;
+  }
+
+  public void setTimeToLiveInSeconds(Map<EwpApi, Long> timeToLiveInSeconds) {
+    this.timeToLiveInSeconds = timeToLiveInSeconds;
+  }
+}
@@ -0,0 +1,38 @@
+package pt.ulisboa.ewp.node.config.client;
+
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Scope;
+
+@Scope(ConfigurableBeanFactory.SCOPE_SINGLETON)
+@ConfigurationProperties(prefix = "ewp-client")
+public class EwpClientProperties {
+
+  private int maxConnectionsTotal = 200;
+  private int maxConnectionsPerRoute = 20;
+  private long connectionTimeToLiveInSeconds = 300;
+
+  public int getMaxConnectionsTotal() {
+    return maxConnectionsTotal;
+  }
+
+  public void setMaxConnectionsTotal(int maxConnectionsTotal) {
+    this.maxConnectionsTotal = maxConnectionsTotal;
+  }
+
+  public int getMaxConnectionsPerRoute() {
+    return maxConnectionsPerRoute;
+  }
+
+  public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+    this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+  }
+
+  public long getConnectionTimeToLiveInSeconds() {
+    return connectionTimeToLiveInSeconds;
+  }
+
+  public void setConnectionTimeToLiveInSeconds(long connectionTimeToLiveInSeconds) {
+    this.connectionTimeToLiveInSeconds = connectionTimeToLiveInSeconds;
+  }
+}
@@ -0,0 +1,20 @@
+package pt.ulisboa.ewp.node.config.discovery;
+
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Scope;
+
+@Scope(ConfigurableBeanFactory.SCOPE_SINGLETON)
+@ConfigurationProperties(prefix = "discovery-manifest")
+public class DiscoveryManifestProperties {
+
+  private long maxNumberCachedManifests = 10;
+
+  public long getMaxNumberCachedManifests() {
+    return maxNumberCachedManifests;
+  }
+
+  public void setMaxNumberCachedManifests(long maxNumberCachedManifests) {
+    this.maxNumberCachedManifests = maxNumberCachedManifests;
+  }
+}
@@ -0,0 +1,22 @@
+package pt.ulisboa.ewp.node.config.logging;
+
+/**
+ * Policy applied when a communication log is submitted while the write queue is full.
+ */
+public enum HttpCommunicationLogOverflowPolicy {
+
+  /**
+   * The communication log is discarded.
+   */
+  DROP,
+
+  /**
+   * The submitting thread waits until there is space on the queue.
+   */
+  BLOCK,
+
+  /**
+   * The communication log is written synchronously by the submitting thread.
+   */
+  WRITE_THROUGH
+}
@@ -0,0 +1,39 @@
+package pt.ulisboa.ewp.node.config.logging;
+
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Scope;
+
+@Scope(ConfigurableBeanFactory.SCOPE_SINGLETON)
+@ConfigurationProperties(prefix = "http-communication-log")
+public class HttpCommunicationLogProperties {
+
+  private int queueCapacity = 10000;
+  private int batchSize = 100;
+  private HttpCommunicationLogOverflowPolicy overflowPolicy =
+      HttpCommunicationLogOverflowPolicy.BLOCK;
+
+  public int getQueueCapacity() {
+    return queueCapacity;
+  }
+
+  public void setQueueCapacity(int queueCapacity) {
+    this.queueCapacity = queueCapacity;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  public HttpCommunicationLogOverflowPolicy getOverflowPolicy() {
+    return overflowPolicy;
+  }
+
+  public void setOverflowPolicy(HttpCommunicationLogOverflowPolicy overflowPolicy) {
+    this.overflowPolicy = overflowPolicy;
+  }
+}
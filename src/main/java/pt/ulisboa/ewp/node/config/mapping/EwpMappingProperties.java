@@ -0,0 +1,38 @@
+package pt.ulisboa.ewp.node.config.mapping;
+
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Scope;
+
+@Scope(ConfigurableBeanFactory.SCOPE_SINGLETON)
+@ConfigurationProperties(prefix = "ewp-mapping")
+public class EwpMappingProperties {
+
+  private long maxNumberCachedMappings = 50000;
+  private long cachedMappingTimeToLiveInMinutes = 10;
+  private long fullSyncIntervalInMinutes = 24 * 60L; // 1 day
+
+  public long getMaxNumberCachedMappings() {
+    return maxNumberCachedMappings;
+  }
+
+  public void setMaxNumberCachedMappings(long maxNumberCachedMappings) {
+    this.maxNumberCachedMappings = maxNumberCachedMappings;
+  }
+
+  public long getCachedMappingTimeToLiveInMinutes() {
+    return cachedMappingTimeToLiveInMinutes;
+  }
+
+  public void setCachedMappingTimeToLiveInMinutes(long cachedMappingTimeToLiveInMinutes) {
+    this.cachedMappingTimeToLiveInMinutes = cachedMappingTimeToLiveInMinutes;
+  }
+
+  public long getFullSyncIntervalInMinutes() {
+    return fullSyncIntervalInMinutes;
+  }
+
+  public void setFullSyncIntervalInMinutes(long fullSyncIntervalInMinutes) {
+    this.fullSyncIntervalInMinutes = fullSyncIntervalInMinutes;
+  }
+}
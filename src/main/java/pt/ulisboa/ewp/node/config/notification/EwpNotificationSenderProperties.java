@@ -0,0 +1,48 @@
+package pt.ulisboa.ewp.node.config.notification;
+
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Scope;
+
+@Scope(ConfigurableBeanFactory.SCOPE_SINGLETON)
+@ConfigurationProperties(prefix = "ewp-notification-sender")
+public class EwpNotificationSenderProperties {
+
+  private boolean enabled = true;
+  private int maxNumberChangeNotificationsPerTask = 500;
+  private int numberSenderThreads = 8;
+  private int defaultMaxChangeNotificationsPerRequest = 100;
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public int getMaxNumberChangeNotificationsPerTask() {
+    return maxNumberChangeNotificationsPerTask;
+  }
+
+  public void setMaxNumberChangeNotificationsPerTask(int maxNumberChangeNotificationsPerTask) {
+    this.maxNumberChangeNotificationsPerTask = maxNumberChangeNotificationsPerTask;
+  }
+
+  public int getNumberSenderThreads() {
+    return numberSenderThreads;
+  }
+
+  public void setNumberSenderThreads(int numberSenderThreads) {
+    this.numberSenderThreads = numberSenderThreads;
+  }
+
+  public int getDefaultMaxChangeNotificationsPerRequest() {
+    return defaultMaxChangeNotificationsPerRequest;
+  }
+
+  public void setDefaultMaxChangeNotificationsPerRequest(
+      int defaultMaxChangeNotificationsPerRequest) {
+    this.defaultMaxChangeNotificationsPerRequest = defaultMaxChangeNotificationsPerRequest;
+  }
+}
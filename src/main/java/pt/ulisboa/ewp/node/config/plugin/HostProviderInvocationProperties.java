@@ -0,0 +1,38 @@
+package pt.ulisboa.ewp.node.config.plugin;
+
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Scope;
+
+@Scope(ConfigurableBeanFactory.SCOPE_SINGLETON)
+@ConfigurationProperties(prefix = "host-provider-invocation")
+public class HostProviderInvocationProperties {
+
+  private int maxThreads = 16;
+  private int queueCapacity = 100;
+  private long timeoutInSeconds = 60;
+
+  public int getMaxThreads() {
+    return maxThreads;
+  }
+
+  public void setMaxThreads(int maxThreads) {
+    this.maxThreads = maxThreads;
+  }
+
+  public int getQueueCapacity() {
+    return queueCapacity;
+  }
+
+  public void setQueueCapacity(int queueCapacity) {
+    this.queueCapacity = queueCapacity;
+  }
+
+  public long getTimeoutInSeconds() {
+    return timeoutInSeconds;
+  }
+
+  public void setTimeoutInSeconds(long timeoutInSeconds) {
+    this.timeoutInSeconds = timeoutInSeconds;
+  }
+}
@@ -4,6 +4,8 @@ public class SecurityClientTlsProperties {
 
   private String headerName;
   private SecurityClientTlsEncoding encoding;
+  private int maxNumberCachedHeaderCertificates = 1000;
+  private long cachedHeaderCertificateTimeToLiveInMinutes = 60;
 
   public String getHeaderName() {
     return headerName;
@@ -20,4 +22,21 @@ public class SecurityClientTlsProperties {
   public void setEncoding(SecurityClientTlsEncoding encoding) {
     this.encoding = encoding;
   }
+
+  public int getMaxNumberCachedHeaderCertificates() {
+    return maxNumberCachedHeaderCertificates;
+  }
+
+  public void setMaxNumberCachedHeaderCertificates(int maxNumberCachedHeaderCertificates) {
+    this.maxNumberCachedHeaderCertificates = maxNumberCachedHeaderCertificates;
+  }
+
+  public long getCachedHeaderCertificateTimeToLiveInMinutes() {
+    return cachedHeaderCertificateTimeToLiveInMinutes;
+  }
+
+  public void setCachedHeaderCertificateTimeToLiveInMinutes(
+      long cachedHeaderCertificateTimeToLiveInMinutes) {
+    this.cachedHeaderCertificateTimeToLiveInMinutes = cachedHeaderCertificateTimeToLiveInMinutes;
+  }
 }
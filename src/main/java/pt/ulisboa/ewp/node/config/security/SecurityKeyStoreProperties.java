@@ -5,6 +5,7 @@ public class SecurityKeyStoreProperties {
   private boolean importFromSsl;
   private long cacheValidityInSeconds;
   private String password;
+  private int maxNumberCachedSigners = 100;
 
   public boolean isImportFromSsl() {
     return importFromSsl;
@@ -29,4 +30,12 @@ public class SecurityKeyStoreProperties {
   public void setPassword(String password) {
     this.password = password;
   }
+
+  public int getMaxNumberCachedSigners() {
+    return maxNumberCachedSigners;
+  }
+
+  public void setMaxNumberCachedSigners(int maxNumberCachedSigners) {
+    this.maxNumberCachedSigners = maxNumberCachedSigners;
+  }
 }
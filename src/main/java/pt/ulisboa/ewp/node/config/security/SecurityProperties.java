@@ -9,9 +9,11 @@ import org.springframework.context.annotation.Scope;
 public class SecurityProperties {
 
   private boolean allowMissingClientCertificate;
-  private SecurityClientTlsProperties clientTls;
+  private SecurityClientTlsProperties clientTls = new SecurityClientTlsProperties();
   private SecurityKeyStoreProperties keyStore;
   private SecurityRestProperties api;
+  private SecurityReplayProtectionProperties replayProtection =
+      new SecurityReplayProtectionProperties();
 
   public boolean isAllowMissingClientCertificate() {
     return allowMissingClientCertificate;
@@ -44,4 +46,12 @@ public class SecurityProperties {
   public void setApi(SecurityRestProperties api) {
     this.api = api;
   }
+
+  public SecurityReplayProtectionProperties getReplayProtection() {
+    return replayProtection;
+  }
+
+  public void setReplayProtection(SecurityReplayProtectionProperties replayProtection) {
+    this.replayProtection = replayProtection;
+  }
 }
@@ -0,0 +1,23 @@
+package pt.ulisboa.ewp.node.config.security;
+
+public class SecurityReplayProtectionProperties {
+
+  private SecurityReplayProtectionStore store = SecurityReplayProtectionStore.MEMORY;
+  private int maxNumberRequestIdsInMemory = 100000;
+
+  public SecurityReplayProtectionStore getStore() {
+    return store;
+  }
+
+  public void setStore(SecurityReplayProtectionStore store) {
+    this.store = store;
+  }
+
+  public int getMaxNumberRequestIdsInMemory() {
+    return maxNumberRequestIdsInMemory;
+  }
+
+  public void setMaxNumberRequestIdsInMemory(int maxNumberRequestIdsInMemory) {
+    this.maxNumberRequestIdsInMemory = maxNumberRequestIdsInMemory;
+  }
+}
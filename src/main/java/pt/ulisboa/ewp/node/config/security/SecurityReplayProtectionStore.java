@@ -0,0 +1,24 @@
+package pt.ulisboa.ewp.node.config.security;
+
+/**
+ * Store used to keep the X-Request-ID of the requests already received, in order to reject
+ * replayed requests.
+ */
+public enum SecurityReplayProtectionStore {
+
+  /**
+   * Replayed requests are not rejected.
+   */
+  NONE,
+
+  /**
+   * The request IDs are kept in memory, hence they are only known by this node instance.
+   */
+  MEMORY,
+
+  /**
+   * The request IDs are kept in the database, hence they are shared by all node instances using
+   * the same database.
+   */
+  DATABASE
+}
@@ -0,0 +1,20 @@
+package pt.ulisboa.ewp.node.config.xml;
+
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Scope;
+
+@Scope(ConfigurableBeanFactory.SCOPE_SINGLETON)
+@ConfigurationProperties(prefix = "xml")
+public class XmlProperties {
+
+  private boolean formattedOutput = false;
+
+  public boolean isFormattedOutput() {
+    return formattedOutput;
+  }
+
+  public void setFormattedOutput(boolean formattedOutput) {
+    this.formattedOutput = formattedOutput;
+  }
+}
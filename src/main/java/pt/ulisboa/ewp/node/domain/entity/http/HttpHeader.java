@@ -79,4 +79,11 @@ public class HttpHeader {
   public static HttpHeader create(String key, String value) {
     return new HttpHeader(key, value);
   }
+
+  /**
+   * Returns a new, not yet persisted, header with the same name and value of a given header.
+   */
+  public static HttpHeader copyOf(HttpHeader header) {
+    return new HttpHeader(header.getName(), header.getValue());
+  }
 }
@@ -1,6 +1,7 @@
 package pt.ulisboa.ewp.node.domain.entity.http;
 
 import java.util.Collection;
+import java.util.stream.Collectors;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -100,4 +101,16 @@ public class HttpRequestLog {
       HttpMethod method, String url, Collection<HttpHeader> headers, String body) {
     return new HttpRequestLog(method, url, headers, body);
   }
+
+  /**
+   * Returns a new, not yet persisted, request log (including its headers) with the same data of a
+   * given request log.
+   */
+  public static HttpRequestLog copyOf(HttpRequestLog requestLog) {
+    HttpRequestLog result = new HttpRequestLog(requestLog.getMethod(), requestLog.getUrl(),
+        requestLog.getHeaders().stream().map(HttpHeader::copyOf).collect(Collectors.toList()),
+        requestLog.getBody());
+    result.getHeaders().forEach(header -> header.setRequestLog(result));
+    return result;
+  }
 }
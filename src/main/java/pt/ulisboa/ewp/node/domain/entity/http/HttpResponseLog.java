@@ -1,6 +1,7 @@
 package pt.ulisboa.ewp.node.domain.entity.http;
 
 import java.util.Collection;
+import java.util.stream.Collectors;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -85,4 +86,20 @@ public class HttpResponseLog {
       int statusCode, Collection<HttpHeader> headers, String body) {
     return new HttpResponseLog(statusCode, headers, body);
   }
+
+  /**
+   * Returns a new, not yet persisted, response log (including its headers) with the same data of
+   * a given response log.
+   */
+  public static HttpResponseLog copyOf(HttpResponseLog responseLog) {
+    if (responseLog == null) {
+      return null;
+    }
+
+    HttpResponseLog result = new HttpResponseLog(responseLog.getStatusCode(),
+        responseLog.getHeaders().stream().map(HttpHeader::copyOf).collect(Collectors.toList()),
+        responseLog.getBody());
+    result.getHeaders().forEach(header -> header.setResponseLog(result));
+    return result;
+  }
 }
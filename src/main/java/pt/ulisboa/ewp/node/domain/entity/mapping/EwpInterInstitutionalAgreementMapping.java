@@ -6,10 +6,13 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Table;
 
 @Entity
-@Table(name = "EWP_INTER_INSTITUTIONAL_AGREEMENT_MAPPING")
+@Table(name = "EWP_INTER_INSTITUTIONAL_AGREEMENT_MAPPING", indexes = {
+    @Index(name = "idx_iia_mapping_hei_id_iia_id", columnList = "hei_id, iia_id"),
+    @Index(name = "idx_iia_mapping_hei_id_iia_code", columnList = "hei_id, iia_code")})
 public class EwpInterInstitutionalAgreementMapping {
 
   private long id;
@@ -0,0 +1,111 @@
+package pt.ulisboa.ewp.node.domain.entity.mapping;
+
+import java.time.ZonedDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+
+/**
+ * Progress of the synchronization of mappings of a given type (for instance, IIAs) of a HEI with a
+ * given host provider. Only elements modified since the last synchronization need to be
+ * synchronized again, until a full synchronization is due.
+ */
+@Entity
+@Table(name = "EWP_MAPPING_SYNC_CHECKPOINT", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_mapping_sync_checkpoint_type_hei_id_provider",
+        columnNames = {"mapping_type", "hei_id", "provider"})})
+public class EwpMappingSyncCheckpoint {
+
+  private long id;
+  private String mappingType;
+  private String heiId;
+  private String provider;
+  private ZonedDateTime lastSyncDateTime;
+  private ZonedDateTime lastFullSyncDateTime;
+
+  protected EwpMappingSyncCheckpoint() {
+  }
+
+  protected EwpMappingSyncCheckpoint(String mappingType, String heiId, String provider) {
+    this.mappingType = mappingType;
+    this.heiId = heiId;
+    this.provider = provider;
+  }
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "id", unique = true, nullable = false)
+  public long getId() {
+    return id;
+  }
+
+  public void setId(long id) {
+    this.id = id;
+  }
+
+  @Column(name = "mapping_type", nullable = false)
+  public String getMappingType() {
+    return mappingType;
+  }
+
+  public void setMappingType(String mappingType) {
+    this.mappingType = mappingType;
+  }
+
+  @Column(name = "hei_id", nullable = false)
+  public String getHeiId() {
+    return heiId;
+  }
+
+  public void setHeiId(String heiId) {
+    this.heiId = heiId;
+  }
+
+  @Column(name = "provider", nullable = false)
+  public String getProvider() {
+    return provider;
+  }
+
+  public void setProvider(String provider) {
+    this.provider = provider;
+  }
+
+  @Column(name = "last_sync_date_time", nullable = true)
+  public ZonedDateTime getLastSyncDateTime() {
+    return lastSyncDateTime;
+  }
+
+  public void setLastSyncDateTime(ZonedDateTime lastSyncDateTime) {
+    this.lastSyncDateTime = lastSyncDateTime;
+  }
+
+  @Column(name = "last_full_sync_date_time", nullable = true)
+  public ZonedDateTime getLastFullSyncDateTime() {
+    return lastFullSyncDateTime;
+  }
+
+  public void setLastFullSyncDateTime(ZonedDateTime lastFullSyncDateTime) {
+    this.lastFullSyncDateTime = lastFullSyncDateTime;
+  }
+
+  public static EwpMappingSyncCheckpoint create(String mappingType, String heiId,
+      String provider) {
+    return new EwpMappingSyncCheckpoint(mappingType, heiId, provider);
+  }
+
+  @Override
+  public String toString() {
+    return "EwpMappingSyncCheckpoint{" +
+        "id=" + id +
+        ", mappingType='" + mappingType + '\'' +
+        ", heiId='" + heiId + '\'' +
+        ", provider='" + provider + '\'' +
+        ", lastSyncDateTime=" + lastSyncDateTime +
+        ", lastFullSyncDateTime=" + lastFullSyncDateTime +
+        '}';
+  }
+}
@@ -5,10 +5,13 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Table;
 
 @Entity
-@Table(name = "EWP_OUTGOING_MOBILITY_MAPPING")
+@Table(name = "EWP_OUTGOING_MOBILITY_MAPPING", indexes = {
+    @Index(name = "idx_omobility_mapping_hei_id_omobility_id",
+        columnList = "hei_id, omobility_id")})
 public class EwpOutgoingMobilityMapping {
 
   private long id;
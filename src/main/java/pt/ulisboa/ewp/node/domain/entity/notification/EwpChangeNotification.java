@@ -2,6 +2,9 @@ package pt.ulisboa.ewp.node.domain.entity.notification;
 
 import java.math.BigInteger;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
 import javax.persistence.Column;
 import javax.persistence.DiscriminatorColumn;
 import javax.persistence.DiscriminatorType;
@@ -9,13 +12,19 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Inheritance;
 import javax.persistence.InheritanceType;
 import javax.persistence.Table;
 import javax.persistence.Transient;
+import org.apache.commons.codec.digest.DigestUtils;
 
 @Entity
-@Table(name = "EWP_CHANGE_NOTIFICATION")
+@Table(name = "EWP_CHANGE_NOTIFICATION", indexes = {
+    @Index(name = "idx_change_notification_status_scheduled",
+        columnList = "status, scheduled_date_time"),
+    @Index(name = "idx_change_notification_coalescing_key",
+        columnList = "coalescing_key, status")})
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "type", discriminatorType = DiscriminatorType.STRING)
 public abstract class EwpChangeNotification {
@@ -25,6 +34,7 @@ public abstract class EwpChangeNotification {
   private int attemptNumber;
   private ZonedDateTime scheduledDateTime;
   private Status status;
+  private String coalescingKey;
 
   protected EwpChangeNotification() {
     this(1, ZonedDateTime.now(), Status.PENDING);
@@ -77,6 +87,12 @@ public abstract class EwpChangeNotification {
     this.scheduledDateTime = scheduledDateTime;
   }
 
+  /**
+   * Returns the HEI ID to which the change notification is sent.
+   */
+  @Transient
+  public abstract String getTargetHeiId();
+
   @Transient
   public boolean isPending() {
     return getStatus() == Status.PENDING;
@@ -111,6 +127,35 @@ public abstract class EwpChangeNotification {
     this.status = status;
   }
 
+  /**
+   * Returns a key shared by all change notifications that notify about the same change (same
+   * type, HEIs involved and entity). Among pending change notifications with the same key, only
+   * the most recent one needs to be sent.
+   */
+  @Column(name = "coalescing_key", length = 64)
+  public String getCoalescingKey() {
+    return coalescingKey;
+  }
+
+  public void setCoalescingKey(String coalescingKey) {
+    this.coalescingKey = coalescingKey;
+  }
+
+  @Transient
+  public void updateCoalescingKey() {
+    List<String> components = new ArrayList<>();
+    components.add(getClass().getSimpleName());
+    components.addAll(coalescingKeyComponents());
+    this.coalescingKey = DigestUtils.sha256Hex(
+        components.stream().map(String::valueOf).collect(Collectors.joining("\n")));
+  }
+
+  /**
+   * Returns the values that identify the change being notified, used to compute the coalescing
+   * key.
+   */
+  protected abstract List<String> coalescingKeyComponents();
+
   @Transient
   public void scheduleNewAttempt() {
     BigInteger newDelayInMinutes = BigInteger.TWO.pow(this.attemptNumber);
@@ -139,12 +184,6 @@ public abstract class EwpChangeNotification {
     this.status = Status.MERGED;
   }
 
-  @Transient
-  public boolean canBeMergedInto(EwpChangeNotification other) {
-    return isPending() && other.isPending() && getCreationDateTime().isBefore(
-        other.getCreationDateTime());
-  }
-
   @Override
   public String toString() {
     return "EwpChangeNotification{" +
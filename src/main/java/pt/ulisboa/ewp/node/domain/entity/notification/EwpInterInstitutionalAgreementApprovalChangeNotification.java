@@ -1,9 +1,12 @@
 package pt.ulisboa.ewp.node.domain.entity.notification;
 
 import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
 import javax.persistence.Column;
 import javax.persistence.DiscriminatorValue;
 import javax.persistence.Entity;
+import javax.persistence.Transient;
 
 @Entity
 @DiscriminatorValue("IIA_APPROVAL")
@@ -75,16 +78,14 @@ public class EwpInterInstitutionalAgreementApprovalChangeNotification extends
   }
 
   @Override
-  public boolean canBeMergedInto(EwpChangeNotification o) {
-    if (!(o instanceof EwpInterInstitutionalAgreementApprovalChangeNotification)) {
-      return false;
-    }
-
-    EwpInterInstitutionalAgreementApprovalChangeNotification otherChangeNotification = (EwpInterInstitutionalAgreementApprovalChangeNotification) o;
-    return approvingHeiId.equals(otherChangeNotification.approvingHeiId) &&
-        partnerHeiId.equals(otherChangeNotification.partnerHeiId) &&
-        ownerHeiId.equals(otherChangeNotification.ownerHeiId) && iiaId.equals(
-        otherChangeNotification.iiaId);
+  @Transient
+  public String getTargetHeiId() {
+    return partnerHeiId;
+  }
+
+  @Override
+  protected List<String> coalescingKeyComponents() {
+    return Arrays.asList(approvingHeiId, partnerHeiId, ownerHeiId, iiaId);
   }
 
   @Override
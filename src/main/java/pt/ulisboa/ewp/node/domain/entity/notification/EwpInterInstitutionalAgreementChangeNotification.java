@@ -1,9 +1,12 @@
 package pt.ulisboa.ewp.node.domain.entity.notification;
 
 import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
 import javax.persistence.Column;
 import javax.persistence.DiscriminatorValue;
 import javax.persistence.Entity;
+import javax.persistence.Transient;
 
 @Entity
 @DiscriminatorValue("IIA")
@@ -62,15 +65,14 @@ public class EwpInterInstitutionalAgreementChangeNotification extends EwpChangeN
   }
 
   @Override
-  public boolean canBeMergedInto(EwpChangeNotification o) {
-    if (!(o instanceof EwpInterInstitutionalAgreementChangeNotification)) {
-      return false;
-    }
+  @Transient
+  public String getTargetHeiId() {
+    return partnerHeiId;
+  }
 
-    EwpInterInstitutionalAgreementChangeNotification otherChangeNotification = (EwpInterInstitutionalAgreementChangeNotification) o;
-    return notifierHeiId.equals(otherChangeNotification.notifierHeiId) &&
-        partnerHeiId.equals(otherChangeNotification.partnerHeiId) && iiaId.equals(
-        otherChangeNotification.iiaId);
+  @Override
+  protected List<String> coalescingKeyComponents() {
+    return Arrays.asList(notifierHeiId, partnerHeiId, iiaId);
   }
 
   @Override
@@ -1,9 +1,12 @@
 package pt.ulisboa.ewp.node.domain.entity.notification;
 
 import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
 import javax.persistence.Column;
 import javax.persistence.DiscriminatorValue;
 import javax.persistence.Entity;
+import javax.persistence.Transient;
 
 @Entity
 @DiscriminatorValue("OMOBILITY")
@@ -62,15 +65,14 @@ public class EwpOutgoingMobilityChangeNotification extends EwpChangeNotification
   }
 
   @Override
-  public boolean canBeMergedInto(EwpChangeNotification o) {
-    if (!(o instanceof EwpOutgoingMobilityChangeNotification)) {
-      return false;
-    }
+  @Transient
+  public String getTargetHeiId() {
+    return receivingHeiId;
+  }
 
-    EwpOutgoingMobilityChangeNotification otherChangeNotification = (EwpOutgoingMobilityChangeNotification) o;
-    return sendingHeiId.equals(otherChangeNotification.sendingHeiId) &&
-        receivingHeiId.equals(otherChangeNotification.receivingHeiId) && outgoingMobilityId.equals(
-        otherChangeNotification.outgoingMobilityId);
+  @Override
+  protected List<String> coalescingKeyComponents() {
+    return Arrays.asList(sendingHeiId, receivingHeiId, outgoingMobilityId);
   }
 
   @Override
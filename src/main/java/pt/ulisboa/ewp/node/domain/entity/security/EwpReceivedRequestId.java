@@ -0,0 +1,65 @@
+package pt.ulisboa.ewp.node.domain.entity.security;
+
+import java.time.ZonedDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+/**
+ * X-Request-ID of a request already received, kept until it can no longer be replayed.
+ */
+@Entity
+@Table(name = "EWP_RECEIVED_REQUEST_ID", indexes = {
+    @Index(name = "idx_received_request_id_expiration",
+        columnList = "expiration_date_time")})
+public class EwpReceivedRequestId {
+
+  private long id;
+  private String requestId;
+  private ZonedDateTime expirationDateTime;
+
+  protected EwpReceivedRequestId() {
+  }
+
+  protected EwpReceivedRequestId(String requestId, ZonedDateTime expirationDateTime) {
+    this.requestId = requestId;
+    this.expirationDateTime = expirationDateTime;
+  }
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "id", unique = true, nullable = false)
+  public long getId() {
+    return id;
+  }
+
+  public void setId(long id) {
+    this.id = id;
+  }
+
+  @Column(name = "request_id", unique = true, nullable = false)
+  public String getRequestId() {
+    return requestId;
+  }
+
+  public void setRequestId(String requestId) {
+    this.requestId = requestId;
+  }
+
+  @Column(name = "expiration_date_time", nullable = false)
+  public ZonedDateTime getExpirationDateTime() {
+    return expirationDateTime;
+  }
+
+  public void setExpirationDateTime(ZonedDateTime expirationDateTime) {
+    this.expirationDateTime = expirationDateTime;
+  }
+
+  public static EwpReceivedRequestId create(String requestId, ZonedDateTime expirationDateTime) {
+    return new EwpReceivedRequestId(requestId, expirationDateTime);
+  }
+}
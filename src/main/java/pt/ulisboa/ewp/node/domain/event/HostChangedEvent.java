@@ -0,0 +1,24 @@
+package pt.ulisboa.ewp.node.domain.event;
+
+/**
+ * Published whenever a host (or any of its covered HEIs) is persisted.
+ */
+public class HostChangedEvent {
+
+  private final String hostCode;
+
+  public HostChangedEvent(String hostCode) {
+    this.hostCode = hostCode;
+  }
+
+  public String getHostCode() {
+    return hostCode;
+  }
+
+  @Override
+  public String toString() {
+    return "HostChangedEvent{" +
+        "hostCode='" + hostCode + '\'' +
+        '}';
+  }
+}
@@ -10,6 +10,7 @@ import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.web.context.request.RequestContextHolder;
 import pt.ulisboa.ewp.node.exception.domain.DomainException;
 import pt.ulisboa.ewp.node.service.messaging.MessageService;
 import pt.ulisboa.ewp.node.utils.messaging.Severity;
@@ -17,6 +18,12 @@ import pt.ulisboa.ewp.node.utils.messaging.Severity;
 @Transactional
 public abstract class AbstractRepository<T> {
 
+  /**
+   * Maximum number of values used in a single IN clause, as some databases limit it (for
+   * instance, Oracle allows at most 1000 values).
+   */
+  protected static final int MAX_NUMBER_VALUES_PER_IN_CLAUSE = 500;
+
   private final Logger log = LoggerFactory.getLogger(getClass());
   private final Class<T> entityClass;
   private final SessionFactory sessionFactory;
@@ -41,7 +48,10 @@ public abstract class AbstractRepository<T> {
       checkDomainConstraints(entity);
     } catch (DomainException e) {
       log.error("Failed to persist entity", e);
-      MessageService.getInstance().add(Severity.ERROR, e.getMessage());
+      // NOTE: entities may be persisted outside a request (e.g. by background writers)
+      if (RequestContextHolder.getRequestAttributes() != null) {
+        MessageService.getInstance().add(Severity.ERROR, e.getMessage());
+      }
       return false;
     }
 
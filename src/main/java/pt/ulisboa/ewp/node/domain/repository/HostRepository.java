@@ -8,20 +8,36 @@ import javax.persistence.criteria.Root;
 import javax.transaction.Transactional;
 
 import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Repository;
 
 import pt.ulisboa.ewp.node.domain.entity.Host;
 import pt.ulisboa.ewp.node.domain.entity.Host_;
+import pt.ulisboa.ewp.node.domain.event.HostChangedEvent;
 import pt.ulisboa.ewp.node.exception.domain.DomainException;
 
 @Repository
 @Transactional
 public class HostRepository extends AbstractRepository<Host> {
 
+  @Autowired
+  private ApplicationEventPublisher eventPublisher;
+
   protected HostRepository(SessionFactory sessionFactory) {
     super(Host.class, sessionFactory);
   }
 
+  @Override
+  public boolean persist(Host host) {
+    if (!super.persist(host)) {
+      return false;
+    }
+
+    eventPublisher.publishEvent(new HostChangedEvent(host.getCode()));
+    return true;
+  }
+
   public Optional<Host> findByCode(String code) {
     return runInSession(
         session -> {
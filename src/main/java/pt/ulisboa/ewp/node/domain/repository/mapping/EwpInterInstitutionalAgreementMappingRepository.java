@@ -1,6 +1,10 @@
 package pt.ulisboa.ewp.node.domain.repository.mapping;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.Iterables;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import javax.persistence.NoResultException;
 import javax.persistence.criteria.CriteriaBuilder;
@@ -82,6 +86,62 @@ public class EwpInterInstitutionalAgreementMappingRepository extends
         });
   }
 
+  /**
+   * Returns the mappings of a given HEI ID with any of the given IIA IDs. The values are queried in
+   * chunks, so a single query is done for most requests.
+   */
+  public Collection<EwpInterInstitutionalAgreementMapping> findByHeiIdAndIiaIds(String heiId,
+      Collection<String> iiaIds) {
+    List<EwpInterInstitutionalAgreementMapping> result = new ArrayList<>();
+    for (List<String> iiaIdsPartition : Iterables.partition(iiaIds,
+        MAX_NUMBER_VALUES_PER_IN_CLAUSE)) {
+      result.addAll(runInSession(
+          session -> {
+            CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
+            CriteriaQuery<EwpInterInstitutionalAgreementMapping> query = criteriaBuilder.createQuery(
+                EwpInterInstitutionalAgreementMapping.class);
+            Root<EwpInterInstitutionalAgreementMapping> selection = query.from(
+                EwpInterInstitutionalAgreementMapping.class);
+            return session
+                .createQuery(
+                    query.where(
+                        criteriaBuilder.equal(
+                            selection.get(EwpInterInstitutionalAgreementMapping_.heiId), heiId),
+                        selection.get(EwpInterInstitutionalAgreementMapping_.iiaId).in(iiaIdsPartition)))
+                .getResultList();
+          }));
+    }
+    return result;
+  }
+
+  /**
+   * Returns the mappings of a given HEI ID with any of the given IIA codes. The values are queried in
+   * chunks, so a single query is done for most requests.
+   */
+  public Collection<EwpInterInstitutionalAgreementMapping> findByHeiIdAndIiaCodes(String heiId,
+      Collection<String> iiaCodes) {
+    List<EwpInterInstitutionalAgreementMapping> result = new ArrayList<>();
+    for (List<String> iiaCodesPartition : Iterables.partition(iiaCodes,
+        MAX_NUMBER_VALUES_PER_IN_CLAUSE)) {
+      result.addAll(runInSession(
+          session -> {
+            CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
+            CriteriaQuery<EwpInterInstitutionalAgreementMapping> query = criteriaBuilder.createQuery(
+                EwpInterInstitutionalAgreementMapping.class);
+            Root<EwpInterInstitutionalAgreementMapping> selection = query.from(
+                EwpInterInstitutionalAgreementMapping.class);
+            return session
+                .createQuery(
+                    query.where(
+                        criteriaBuilder.equal(
+                            selection.get(EwpInterInstitutionalAgreementMapping_.heiId), heiId),
+                        selection.get(EwpInterInstitutionalAgreementMapping_.iiaCode).in(iiaCodesPartition)))
+                .getResultList();
+          }));
+    }
+    return result;
+  }
+
   @Override
   protected boolean checkDomainConstraints(EwpInterInstitutionalAgreementMapping entity)
       throws DomainException {
@@ -0,0 +1,49 @@
+package pt.ulisboa.ewp.node.domain.repository.mapping;
+
+import java.util.Optional;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import javax.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Repository;
+import pt.ulisboa.ewp.node.domain.entity.mapping.EwpMappingSyncCheckpoint;
+import pt.ulisboa.ewp.node.domain.entity.mapping.EwpMappingSyncCheckpoint_;
+import pt.ulisboa.ewp.node.domain.repository.AbstractRepository;
+
+@Repository
+@Transactional
+public class EwpMappingSyncCheckpointRepository extends
+    AbstractRepository<EwpMappingSyncCheckpoint> {
+
+  protected EwpMappingSyncCheckpointRepository(SessionFactory sessionFactory) {
+    super(EwpMappingSyncCheckpoint.class, sessionFactory);
+  }
+
+  public Optional<EwpMappingSyncCheckpoint> findByMappingTypeAndHeiIdAndProvider(
+      String mappingType, String heiId, String provider) {
+    return runInSession(
+        session -> {
+          CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
+          CriteriaQuery<EwpMappingSyncCheckpoint> query = criteriaBuilder.createQuery(
+              EwpMappingSyncCheckpoint.class);
+          Root<EwpMappingSyncCheckpoint> selection = query.from(EwpMappingSyncCheckpoint.class);
+          return session
+              .createQuery(
+                  query.where(
+                      criteriaBuilder.equal(
+                          selection.get(EwpMappingSyncCheckpoint_.mappingType), mappingType),
+                      criteriaBuilder.equal(
+                          selection.get(EwpMappingSyncCheckpoint_.heiId), heiId),
+                      criteriaBuilder.equal(
+                          selection.get(EwpMappingSyncCheckpoint_.provider), provider)))
+              .stream()
+              .findFirst();
+        });
+  }
+
+  @Override
+  protected boolean checkDomainConstraints(EwpMappingSyncCheckpoint entity) {
+    return true;
+  }
+}
@@ -1,6 +1,10 @@
 package pt.ulisboa.ewp.node.domain.repository.mapping;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.Iterables;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import javax.persistence.NoResultException;
 import javax.persistence.criteria.CriteriaBuilder;
@@ -55,6 +59,34 @@ public class EwpOutgoingMobilityMappingRepository extends
         });
   }
 
+  /**
+   * Returns the mappings of a given HEI ID with any of the given outgoing mobility IDs. The values are queried in
+   * chunks, so a single query is done for most requests.
+   */
+  public Collection<EwpOutgoingMobilityMapping> findByHeiIdAndOmobilityIds(String heiId,
+      Collection<String> omobilityIds) {
+    List<EwpOutgoingMobilityMapping> result = new ArrayList<>();
+    for (List<String> omobilityIdsPartition : Iterables.partition(omobilityIds,
+        MAX_NUMBER_VALUES_PER_IN_CLAUSE)) {
+      result.addAll(runInSession(
+          session -> {
+            CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
+            CriteriaQuery<EwpOutgoingMobilityMapping> query = criteriaBuilder.createQuery(
+                EwpOutgoingMobilityMapping.class);
+            Root<EwpOutgoingMobilityMapping> selection = query.from(
+                EwpOutgoingMobilityMapping.class);
+            return session
+                .createQuery(
+                    query.where(
+                        criteriaBuilder.equal(
+                            selection.get(EwpOutgoingMobilityMapping_.heiId), heiId),
+                        selection.get(EwpOutgoingMobilityMapping_.omobilityId).in(omobilityIdsPartition)))
+                .getResultList();
+          }));
+    }
+    return result;
+  }
+
   @Override
   protected boolean checkDomainConstraints(EwpOutgoingMobilityMapping entity)
       throws DomainException {
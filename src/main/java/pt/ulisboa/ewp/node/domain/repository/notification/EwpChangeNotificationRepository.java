@@ -1,10 +1,11 @@
 package pt.ulisboa.ewp.node.domain.repository.notification;
 
-import java.util.Collection;
+import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.CriteriaUpdate;
 import javax.persistence.criteria.Root;
 import javax.transaction.Transactional;
 import org.hibernate.SessionFactory;
@@ -12,6 +13,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Repository;
 import pt.ulisboa.ewp.node.domain.entity.notification.EwpChangeNotification;
+import pt.ulisboa.ewp.node.domain.entity.notification.EwpChangeNotification.Status;
 import pt.ulisboa.ewp.node.domain.entity.notification.EwpChangeNotification_;
 import pt.ulisboa.ewp.node.domain.repository.AbstractRepository;
 import pt.ulisboa.ewp.node.exception.domain.DomainException;
@@ -33,6 +35,7 @@ public class EwpChangeNotificationRepository
   @Override
   @Transactional
   public boolean persist(EwpChangeNotification entity) {
+    entity.updateCoalescingKey();
     if (!super.persist(entity)) {
       return false;
     }
@@ -57,18 +60,57 @@ public class EwpChangeNotificationRepository
         });
   }
 
-  public Collection<EwpChangeNotification> findAllPending() {
-    return super.findAll().stream().filter(EwpChangeNotification::isPending)
-        .collect(Collectors.toSet());
+  /**
+   * Returns the pending change notifications scheduled up to a given date time, ordered by their
+   * scheduled date time.
+   *
+   * @param dateTime   Maximum scheduled date time (inclusive)
+   * @param maxResults Maximum number of change notifications to return
+   */
+  public List<EwpChangeNotification> findAllPendingScheduledUntil(ZonedDateTime dateTime,
+      int maxResults) {
+    return runInSession(
+        session -> {
+          CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
+          CriteriaQuery<EwpChangeNotification> query = criteriaBuilder.createQuery(
+              EwpChangeNotification.class);
+          Root<EwpChangeNotification> selection = query.from(EwpChangeNotification.class);
+          query.where(
+              criteriaBuilder.equal(selection.get(EwpChangeNotification_.STATUS), Status.PENDING),
+              criteriaBuilder.lessThanOrEqualTo(
+                  selection.get(EwpChangeNotification_.SCHEDULED_DATE_TIME), dateTime));
+          query.orderBy(
+              criteriaBuilder.asc(selection.get(EwpChangeNotification_.SCHEDULED_DATE_TIME)),
+              criteriaBuilder.asc(selection.get(EwpChangeNotification_.ID)));
+          return session.createQuery(query).setMaxResults(maxResults).getResultList();
+        });
   }
 
+  /**
+   * Marks as merged, with a single update, all older pending change notifications with the same
+   * coalescing key as a given pending change notification.
+   *
+   * <p>NOTE: the bulk update is executed directly on the database, bypassing the persistence
+   * context, so any of the merged change notifications already loaded in the current session keep
+   * their previous status until they are refreshed or reloaded.
+   */
   private void mergeOldChangeNotifications(EwpChangeNotification entity) {
     if (entity.isPending()) {
-      findAll().stream()
-          .filter(i -> i != entity && i.canBeMergedInto(entity))
-          .forEach(i -> {
-            i.markAsMerged();
-            this.persist(i);
+      runInSession(
+          session -> {
+            CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
+            CriteriaUpdate<EwpChangeNotification> update = criteriaBuilder.createCriteriaUpdate(
+                EwpChangeNotification.class);
+            Root<EwpChangeNotification> selection = update.from(EwpChangeNotification.class);
+            update.set(selection.get(EwpChangeNotification_.STATUS), Status.MERGED);
+            update.where(
+                criteriaBuilder.equal(selection.get(EwpChangeNotification_.COALESCING_KEY),
+                    entity.getCoalescingKey()),
+                criteriaBuilder.equal(selection.get(EwpChangeNotification_.STATUS),
+                    Status.PENDING),
+                criteriaBuilder.lessThan(selection.get(EwpChangeNotification_.ID),
+                    entity.getId()));
+            return session.createQuery(update).executeUpdate();
           });
     }
   }
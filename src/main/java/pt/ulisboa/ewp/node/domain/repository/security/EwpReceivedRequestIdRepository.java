@@ -0,0 +1,78 @@
+package pt.ulisboa.ewp.node.domain.repository.security;
+
+import java.time.ZonedDateTime;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaDelete;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import javax.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Repository;
+import pt.ulisboa.ewp.node.domain.entity.security.EwpReceivedRequestId;
+import pt.ulisboa.ewp.node.domain.entity.security.EwpReceivedRequestId_;
+import pt.ulisboa.ewp.node.domain.repository.AbstractRepository;
+
+@Repository
+@Transactional
+public class EwpReceivedRequestIdRepository extends AbstractRepository<EwpReceivedRequestId> {
+
+  protected EwpReceivedRequestIdRepository(SessionFactory sessionFactory) {
+    super(EwpReceivedRequestId.class, sessionFactory);
+  }
+
+  /**
+   * Registers a request ID, unless it is already registered and not yet expired.
+   *
+   * @return true if the request ID was registered; false otherwise
+   * @throws org.springframework.dao.DataIntegrityViolationException Thrown if the request ID was
+   *                                                                  concurrently registered.
+   */
+  public boolean registerIfAbsent(String requestId, ZonedDateTime expirationDateTime) {
+    return runInSession(
+        session -> {
+          CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
+          CriteriaQuery<EwpReceivedRequestId> query = criteriaBuilder.createQuery(
+              EwpReceivedRequestId.class);
+          Root<EwpReceivedRequestId> selection = query.from(EwpReceivedRequestId.class);
+          query.where(
+              criteriaBuilder.equal(selection.get(EwpReceivedRequestId_.REQUEST_ID), requestId));
+          EwpReceivedRequestId receivedRequestId = session.createQuery(query).stream()
+              .findFirst()
+              .orElse(null);
+
+          if (receivedRequestId == null) {
+            session.save(EwpReceivedRequestId.create(requestId, expirationDateTime));
+          } else if (receivedRequestId.getExpirationDateTime().isBefore(ZonedDateTime.now())) {
+            receivedRequestId.setExpirationDateTime(expirationDateTime);
+          } else {
+            return false;
+          }
+
+          // NOTE: flushes so a concurrent registration fails here, on the unique constraint
+          session.flush();
+          return true;
+        });
+  }
+
+  /**
+   * Deletes, with a single delete, all request IDs expired up to a given date time.
+   */
+  public int deleteAllExpiredUntil(ZonedDateTime dateTime) {
+    return runInSession(
+        session -> {
+          CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
+          CriteriaDelete<EwpReceivedRequestId> delete = criteriaBuilder.createCriteriaDelete(
+              EwpReceivedRequestId.class);
+          Root<EwpReceivedRequestId> selection = delete.from(EwpReceivedRequestId.class);
+          delete.where(
+              criteriaBuilder.lessThan(
+                  selection.get(EwpReceivedRequestId_.EXPIRATION_DATE_TIME), dateTime));
+          return session.createQuery(delete).executeUpdate();
+        });
+  }
+
+  @Override
+  protected boolean checkDomainConstraints(EwpReceivedRequestId entity) {
+    return true;
+  }
+}
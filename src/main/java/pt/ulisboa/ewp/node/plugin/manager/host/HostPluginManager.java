@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -106,7 +107,7 @@ public class HostPluginManager extends DefaultPluginManager {
       throw new EwpUnknownHeiIdException(heiId);
     }
 
-    Map<T, Collection<String>> result = new HashMap<>();
+    Map<T, Collection<String>> result = new LinkedHashMap<>();
     for (String ounitId : ounitIds) {
       Collection<T> providers = getProvidersByHeiIdAndOunitId(heiId, ounitId, providerClassType);
       if (!providers.isEmpty()) {
@@ -130,7 +131,7 @@ public class HostPluginManager extends DefaultPluginManager {
       throw new EwpUnknownHeiIdException(heiId);
     }
 
-    Map<T, Collection<String>> result = new HashMap<>();
+    Map<T, Collection<String>> result = new LinkedHashMap<>();
     for (String ounitCode : ounitCodes) {
       Collection<T> providers = getProvidersByHeiIdAndOunitCode(heiId, ounitCode,
           providerClassType);
@@ -0,0 +1,113 @@
+package pt.ulisboa.ewp.node.plugin.manager.host;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import javax.annotation.PreDestroy;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import pt.ulisboa.ewp.node.config.plugin.HostProviderInvocationProperties;
+
+/**
+ * Invokes several host providers concurrently, so that, when a HEI is covered by several plugins,
+ * the time taken is bounded by the slowest provider instead of the sum of all providers. Results
+ * are returned in the iteration order of the given providers, independently of which provider
+ * responds first.
+ */
+@Component
+public class HostProviderInvoker {
+
+  private final long timeoutInSeconds;
+
+  private final ThreadPoolExecutor executor;
+
+  public HostProviderInvoker(HostProviderInvocationProperties properties) {
+    this.timeoutInSeconds = properties.getTimeoutInSeconds();
+    this.executor = new ThreadPoolExecutor(properties.getMaxThreads(), properties.getMaxThreads(),
+        60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(properties.getQueueCapacity()),
+        new CustomizableThreadFactory("host-provider-invoker-"),
+        new ThreadPoolExecutor.CallerRunsPolicy());
+    this.executor.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * Invokes each provider, returning their results in the order of the providers.
+   *
+   * @throws IllegalStateException Thrown if some provider does not respond in time.
+   */
+  public <T, R> List<R> invokeAll(Collection<T> providers, Function<T, R> invocation) {
+    if (providers.size() <= 1) {
+      List<R> result = new ArrayList<>();
+      providers.forEach(provider -> result.add(invocation.apply(provider)));
+      return result;
+    }
+
+    List<Future<R>> futures = new ArrayList<>();
+    for (T provider : providers) {
+      futures.add(executor.submit(() -> invocation.apply(provider)));
+    }
+
+    try {
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutInSeconds);
+      List<R> result = new ArrayList<>();
+      for (Future<R> future : futures) {
+        result.add(waitForResult(future, deadline));
+      }
+      return result;
+
+    } finally {
+      futures.forEach(future -> future.cancel(true));
+    }
+  }
+
+  /**
+   * Invokes each provider with the values it covers (e.g. IIA IDs), returning their results in the
+   * iteration order of the map.
+   *
+   * @throws IllegalStateException Thrown if some provider does not respond in time.
+   */
+  public <T, V, R> List<R> invokeAll(Map<T, V> providerToValuesMap,
+      BiFunction<T, V, R> invocation) {
+    return invokeAll(new ArrayList<>(providerToValuesMap.entrySet()),
+        entry -> invocation.apply(entry.getKey(), entry.getValue()));
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private <R> R waitForResult(Future<R> future, long deadline) {
+    try {
+      return future.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+
+    } catch (TimeoutException | CancellationException e) {
+      throw new IllegalStateException(
+          "Host provider did not respond within " + timeoutInSeconds + " seconds", e);
+
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for host provider", e);
+
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IllegalStateException(cause);
+    }
+  }
+}
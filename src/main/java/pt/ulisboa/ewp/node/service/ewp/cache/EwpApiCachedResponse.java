@@ -0,0 +1,30 @@
+package pt.ulisboa.ewp.node.service.ewp.cache;
+
+/**
+ * Serialized body of a successful EWP API response, along with its digest, so it may be returned
+ * again without being serialized nor digested.
+ */
+public class EwpApiCachedResponse {
+
+  private final String contentType;
+  private final byte[] body;
+  private final String digestHeaderValue;
+
+  public EwpApiCachedResponse(String contentType, byte[] body, String digestHeaderValue) {
+    this.contentType = contentType;
+    this.body = body;
+    this.digestHeaderValue = digestHeaderValue;
+  }
+
+  public String getContentType() {
+    return contentType;
+  }
+
+  public byte[] getBody() {
+    return body;
+  }
+
+  public String getDigestHeaderValue() {
+    return digestHeaderValue;
+  }
+}
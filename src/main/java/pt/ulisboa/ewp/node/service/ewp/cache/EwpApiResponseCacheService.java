@@ -0,0 +1,169 @@
+package pt.ulisboa.ewp.node.service.ewp.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Service;
+import pt.ulisboa.ewp.node.api.ewp.controller.courses.EwpApiCoursesV0Controller;
+import pt.ulisboa.ewp.node.api.ewp.controller.factsheets.EwpApiFactSheetsV1Controller;
+import pt.ulisboa.ewp.node.api.ewp.controller.iias.EwpApiInterInstitutionalAgreementsV6Controller;
+import pt.ulisboa.ewp.node.api.ewp.controller.institutions.EwpApiInstitutionsV2Controller;
+import pt.ulisboa.ewp.node.api.ewp.controller.ounits.EwpApiOrganizationalUnitsV2Controller;
+import pt.ulisboa.ewp.node.api.ewp.utils.EwpApiConstants;
+import pt.ulisboa.ewp.node.config.cache.EwpApiResponseCacheProperties;
+import pt.ulisboa.ewp.node.service.metrics.MetricsProvider;
+import pt.ulisboa.ewp.node.utils.EwpApi;
+
+/**
+ * Cache of the serialized responses of idempotent EWP API endpoints, whose responses are the same
+ * for the same parameters and client, so those responses need not be obtained from the host
+ * providers, serialized nor digested again.
+ *
+ * <p>Responses are cached per API, each with its own time to live, and only for the APIs with a
+ * time to live configured. The responses of an API may be invalidated when its data is known to
+ * have changed (e.g. on a change notification).
+ */
+@Service
+public class EwpApiResponseCacheService implements MetricsProvider {
+
+  private static final Map<String, EwpApi> CACHEABLE_ENDPOINT_URI_TO_API_MAP = Map.of(
+      EwpApiConstants.API_BASE_URI + EwpApiInstitutionsV2Controller.BASE_PATH,
+      EwpApi.INSTITUTIONS,
+      EwpApiConstants.API_BASE_URI + EwpApiOrganizationalUnitsV2Controller.BASE_PATH,
+      EwpApi.ORGANIZATIONAL_UNITS,
+      EwpApiConstants.API_BASE_URI + EwpApiFactSheetsV1Controller.BASE_PATH,
+      EwpApi.FACTSHEETS,
+      EwpApiConstants.API_BASE_URI + EwpApiCoursesV0Controller.BASE_PATH,
+      EwpApi.COURSES,
+      EwpApiConstants.API_BASE_URI + EwpApiInterInstitutionalAgreementsV6Controller.BASE_PATH
+          + "/get",
+      EwpApi.INTERINSTITUTIONAL_AGREEMENTS);
+
+  private final boolean enabled;
+
+  private final Map<EwpApi, Cache<Key, EwpApiCachedResponse>> apiToCacheMap =
+      new EnumMap<>(EwpApi.class);
+
+  public EwpApiResponseCacheService(EwpApiResponseCacheProperties properties) {
+    this.enabled = properties.isEnabled();
+    properties.getTimeToLiveInSeconds().forEach((api, timeToLiveInSeconds) -> {
+      if (timeToLiveInSeconds != null && timeToLiveInSeconds > 0) {
+        apiToCacheMap.put(api, CacheBuilder.newBuilder()
+            .maximumSize(properties.getMaxNumberCachedResponsesPerApi())
+            .expireAfterWrite(timeToLiveInSeconds, TimeUnit.SECONDS)
+            .recordStats()
+            .build());
+      }
+    });
+  }
+
+  /**
+   * Returns the API whose responses to requests on a given URI are cached, if any.
+   */
+  public Optional<EwpApi> findCachedApi(String requestUri) {
+    if (!enabled || requestUri == null) {
+      return Optional.empty();
+    }
+    // NOTE: a trailing slash is accepted by the controllers, so it is ignored
+    String endpointUri = requestUri.endsWith("/")
+        ? requestUri.substring(0, requestUri.length() - 1) : requestUri;
+    return Optional.ofNullable(CACHEABLE_ENDPOINT_URI_TO_API_MAP.get(endpointUri))
+        .filter(apiToCacheMap::containsKey);
+  }
+
+  public Optional<EwpApiCachedResponse> find(EwpApi api, Key key) {
+    Cache<Key, EwpApiCachedResponse> cache = apiToCacheMap.get(api);
+    return cache != null ? Optional.ofNullable(cache.getIfPresent(key)) : Optional.empty();
+  }
+
+  public void put(EwpApi api, Key key, EwpApiCachedResponse response) {
+    Cache<Key, EwpApiCachedResponse> cache = apiToCacheMap.get(api);
+    if (cache != null) {
+      cache.put(key, response);
+    }
+  }
+
+  /**
+   * Invalidates all cached responses of an API, for instance, when some of its data changed.
+   */
+  public void invalidate(EwpApi api) {
+    Cache<Key, EwpApiCachedResponse> cache = apiToCacheMap.get(api);
+    if (cache != null) {
+      cache.invalidateAll();
+    }
+  }
+
+  @Override
+  public String getMetricsGroupName() {
+    return "ewpApiResponseCache";
+  }
+
+  @Override
+  public Map<String, Number> getMetrics() {
+    CacheStats stats = new CacheStats(0, 0, 0, 0, 0, 0);
+    long size = 0;
+    for (Cache<Key, EwpApiCachedResponse> cache : apiToCacheMap.values()) {
+      stats = stats.plus(cache.stats());
+      size += cache.size();
+    }
+    Map<String, Number> metrics = new LinkedHashMap<>();
+    metrics.put("size", size);
+    metrics.put("hits", stats.hitCount());
+    metrics.put("misses", stats.missCount());
+    metrics.put("hitRate", stats.hitRate());
+    metrics.put("evictions", stats.evictionCount());
+    return metrics;
+  }
+
+  /**
+   * Key of a cached response: the endpoint, the parameters (independently of the order of their
+   * names, but not of the order of their values) and the HEI IDs covered by the client, as host
+   * providers may respond differently according to the requester.
+   */
+  public static class Key {
+
+    private final String endpointUri;
+    private final SortedMap<String, List<String>> parameters = new TreeMap<>();
+    private final SortedSet<String> clientHeiIds;
+
+    public Key(String endpointUri, Map<String, String[]> parameterMap,
+        Collection<String> clientHeiIds) {
+      this.endpointUri = endpointUri;
+      parameterMap.forEach(
+          (name, values) -> this.parameters.put(name, new ArrayList<>(Arrays.asList(values))));
+      this.clientHeiIds = new TreeSet<>(clientHeiIds);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Key key = (Key) o;
+      return endpointUri.equals(key.endpointUri) && parameters.equals(key.parameters)
+          && clientHeiIds.equals(key.clientHeiIds);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(endpointUri, parameters, clientHeiIds);
+    }
+  }
+}
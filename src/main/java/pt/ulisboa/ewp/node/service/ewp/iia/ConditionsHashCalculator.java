@@ -1,87 +1,254 @@
 package pt.ulisboa.ewp.node.service.ewp.iia;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.StringReader;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Set;
 import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
+import javax.xml.parsers.SAXParserFactory;
+import org.apache.commons.codec.binary.Hex;
 import org.apache.commons.codec.digest.DigestUtils;
-import org.apache.xml.security.c14n.CanonicalizationException;
-import org.apache.xml.security.c14n.Canonicalizer;
-import org.apache.xml.security.c14n.InvalidCanonicalizerException;
 import org.springframework.stereotype.Service;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
+import org.xml.sax.Attributes;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
-
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Calculates the conditions hash of a cooperation conditions XML.
+ *
+ * <p>The hash is the SHA-256 of the exclusive canonical form (without comments) of the
+ * cooperation-conditions element, excluding any sending-contact and receiving-contact elements.
+ * The XML is parsed as a stream of SAX events and the canonical form is written directly into the
+ * message digest, so no DOM is built. As the XML is parsed without namespace awareness, namespace
+ * declarations are handled as regular attributes.
+ */
 @Service
 public class ConditionsHashCalculator {
 
-  public ConditionsHashCalculator() {
-    org.apache.xml.security.Init.init();
-  }
+  private static final String COOPERATION_CONDITIONS_ELEMENT_NAME = "cooperation-conditions";
+
+  private static final Set<String> EXCLUDED_ELEMENT_NAMES = new HashSet<>(
+      Arrays.asList("sending-contact", "receiving-contact"));
+
+  /**
+   * SAXParserFactory is not thread-safe, so each thread uses its own factory.
+   */
+  private final ThreadLocal<SAXParserFactory> saxParserFactory = ThreadLocal.withInitial(
+      SAXParserFactory::newInstance);
 
   public String calculateHashFor(String cooperationConditionsXml) {
-    Node cooperationConditionsNode = getCooperationConditionsNodeFromXml(cooperationConditionsXml);
-    removeNodesByExpression(cooperationConditionsNode, "//sending-contact | //receiving-contact");
-    String canonizedXml = canonizeXml(cooperationConditionsNode);
-    return DigestUtils.sha256Hex(canonizedXml);
+    MessageDigest messageDigest = DigestUtils.getSha256Digest();
+    try (Writer writer = new OutputStreamWriter(
+        new DigestOutputStream(OutputStream.nullOutputStream(), messageDigest),
+        StandardCharsets.UTF_8)) {
+      CanonicalCooperationConditionsHandler handler = new CanonicalCooperationConditionsHandler(
+          writer);
+      try {
+        saxParserFactory.get().newSAXParser()
+            .parse(new InputSource(new StringReader(cooperationConditionsXml)), handler);
+      } catch (CanonicalizationFinishedException e) {
+        // NOTE: the remaining XML is irrelevant for the hash
+      }
+
+      if (!handler.isFinished()) {
+        throw new IllegalStateException(
+            "No " + COOPERATION_CONDITIONS_ELEMENT_NAME + " element found");
+      }
+
+    } catch (ParserConfigurationException | SAXException | IOException e) {
+      throw new IllegalStateException(e);
+    }
+    return Hex.encodeHexString(messageDigest.digest());
   }
 
-  private Node getCooperationConditionsNodeFromXml(String xml) {
-    DocumentBuilderFactory builderFactory = DocumentBuilderFactory.newInstance();
-    try {
-      DocumentBuilder builder = builderFactory.newDocumentBuilder();
+  /**
+   * Writes the exclusive canonical form (without comments) of the first cooperation-conditions
+   * element found, skipping the excluded elements.
+   */
+  private static class CanonicalCooperationConditionsHandler extends DefaultHandler {
+
+    private final Writer writer;
+    private int depth = 0;
+    private int excludedDepth = 0;
+    private boolean finished = false;
+
+    CanonicalCooperationConditionsHandler(Writer writer) {
+      this.writer = writer;
+    }
 
-      Document xmlDocument;
-      InputSource is = new InputSource(new StringReader(xml));
-      xmlDocument = builder.parse(is);
+    boolean isFinished() {
+      return finished;
+    }
 
-      XPath xPath = XPathFactory.newInstance().newXPath();
-      String expression = "//cooperation-conditions";
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes attributes)
+        throws SAXException {
+      if (depth == 0 && !COOPERATION_CONDITIONS_ELEMENT_NAME.equals(qName)) {
+        return;
+      }
 
-      return (Node) xPath.compile(expression).evaluate(xmlDocument, XPathConstants.NODE);
+      if (excludedDepth > 0 || (depth > 0 && EXCLUDED_ELEMENT_NAMES.contains(qName))) {
+        excludedDepth++;
+        return;
+      }
 
-    } catch (ParserConfigurationException | IOException | SAXException | XPathExpressionException e) {
-      throw new IllegalStateException(e);
+      depth++;
+      write('<');
+      write(qName);
+      Integer[] attributeIndexes = new Integer[attributes.getLength()];
+      for (int index = 0; index < attributeIndexes.length; index++) {
+        attributeIndexes[index] = index;
+      }
+      Arrays.sort(attributeIndexes, Comparator.comparing(attributes::getQName));
+      for (int attributeIndex : attributeIndexes) {
+        write(' ');
+        write(attributes.getQName(attributeIndex));
+        write("=\"");
+        writeEscapedAttributeValue(attributes.getValue(attributeIndex));
+        write('"');
+      }
+      write('>');
     }
-  }
 
-  private void removeNodesByExpression(Node node, String expression) {
+    @Override
+    public void endElement(String uri, String localName, String qName) throws SAXException {
+      if (depth == 0) {
+        return;
+      }
+
+      if (excludedDepth > 0) {
+        excludedDepth--;
+        return;
+      }
 
-    try {
-      XPath xPath = XPathFactory.newInstance().newXPath();
-      NodeList nodesToRemove = (NodeList) xPath.compile(expression)
-          .evaluate(node, XPathConstants.NODESET);
+      write("</");
+      write(qName);
+      write('>');
+      depth--;
 
-      for (int nodeToRemoveIndex = 0; nodeToRemoveIndex < nodesToRemove.getLength();
-          nodeToRemoveIndex++) {
-        Node nodeToRemove = nodesToRemove.item(nodeToRemoveIndex);
-        nodeToRemove.getParentNode().removeChild(nodeToRemove);
+      if (depth == 0) {
+        finished = true;
+        throw new CanonicalizationFinishedException();
       }
+    }
 
-    } catch (XPathExpressionException e) {
-      throw new IllegalStateException(e);
+    @Override
+    public void characters(char[] ch, int start, int length) throws SAXException {
+      if (isWriting()) {
+        writeEscapedText(ch, start, length);
+      }
     }
-  }
 
-  private String canonizeXml(Node node) {
-    ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-    try {
-      Canonicalizer.getInstance(Canonicalizer.ALGO_ID_C14N_EXCL_OMIT_COMMENTS)
-          .canonicalizeSubtree(node, byteArrayOutputStream);
-      return byteArrayOutputStream.toString();
+    @Override
+    public void ignorableWhitespace(char[] ch, int start, int length) throws SAXException {
+      characters(ch, start, length);
+    }
 
-    } catch (CanonicalizationException | InvalidCanonicalizerException e) {
-      throw new IllegalStateException(e);
+    @Override
+    public void processingInstruction(String target, String data) throws SAXException {
+      if (isWriting()) {
+        write("<?");
+        write(target);
+        if (data != null && !data.isEmpty()) {
+          write(' ');
+          for (int index = 0; index < data.length(); index++) {
+            char c = data.charAt(index);
+            if (c == '\r') {
+              write("&#xD;");
+            } else {
+              write(c);
+            }
+          }
+        }
+        write("?>");
+      }
     }
+
+    private boolean isWriting() {
+      return depth > 0 && excludedDepth == 0;
+    }
+
+    private void writeEscapedText(char[] ch, int start, int length) throws SAXException {
+      for (int index = start; index < start + length; index++) {
+        char c = ch[index];
+        switch (c) {
+          case '&':
+            write("&amp;");
+            break;
+          case '<':
+            write("&lt;");
+            break;
+          case '>':
+            write("&gt;");
+            break;
+          case '\r':
+            write("&#xD;");
+            break;
+          default:
+            write(c);
+        }
+      }
+    }
+
+    private void writeEscapedAttributeValue(String value) throws SAXException {
+      for (int index = 0; index < value.length(); index++) {
+        char c = value.charAt(index);
+        switch (c) {
+          case '&':
+            write("&amp;");
+            break;
+          case '<':
+            write("&lt;");
+            break;
+          case '"':
+            write("&quot;");
+            break;
+          case '\t':
+            write("&#x9;");
+            break;
+          case '\n':
+            write("&#xA;");
+            break;
+          case '\r':
+            write("&#xD;");
+            break;
+          default:
+            write(c);
+        }
+      }
+    }
+
+    private void write(char c) throws SAXException {
+      try {
+        writer.write(c);
+      } catch (IOException e) {
+        throw new SAXException(e);
+      }
+    }
+
+    private void write(String value) throws SAXException {
+      try {
+        writer.write(value);
+      } catch (IOException e) {
+        throw new SAXException(e);
+      }
+    }
+  }
+
+  /**
+   * Thrown to stop parsing once the cooperation-conditions element is fully canonicalized.
+   */
+  private static class CanonicalizationFinishedException extends SAXException {
+
   }
 
 }
@@ -1,27 +1,62 @@
 package pt.ulisboa.ewp.node.service.ewp.iia;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import eu.erasmuswithoutpaper.api.iias.v6.endpoints.IiasGetResponseV6;
 import eu.erasmuswithoutpaper.api.iias.v6.endpoints.IiasGetResponseV6.Iia;
 import eu.erasmuswithoutpaper.api.iias.v6.endpoints.IiasGetResponseV6.Iia.CooperationConditions;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import javax.xml.bind.JAXBElement;
 import javax.xml.bind.Marshaller;
 import javax.xml.namespace.QName;
 import org.springframework.oxm.jaxb.Jaxb2Marshaller;
 import org.springframework.stereotype.Service;
+import pt.ulisboa.ewp.node.config.cache.ConditionsHashCacheProperties;
+import pt.ulisboa.ewp.node.config.xml.XmlProperties;
+import pt.ulisboa.ewp.node.service.metrics.MetricsProvider;
 import pt.ulisboa.ewp.node.utils.XmlUtils;
 import pt.ulisboa.ewp.node.utils.http.converter.xml.EwpNamespacePrefixMapper;
 
 @Service
-public class ConditionsHashDecorator {
+public class ConditionsHashDecorator implements MetricsProvider {
 
   private final ConditionsHashCalculator conditionsHashCalculator;
 
+  private final XmlProperties xmlProperties;
+
+  /**
+   * Conditions hashes indexed by a fingerprint of the cooperation conditions XML they were
+   * calculated for. As IIAs rarely change, this avoids calculating the same hash on every IIA get
+   * request.
+   */
+  private final Cache<HashCode, String> fingerprintToConditionsHashCache;
+
+  /**
+   * Jaxb2Marshaller is thread-safe and creating one is expensive (it creates a new JAXBContext),
+   * so marshallers are created once per class and then reused.
+   */
+  private final Map<Class<?>, Jaxb2Marshaller> classToJaxb2MarshallerMap = new ConcurrentHashMap<>();
+
   public ConditionsHashDecorator(
-      ConditionsHashCalculator conditionsHashCalculator) {
+      ConditionsHashCalculator conditionsHashCalculator, XmlProperties xmlProperties,
+      ConditionsHashCacheProperties conditionsHashCacheProperties) {
     this.conditionsHashCalculator = conditionsHashCalculator;
-    org.apache.xml.security.Init.init();
+    this.xmlProperties = xmlProperties;
+    this.fingerprintToConditionsHashCache = CacheBuilder.newBuilder()
+        .maximumSize(conditionsHashCacheProperties.getMaxNumberCachedConditionsHashes())
+        .expireAfterWrite(conditionsHashCacheProperties.getTimeToLiveInMinutes(), TimeUnit.MINUTES)
+        .recordStats()
+        .build();
   }
 
   public void decorateWithConditionsHashes(IiasGetResponseV6 iiasGetResponseV6) {
@@ -32,20 +67,54 @@ public class ConditionsHashDecorator {
               "https://github.com/erasmus-without-paper/ewp-specs-api-iias/blob/stable-v6/endpoints/get-response.xsd",
               "cooperation-conditions", ""), CooperationConditions.class,
           cooperationConditions);
-      String cooperationConditionsXml = XmlUtils.marshall(createJaxb2Marshaller(iia.getClass()),
+      String cooperationConditionsXml = XmlUtils.marshall(getJaxb2Marshaller(iia.getClass()),
           cooperationConditionsJAXBElement);
-      String hash = this.conditionsHashCalculator.calculateHashFor(cooperationConditionsXml);
-      iia.setConditionsHash(hash);
+      iia.setConditionsHash(getConditionsHash(cooperationConditionsXml));
+    }
+  }
+
+  @Override
+  public String getMetricsGroupName() {
+    return "conditionsHashCache";
+  }
+
+  @Override
+  public Map<String, Number> getMetrics() {
+    CacheStats stats = fingerprintToConditionsHashCache.stats();
+    Map<String, Number> metrics = new LinkedHashMap<>();
+    metrics.put("size", fingerprintToConditionsHashCache.size());
+    metrics.put("hits", stats.hitCount());
+    metrics.put("misses", stats.missCount());
+    metrics.put("evictions", stats.evictionCount());
+    return metrics;
+  }
+
+  private String getConditionsHash(String cooperationConditionsXml) {
+    HashCode fingerprint = Hashing.murmur3_128()
+        .hashString(cooperationConditionsXml, StandardCharsets.UTF_8);
+    try {
+      return fingerprintToConditionsHashCache.get(fingerprint,
+          () -> conditionsHashCalculator.calculateHashFor(cooperationConditionsXml));
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      throw new IllegalStateException(e.getCause());
     }
   }
 
+  private Jaxb2Marshaller getJaxb2Marshaller(Class<?> clazz) {
+    return classToJaxb2MarshallerMap.computeIfAbsent(clazz, this::createJaxb2Marshaller);
+  }
+
   private Jaxb2Marshaller createJaxb2Marshaller(Class<?> clazz) {
     Jaxb2Marshaller marshaller = new Jaxb2Marshaller();
     marshaller.setClassesToBeBound(clazz);
     marshaller.setSupportJaxbElementClass(true);
 
     Map<String, Object> jaxbProperties = new HashMap<>();
-    jaxbProperties.put(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+    // NOTE: the cooperation conditions are marshalled on their own, so the output is only the same
+    // as on the response when it is not formatted. When formatted output is enabled, the
+    // indentation differs from the one of the response, and so may the hash partners calculate
+    // from it. Hence, formatted output must only be enabled for debugging.
+    jaxbProperties.put(Marshaller.JAXB_FORMATTED_OUTPUT, xmlProperties.isFormattedOutput());
     jaxbProperties.put("com.sun.xml.bind.namespacePrefixMapper", new EwpNamespacePrefixMapper());
 
     marshaller.setMarshallerProperties(jaxbProperties);
@@ -1,24 +1,76 @@
 package pt.ulisboa.ewp.node.service.ewp.mapping;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import javax.transaction.Transactional;
+import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pt.ulisboa.ewp.node.config.mapping.EwpMappingProperties;
 import pt.ulisboa.ewp.node.domain.entity.mapping.EwpInterInstitutionalAgreementMapping;
 import pt.ulisboa.ewp.node.domain.repository.mapping.EwpInterInstitutionalAgreementMappingRepository;
+import pt.ulisboa.ewp.node.service.metrics.MetricsProvider;
 
+/**
+ * Manages the IIA mappings. As mappings rarely change, lookups by IIA ID or IIA code are served
+ * from a local read-through cache, which is invalidated whenever a mapping is registered. The
+ * absence of a mapping is not cached, so that a mapping registered on another node is seen as soon
+ * as it is committed.
+ */
 @Service
 @Transactional
-public class EwpInterInstitutionalAgreementMappingService {
+public class EwpInterInstitutionalAgreementMappingService implements MetricsProvider {
 
   private final EwpInterInstitutionalAgreementMappingRepository repository;
 
+  private final Cache<Pair<String, String>, EwpInterInstitutionalAgreementMapping> heiIdAndIiaIdToMappingCache;
+
+  private final Cache<Pair<String, String>, EwpInterInstitutionalAgreementMapping> heiIdAndIiaCodeToMappingCache;
+
   public EwpInterInstitutionalAgreementMappingService(
-      EwpInterInstitutionalAgreementMappingRepository repository) {
+      EwpInterInstitutionalAgreementMappingRepository repository,
+      EwpMappingProperties ewpMappingProperties) {
     this.repository = repository;
+    this.heiIdAndIiaIdToMappingCache = createCache(ewpMappingProperties);
+    this.heiIdAndIiaCodeToMappingCache = createCache(ewpMappingProperties);
   }
 
   public Optional<EwpInterInstitutionalAgreementMapping> getMapping(String heiId, String iiaId) {
-    return repository.findByHeiIdAndIiaId(heiId, iiaId);
+    return Optional.ofNullable(getMappingsByIiaIds(heiId, List.of(iiaId)).get(iiaId));
+  }
+
+  /**
+   * Returns the existing mappings of a given HEI ID for some IIA IDs, indexed by IIA ID.
+   */
+  public Map<String, EwpInterInstitutionalAgreementMapping> getMappingsByIiaIds(String heiId,
+      Collection<String> iiaIds) {
+    return getMappings(heiIdAndIiaIdToMappingCache, heiId, iiaIds,
+        missingIiaIds -> repository.findByHeiIdAndIiaIds(heiId, missingIiaIds).stream()
+            .collect(Collectors.toMap(EwpInterInstitutionalAgreementMapping::getIiaId,
+                Function.identity(), (m1, m2) -> m1)));
+  }
+
+  /**
+   * Returns the existing mappings of a given HEI ID for some IIA codes, indexed by IIA code.
+   */
+  public Map<String, EwpInterInstitutionalAgreementMapping> getMappingsByIiaCodes(String heiId,
+      Collection<String> iiaCodes) {
+    return getMappings(heiIdAndIiaCodeToMappingCache, heiId, iiaCodes,
+        missingIiaCodes -> repository.findByHeiIdAndIiaCodes(heiId, missingIiaCodes).stream()
+            .collect(Collectors.toMap(EwpInterInstitutionalAgreementMapping::getIiaCode,
+                Function.identity(), (m1, m2) -> m1)));
   }
 
   @Transactional
@@ -39,5 +91,82 @@ public class EwpInterInstitutionalAgreementMappingService {
     if (!repository.persist(mapping)) {
       throw new IllegalStateException();
     }
+
+    String mappingIiaCode = mapping.getIiaCode();
+    invalidateCachedMappings(() -> {
+      heiIdAndIiaIdToMappingCache.invalidate(Pair.of(heiId, iiaId));
+      heiIdAndIiaCodeToMappingCache.invalidate(Pair.of(heiId, iiaCode));
+      heiIdAndIiaCodeToMappingCache.invalidate(Pair.of(heiId, mappingIiaCode));
+    });
+  }
+
+  @Override
+  public String getMetricsGroupName() {
+    return "iiaMappingCache";
+  }
+
+  @Override
+  public Map<String, Number> getMetrics() {
+    CacheStats stats = heiIdAndIiaIdToMappingCache.stats()
+        .plus(heiIdAndIiaCodeToMappingCache.stats());
+    Map<String, Number> metrics = new LinkedHashMap<>();
+    metrics.put("size", heiIdAndIiaIdToMappingCache.size() + heiIdAndIiaCodeToMappingCache.size());
+    metrics.put("hits", stats.hitCount());
+    metrics.put("misses", stats.missCount());
+    metrics.put("hitRate", stats.hitRate());
+    metrics.put("evictions", stats.evictionCount());
+    return metrics;
+  }
+
+  private static Map<String, EwpInterInstitutionalAgreementMapping> getMappings(
+      Cache<Pair<String, String>, EwpInterInstitutionalAgreementMapping> cache,
+      String heiId, Collection<String> keys,
+      Function<Collection<String>, Map<String, EwpInterInstitutionalAgreementMapping>> loader) {
+    Map<String, EwpInterInstitutionalAgreementMapping> result = new HashMap<>();
+    List<String> missingKeys = new ArrayList<>();
+    for (String key : keys) {
+      EwpInterInstitutionalAgreementMapping cachedMapping = cache.getIfPresent(
+          Pair.of(heiId, key));
+      if (cachedMapping == null) {
+        missingKeys.add(key);
+      } else {
+        result.put(key, cachedMapping);
+      }
+    }
+
+    if (!missingKeys.isEmpty()) {
+      loader.apply(missingKeys).forEach((key, mapping) -> {
+        cache.put(Pair.of(heiId, key), mapping);
+        result.put(key, mapping);
+      });
+    }
+    return result;
+  }
+
+  /**
+   * Invalidates cached mappings immediately and, if a transaction is active, again after it
+   * commits, so a concurrent lookup cannot cache a mapping state that is not yet committed.
+   */
+  private static void invalidateCachedMappings(Runnable invalidation) {
+    invalidation.run();
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronizationAdapter() {
+
+            @Override
+            public void afterCommit() {
+              invalidation.run();
+            }
+          });
+    }
+  }
+
+  private static <K, V> Cache<K, V> createCache(EwpMappingProperties ewpMappingProperties) {
+    return CacheBuilder.newBuilder()
+        .maximumSize(ewpMappingProperties.getMaxNumberCachedMappings())
+        .expireAfterWrite(ewpMappingProperties.getCachedMappingTimeToLiveInMinutes(),
+            TimeUnit.MINUTES)
+        .recordStats()
+        .build();
   }
 }
@@ -1,24 +1,87 @@
 package pt.ulisboa.ewp.node.service.ewp.mapping;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import javax.transaction.Transactional;
+import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pt.ulisboa.ewp.node.config.mapping.EwpMappingProperties;
 import pt.ulisboa.ewp.node.domain.entity.mapping.EwpOutgoingMobilityMapping;
 import pt.ulisboa.ewp.node.domain.repository.mapping.EwpOutgoingMobilityMappingRepository;
+import pt.ulisboa.ewp.node.service.metrics.MetricsProvider;
 
+/**
+ * Manages the outgoing mobility mappings. As mappings rarely change, lookups are served from a
+ * local read-through cache, which is invalidated whenever a mapping is registered. The absence of
+ * a mapping is not cached, so that a mapping registered on another node is seen as soon as it is
+ * committed.
+ */
 @Service
 @Transactional
-public class EwpOutgoingMobilityMappingService {
+public class EwpOutgoingMobilityMappingService implements MetricsProvider {
 
   private final EwpOutgoingMobilityMappingRepository repository;
 
+  private final Cache<Pair<String, String>, EwpOutgoingMobilityMapping> heiIdAndOmobilityIdToMappingCache;
+
   public EwpOutgoingMobilityMappingService(
-      EwpOutgoingMobilityMappingRepository repository) {
+      EwpOutgoingMobilityMappingRepository repository,
+      EwpMappingProperties ewpMappingProperties) {
     this.repository = repository;
+    this.heiIdAndOmobilityIdToMappingCache = CacheBuilder.newBuilder()
+        .maximumSize(ewpMappingProperties.getMaxNumberCachedMappings())
+        .expireAfterWrite(ewpMappingProperties.getCachedMappingTimeToLiveInMinutes(),
+            TimeUnit.MINUTES)
+        .recordStats()
+        .build();
   }
 
   public Optional<EwpOutgoingMobilityMapping> getMapping(String heiId, String outgoingMobilityId) {
-    return repository.findByHeiIdAndOmobilityId(heiId, outgoingMobilityId);
+    return Optional.ofNullable(
+        getMappings(heiId, List.of(outgoingMobilityId)).get(outgoingMobilityId));
+  }
+
+  /**
+   * Returns the existing mappings of a given HEI ID for some outgoing mobility IDs, indexed by
+   * outgoing mobility ID.
+   */
+  public Map<String, EwpOutgoingMobilityMapping> getMappings(String heiId,
+      Collection<String> outgoingMobilityIds) {
+    Map<String, EwpOutgoingMobilityMapping> result = new HashMap<>();
+    List<String> missingOutgoingMobilityIds = new ArrayList<>();
+    for (String outgoingMobilityId : outgoingMobilityIds) {
+      EwpOutgoingMobilityMapping cachedMapping = heiIdAndOmobilityIdToMappingCache.getIfPresent(
+          Pair.of(heiId, outgoingMobilityId));
+      if (cachedMapping == null) {
+        missingOutgoingMobilityIds.add(outgoingMobilityId);
+      } else {
+        result.put(outgoingMobilityId, cachedMapping);
+      }
+    }
+
+    if (!missingOutgoingMobilityIds.isEmpty()) {
+      repository.findByHeiIdAndOmobilityIds(heiId, missingOutgoingMobilityIds).stream()
+          .collect(Collectors.toMap(EwpOutgoingMobilityMapping::getOmobilityId,
+              Function.identity(), (m1, m2) -> m1))
+          .forEach((outgoingMobilityId, mapping) -> {
+            heiIdAndOmobilityIdToMappingCache.put(Pair.of(heiId, outgoingMobilityId), mapping);
+            result.put(outgoingMobilityId, mapping);
+          });
+    }
+    return result;
   }
 
   @Transactional
@@ -40,5 +103,42 @@ public class EwpOutgoingMobilityMappingService {
     if (!repository.persist(mapping)) {
       throw new IllegalStateException();
     }
+
+    invalidateCachedMapping(Pair.of(heiId, outgoingMobilityId));
+  }
+
+  @Override
+  public String getMetricsGroupName() {
+    return "outgoingMobilityMappingCache";
+  }
+
+  @Override
+  public Map<String, Number> getMetrics() {
+    CacheStats stats = heiIdAndOmobilityIdToMappingCache.stats();
+    Map<String, Number> metrics = new LinkedHashMap<>();
+    metrics.put("size", heiIdAndOmobilityIdToMappingCache.size());
+    metrics.put("hits", stats.hitCount());
+    metrics.put("misses", stats.missCount());
+    metrics.put("hitRate", stats.hitRate());
+    metrics.put("evictions", stats.evictionCount());
+    return metrics;
+  }
+
+  /**
+   * Invalidates a cached mapping immediately and, if a transaction is active, again after it
+   * commits, so a concurrent lookup cannot cache a mapping state that is not yet committed.
+   */
+  private void invalidateCachedMapping(Pair<String, String> key) {
+    heiIdAndOmobilityIdToMappingCache.invalidate(key);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronizationAdapter() {
+
+            @Override
+            public void afterCommit() {
+              heiIdAndOmobilityIdToMappingCache.invalidate(key);
+            }
+          });
+    }
   }
 }
@@ -0,0 +1,123 @@
+package pt.ulisboa.ewp.node.service.ewp.mapping.sync;
+
+import com.google.common.collect.Lists;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import pt.ulisboa.ewp.node.config.mapping.EwpMappingProperties;
+import pt.ulisboa.ewp.node.domain.entity.mapping.EwpMappingSyncCheckpoint;
+import pt.ulisboa.ewp.node.domain.repository.mapping.EwpMappingSyncCheckpointRepository;
+import pt.ulisboa.ewp.node.plugin.manager.host.HostPluginManager;
+
+/**
+ * Base service that synchronizes the mappings of the HEIs covered by some type of host provider.
+ *
+ * <p>Each synchronization only asks the providers for the elements modified since the last
+ * synchronization of the same HEI and provider (using a checkpoint persisted on database). A full
+ * synchronization, asking for all elements, is still done periodically, in order to recover from
+ * any change that may have been missed. In both cases, the existing mappings are obtained in bulk
+ * and only the elements without mapping are fetched from the providers, in batches.
+ */
+public abstract class AbstractEwpMappingSyncService<T> implements EwpMappingSyncService {
+
+  private final HostPluginManager hostPluginManager;
+  private final EwpMappingSyncCheckpointRepository checkpointRepository;
+  private final EwpMappingProperties ewpMappingProperties;
+  private final Class<T> providerClassType;
+
+  protected AbstractEwpMappingSyncService(HostPluginManager hostPluginManager,
+      EwpMappingSyncCheckpointRepository checkpointRepository,
+      EwpMappingProperties ewpMappingProperties, Class<T> providerClassType) {
+    this.hostPluginManager = hostPluginManager;
+    this.checkpointRepository = checkpointRepository;
+    this.ewpMappingProperties = ewpMappingProperties;
+    this.providerClassType = providerClassType;
+  }
+
+  @Override
+  public void run() {
+    Map<String, Collection<T>> providersPerHeiId = hostPluginManager.getAllProvidersOfTypePerHeiId(
+        providerClassType);
+    for (Map.Entry<String, Collection<T>> entry : providersPerHeiId.entrySet()) {
+      String heiId = entry.getKey();
+      for (T provider : entry.getValue()) {
+        syncMappingsOfHeiId(heiId, provider);
+      }
+    }
+  }
+
+  private void syncMappingsOfHeiId(String heiId, T provider) {
+    String providerName = provider.getClass().getName();
+    EwpMappingSyncCheckpoint checkpoint = checkpointRepository.findByMappingTypeAndHeiIdAndProvider(
+            getMappingType(), heiId, providerName)
+        .orElseGet(() -> EwpMappingSyncCheckpoint.create(getMappingType(), heiId, providerName));
+
+    // NOTE: the start date time is used as the next checkpoint, so that changes done while
+    // synchronizing are not missed
+    ZonedDateTime syncStartDateTime = ZonedDateTime.now();
+    boolean isFullSync = isFullSyncDue(checkpoint, syncStartDateTime);
+    LocalDateTime modifiedSince = isFullSync ? null
+        : checkpoint.getLastSyncDateTime().withZoneSameInstant(ZoneId.systemDefault())
+            .toLocalDateTime();
+
+    Collection<String> ids = findIds(heiId, provider, modifiedSince);
+    if (ids != null && !ids.isEmpty()) {
+      Set<String> idsWithMapping = findIdsWithMapping(heiId, ids);
+      List<String> idsWithoutMapping = ids.stream()
+          .filter(id -> !idsWithMapping.contains(id))
+          .distinct()
+          .collect(Collectors.toList());
+      for (List<String> idsBatch : Lists.partition(idsWithoutMapping,
+          Math.max(1, getMaxIdsPerRequest(provider)))) {
+        registerMappings(heiId, provider, idsBatch);
+      }
+    }
+
+    checkpoint.setLastSyncDateTime(syncStartDateTime);
+    if (isFullSync) {
+      checkpoint.setLastFullSyncDateTime(syncStartDateTime);
+    }
+    checkpointRepository.persist(checkpoint);
+  }
+
+  private boolean isFullSyncDue(EwpMappingSyncCheckpoint checkpoint,
+      ZonedDateTime dateTime) {
+    return checkpoint.getLastSyncDateTime() == null
+        || checkpoint.getLastFullSyncDateTime() == null
+        || checkpoint.getLastFullSyncDateTime()
+        .plus(ewpMappingProperties.getFullSyncIntervalInMinutes(), ChronoUnit.MINUTES)
+        .isBefore(dateTime);
+  }
+
+  /**
+   * Returns the type of the mappings synchronized, identifying the checkpoints of this service.
+   */
+  protected abstract String getMappingType();
+
+  /**
+   * Returns the IDs of the elements of a HEI known by a provider.
+   *
+   * @param modifiedSince If not null, only the IDs of the elements modified since this date time
+   *                      are required.
+   */
+  protected abstract Collection<String> findIds(String heiId, T provider,
+      LocalDateTime modifiedSince);
+
+  /**
+   * Returns which of the given IDs of elements of a HEI have a mapping already.
+   */
+  protected abstract Set<String> findIdsWithMapping(String heiId, Collection<String> ids);
+
+  protected abstract int getMaxIdsPerRequest(T provider);
+
+  /**
+   * Fetches the elements with the given IDs from a provider, registering their mappings.
+   */
+  protected abstract void registerMappings(String heiId, T provider, List<String> ids);
+}
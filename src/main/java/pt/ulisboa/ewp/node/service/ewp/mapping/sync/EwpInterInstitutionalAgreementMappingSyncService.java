@@ -2,13 +2,15 @@ package pt.ulisboa.ewp.node.service.ewp.mapping.sync;
 
 import eu.erasmuswithoutpaper.api.iias.v6.endpoints.IiasGetResponseV6.Iia;
 import eu.erasmuswithoutpaper.api.iias.v6.endpoints.IiasGetResponseV6.Iia.Partner;
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Map;
-import java.util.Optional;
+import java.util.List;
+import java.util.Set;
 import org.springframework.stereotype.Service;
 import pt.ulisboa.ewp.host.plugin.skeleton.provider.iias.InterInstitutionalAgreementsV6HostProvider;
-import pt.ulisboa.ewp.node.domain.entity.mapping.EwpInterInstitutionalAgreementMapping;
+import pt.ulisboa.ewp.node.config.mapping.EwpMappingProperties;
+import pt.ulisboa.ewp.node.domain.repository.mapping.EwpMappingSyncCheckpointRepository;
 import pt.ulisboa.ewp.node.plugin.manager.host.HostPluginManager;
 import pt.ulisboa.ewp.node.service.ewp.mapping.EwpInterInstitutionalAgreementMappingService;
 
@@ -17,52 +19,55 @@ import pt.ulisboa.ewp.node.service.ewp.mapping.EwpInterInstitutionalAgreementMap
  * stored on those external systems.
  */
 @Service
-public class EwpInterInstitutionalAgreementMappingSyncService implements EwpMappingSyncService {
+public class EwpInterInstitutionalAgreementMappingSyncService extends
+    AbstractEwpMappingSyncService<InterInstitutionalAgreementsV6HostProvider> {
 
   // TODO allow to set this by setting
   public static final int TASK_INTERVAL_IN_MILLISECONDS = 30 * 60 * 1000; // 30 minutes
 
-  private final HostPluginManager hostPluginManager;
+  public static final String MAPPING_TYPE = "IIA";
+
   private final EwpInterInstitutionalAgreementMappingService mappingService;
 
   public EwpInterInstitutionalAgreementMappingSyncService(
       HostPluginManager hostPluginManager,
-      EwpInterInstitutionalAgreementMappingService mappingService) {
-    this.hostPluginManager = hostPluginManager;
+      EwpMappingSyncCheckpointRepository checkpointRepository,
+      EwpInterInstitutionalAgreementMappingService mappingService,
+      EwpMappingProperties ewpMappingProperties) {
+    super(hostPluginManager, checkpointRepository, ewpMappingProperties,
+        InterInstitutionalAgreementsV6HostProvider.class);
     this.mappingService = mappingService;
   }
 
   @Override
-  public void run() {
-    Map<String, Collection<InterInstitutionalAgreementsV6HostProvider>> providersPerHeiId = hostPluginManager.getAllProvidersOfTypePerHeiId(
-        InterInstitutionalAgreementsV6HostProvider.class);
-    for (Map.Entry<String, Collection<InterInstitutionalAgreementsV6HostProvider>> entry : providersPerHeiId.entrySet()) {
-      String heiId = entry.getKey();
-      for (InterInstitutionalAgreementsV6HostProvider provider : entry.getValue()) {
-        syncInterInstitutionalAgreementsOfHeiId(heiId, provider);
-      }
-    }
+  protected String getMappingType() {
+    return MAPPING_TYPE;
   }
 
-  private void syncInterInstitutionalAgreementsOfHeiId(String heiId,
-      InterInstitutionalAgreementsV6HostProvider provider) {
-    Collection<String> iiaIds = provider.findAllIiaIdsByHeiId(Collections.singletonList(heiId),
-        heiId, null, null,
-        null);
-    for (String iiaId : iiaIds) {
-      syncInterInstitutionalAgreement(heiId, provider, iiaId);
-    }
+  @Override
+  protected Collection<String> findIds(String heiId,
+      InterInstitutionalAgreementsV6HostProvider provider, LocalDateTime modifiedSince) {
+    return provider.findAllIiaIdsByHeiId(Collections.singletonList(heiId), heiId, null, null,
+        modifiedSince);
   }
 
-  private void syncInterInstitutionalAgreement(String heiId,
-      InterInstitutionalAgreementsV6HostProvider provider,
-      String iiaId) {
-    Optional<EwpInterInstitutionalAgreementMapping> mappingOptional = this.mappingService.getMapping(
-        heiId, iiaId);
-    if (mappingOptional.isEmpty()) {
-      Collection<Iia> iias = provider.findByHeiIdAndIiaIds(Collections.singletonList(heiId), heiId,
-          Collections.singletonList(iiaId), false);
-      registerMapping(heiId, iias.iterator().next());
+  @Override
+  protected Set<String> findIdsWithMapping(String heiId, Collection<String> iiaIds) {
+    return mappingService.getMappingsByIiaIds(heiId, iiaIds).keySet();
+  }
+
+  @Override
+  protected int getMaxIdsPerRequest(InterInstitutionalAgreementsV6HostProvider provider) {
+    return provider.getMaxIiaIdsPerRequest();
+  }
+
+  @Override
+  protected void registerMappings(String heiId,
+      InterInstitutionalAgreementsV6HostProvider provider, List<String> iiaIds) {
+    Collection<Iia> iias = provider.findByHeiIdAndIiaIds(Collections.singletonList(heiId), heiId,
+        iiaIds, false);
+    for (Iia iia : iias) {
+      registerMapping(heiId, iia);
     }
   }
 
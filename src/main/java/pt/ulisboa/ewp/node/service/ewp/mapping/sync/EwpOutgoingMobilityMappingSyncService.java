@@ -1,13 +1,15 @@
 package pt.ulisboa.ewp.node.service.ewp.mapping.sync;
 
 import eu.erasmuswithoutpaper.api.omobilities.v1.endpoints.StudentMobilityForStudiesV1;
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Map;
-import java.util.Optional;
+import java.util.List;
+import java.util.Set;
 import org.springframework.stereotype.Service;
 import pt.ulisboa.ewp.host.plugin.skeleton.provider.omobilities.OutgoingMobilitiesV1HostProvider;
-import pt.ulisboa.ewp.node.domain.entity.mapping.EwpOutgoingMobilityMapping;
+import pt.ulisboa.ewp.node.config.mapping.EwpMappingProperties;
+import pt.ulisboa.ewp.node.domain.repository.mapping.EwpMappingSyncCheckpointRepository;
 import pt.ulisboa.ewp.node.plugin.manager.host.HostPluginManager;
 import pt.ulisboa.ewp.node.service.ewp.mapping.EwpOutgoingMobilityMappingService;
 
@@ -16,52 +18,55 @@ import pt.ulisboa.ewp.node.service.ewp.mapping.EwpOutgoingMobilityMappingService
  * Mobilities stored on those external systems.
  */
 @Service
-public class EwpOutgoingMobilityMappingSyncService implements EwpMappingSyncService {
+public class EwpOutgoingMobilityMappingSyncService extends
+    AbstractEwpMappingSyncService<OutgoingMobilitiesV1HostProvider> {
 
   // TODO allow to set this by setting
   public static final int TASK_INTERVAL_IN_MILLISECONDS = 30 * 60 * 1000; // 30 minutes
 
-  private final HostPluginManager hostPluginManager;
+  public static final String MAPPING_TYPE = "OUTGOING_MOBILITY";
+
   private final EwpOutgoingMobilityMappingService mappingService;
 
   public EwpOutgoingMobilityMappingSyncService(
       HostPluginManager hostPluginManager,
-      EwpOutgoingMobilityMappingService mappingService) {
-    this.hostPluginManager = hostPluginManager;
+      EwpMappingSyncCheckpointRepository checkpointRepository,
+      EwpOutgoingMobilityMappingService mappingService,
+      EwpMappingProperties ewpMappingProperties) {
+    super(hostPluginManager, checkpointRepository, ewpMappingProperties,
+        OutgoingMobilitiesV1HostProvider.class);
     this.mappingService = mappingService;
   }
 
   @Override
-  public void run() {
-    Map<String, Collection<OutgoingMobilitiesV1HostProvider>> providersPerHeiId = hostPluginManager.getAllProvidersOfTypePerHeiId(
-        OutgoingMobilitiesV1HostProvider.class);
-    for (Map.Entry<String, Collection<OutgoingMobilitiesV1HostProvider>> entry : providersPerHeiId.entrySet()) {
-      String heiId = entry.getKey();
-      for (OutgoingMobilitiesV1HostProvider provider : entry.getValue()) {
-        syncOutgoingMobilitiesOfHeiId(heiId, provider);
-      }
-    }
+  protected String getMappingType() {
+    return MAPPING_TYPE;
   }
 
-  private void syncOutgoingMobilitiesOfHeiId(String heiId,
-      OutgoingMobilitiesV1HostProvider provider) {
-    Collection<String> outgoingMobilityIds = provider.findOutgoingMobilityIds(
-        Collections.singletonList(heiId), heiId, null, null,
-        null);
-    for (String outgoingMobilityId : outgoingMobilityIds) {
-      syncOutgoingMobility(heiId, provider, outgoingMobilityId);
-    }
+  @Override
+  protected Collection<String> findIds(String heiId, OutgoingMobilitiesV1HostProvider provider,
+      LocalDateTime modifiedSince) {
+    return provider.findOutgoingMobilityIds(Collections.singletonList(heiId), heiId, null, null,
+        modifiedSince);
   }
 
-  private void syncOutgoingMobility(String heiId,
-      OutgoingMobilitiesV1HostProvider provider,
-      String outgoingMobilityId) {
-    Optional<EwpOutgoingMobilityMapping> mappingOptional = this.mappingService.getMapping(
-        heiId, outgoingMobilityId);
-    if (mappingOptional.isEmpty()) {
-      Collection<StudentMobilityForStudiesV1> outgoingMobilities = provider.findBySendingHeiIdAndOutgoingMobilityIds(
-          Collections.singletonList(heiId), heiId, Collections.singletonList(outgoingMobilityId));
-      registerMapping(heiId, outgoingMobilities.iterator().next());
+  @Override
+  protected Set<String> findIdsWithMapping(String heiId, Collection<String> outgoingMobilityIds) {
+    return mappingService.getMappings(heiId, outgoingMobilityIds).keySet();
+  }
+
+  @Override
+  protected int getMaxIdsPerRequest(OutgoingMobilitiesV1HostProvider provider) {
+    return provider.getMaxOutgoingMobilityIdsPerRequest();
+  }
+
+  @Override
+  protected void registerMappings(String heiId, OutgoingMobilitiesV1HostProvider provider,
+      List<String> outgoingMobilityIds) {
+    Collection<StudentMobilityForStudiesV1> outgoingMobilities = provider.findBySendingHeiIdAndOutgoingMobilityIds(
+        Collections.singletonList(heiId), heiId, outgoingMobilityIds);
+    for (StudentMobilityForStudiesV1 outgoingMobility : outgoingMobilities) {
+      registerMapping(heiId, outgoingMobility);
     }
   }
 
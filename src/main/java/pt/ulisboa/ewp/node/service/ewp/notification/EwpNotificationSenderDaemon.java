@@ -1,14 +1,29 @@
 package pt.ulisboa.ewp.node.service.ewp.notification;
 
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import pt.ulisboa.ewp.node.client.ewp.exception.EwpClientErrorException;
+import pt.ulisboa.ewp.node.config.notification.EwpNotificationSenderProperties;
 import pt.ulisboa.ewp.node.domain.entity.notification.EwpChangeNotification;
 import pt.ulisboa.ewp.node.domain.repository.notification.EwpChangeNotificationRepository;
 import pt.ulisboa.ewp.node.service.ewp.notification.exception.NoEwpCnrAPIException;
@@ -27,12 +42,24 @@ public class EwpNotificationSenderDaemon implements Runnable {
 
   private final EwpChangeNotificationRepository changeNotificationRepository;
 
+  private final TransactionTemplate transactionTemplate;
+
   private final Map<Class<?>, EwpChangeNotificationHandler> classTypeToSenderHandlerMap = new HashMap<>();
 
+  private final EwpNotificationSenderProperties properties;
+
+  private final ExecutorService senderExecutor;
+
   public EwpNotificationSenderDaemon(
       EwpChangeNotificationRepository changeNotificationRepository,
-      Collection<EwpChangeNotificationHandler> changeNotificationHandlers) {
+      Collection<EwpChangeNotificationHandler> changeNotificationHandlers,
+      PlatformTransactionManager transactionManager,
+      EwpNotificationSenderProperties properties) {
     this.changeNotificationRepository = changeNotificationRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.properties = properties;
+    this.senderExecutor = Executors.newFixedThreadPool(properties.getNumberSenderThreads(),
+        new CustomizableThreadFactory("ewp-notification-sender-"));
 
     for (EwpChangeNotificationHandler changeNotificationHandler : changeNotificationHandlers) {
       this.registerSenderHandler(
@@ -41,49 +68,139 @@ public class EwpNotificationSenderDaemon implements Runnable {
     }
   }
 
+  /**
+   * Sends the pending change notifications that are due. Change notifications targeting different
+   * HEIs are sent concurrently, while the ones targeting the same HEI are sent sequentially, by
+   * their scheduled order. Change notifications that may be sent in the same CNR request (see
+   * {@link EwpChangeNotificationHandler#getBatchKey(EwpChangeNotification)}) are sent together; the
+   * outcome of each request sent is persisted in its own transaction. Only the change notifications
+   * reported by the handler as sent are marked as success. The task only finishes when all change
+   * notifications were processed.
+   */
   @Override
   public void run() {
-    Collection<EwpChangeNotification> changeNotifications = this.changeNotificationRepository.findAllPending();
-    for (EwpChangeNotification changeNotification : changeNotifications) {
-      if (ZonedDateTime.now().isAfter(changeNotification.getScheduledDateTime())) {
-        processChangeNotification(changeNotification);
+    List<EwpChangeNotification> changeNotifications = this.changeNotificationRepository
+        .findAllPendingScheduledUntil(ZonedDateTime.now(),
+            properties.getMaxNumberChangeNotificationsPerTask());
+
+    Map<String, List<EwpChangeNotification>> changeNotificationsPerTargetHeiId = changeNotifications
+        .stream()
+        .collect(Collectors.groupingBy(n -> String.valueOf(n.getTargetHeiId()),
+            LinkedHashMap::new, Collectors.toList()));
+
+    List<Callable<Void>> tasks = new ArrayList<>();
+    for (List<EwpChangeNotification> targetHeiChangeNotifications :
+        changeNotificationsPerTargetHeiId.values()) {
+      tasks.add(() -> {
+        groupChangeNotificationsByBatch(targetHeiChangeNotifications).forEach(
+            this::processChangeNotifications);
+        return null;
+      });
+    }
+
+    try {
+      for (Future<Void> future : senderExecutor.invokeAll(tasks)) {
+        waitForCompletion(future);
       }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOG.warn("Interrupted while waiting for change notifications to be sent");
     }
   }
 
-  private void processChangeNotification(EwpChangeNotification changeNotification) {
+  @PreDestroy
+  public void shutdown() {
+    senderExecutor.shutdownNow();
+  }
+
+  private void waitForCompletion(Future<Void> future) throws InterruptedException {
     try {
-      sendChangeNotification(changeNotification);
+      future.get();
+    } catch (ExecutionException e) {
+      LOG.error("Failed to process change notifications", e.getCause());
+    }
+  }
+
+  private Collection<List<EwpChangeNotification>> groupChangeNotificationsByBatch(
+      List<EwpChangeNotification> changeNotifications) {
+    Map<String, List<EwpChangeNotification>> result = new LinkedHashMap<>();
+    for (EwpChangeNotification changeNotification : changeNotifications) {
+      String batchKey = changeNotification.getClass().getName();
+      Optional<EwpChangeNotificationHandler> senderHandlerOptional = this.getSenderHandlerForClassType(
+          changeNotification.getClass());
+      if (senderHandlerOptional.isPresent()) {
+        batchKey += "|" + senderHandlerOptional.get().getBatchKey(changeNotification);
+      }
+      result.computeIfAbsent(batchKey, k -> new ArrayList<>()).add(changeNotification);
+    }
+    return result.values();
+  }
 
-      changeNotification.markAsSuccess();
-      changeNotificationRepository.persist(changeNotification);
+  private void processChangeNotifications(List<EwpChangeNotification> changeNotifications) {
+    List<EwpChangeNotification> unsentChangeNotifications = new ArrayList<>(changeNotifications);
+    try {
+      sendChangeNotifications(changeNotifications, sentChangeNotifications -> {
+        persistInTransaction(sentChangeNotifications, EwpChangeNotification::markAsSuccess);
+        unsentChangeNotifications.removeAll(sentChangeNotifications);
+      });
+
+      if (!unsentChangeNotifications.isEmpty()) {
+        // NOTE: only the change notifications reported as sent by the handler are considered as
+        // sent, so the remaining ones are not silently lost
+        LOG.error(String.format(
+            "Change notifications not reported as sent by handler, scheduling new attempt: %s",
+            unsentChangeNotifications));
+        persistInTransaction(unsentChangeNotifications, this::scheduleNewAttempt);
+      }
 
     } catch (NoEwpCnrAPIException e) {
-      LOG.error(String.format("Discarding change notification due to no CNR API available: %s",
-          changeNotification), e);
-      changeNotification.markAsFailedDueToNoCnrApiAvailable();
-      changeNotificationRepository.persist(changeNotification);
+      LOG.error(String.format("Discarding change notifications due to no CNR API available: %s",
+          unsentChangeNotifications), e);
+      persistInTransaction(unsentChangeNotifications,
+          EwpChangeNotification::markAsFailedDueToNoCnrApiAvailable);
 
     } catch (Exception e) {
-      LOG.error(String.format("Failed to send change notification: %s", changeNotification), e);
-      scheduleNewAttempt(changeNotification);
+      LOG.error(
+          String.format("Failed to send change notifications: %s", unsentChangeNotifications), e);
+      persistInTransaction(unsentChangeNotifications, this::scheduleNewAttempt);
     }
   }
 
-  private void sendChangeNotification(
-      EwpChangeNotification changeNotification)
+  private void sendChangeNotifications(
+      List<EwpChangeNotification> changeNotifications,
+      Consumer<List<? extends EwpChangeNotification>> sentChangeNotificationsConsumer)
       throws EwpClientErrorException, NoEwpCnrAPIException {
 
+    EwpChangeNotification changeNotification = changeNotifications.get(0);
     Optional<EwpChangeNotificationHandler> senderHandlerOptional = this.getSenderHandlerForClassType(
         changeNotification.getClass());
     if (senderHandlerOptional.isPresent()) {
-      senderHandlerOptional.get().sendChangeNotification(changeNotification);
+      senderHandlerOptional.get()
+          .sendChangeNotifications(changeNotifications, sentChangeNotificationsConsumer);
     } else {
       throw new IllegalStateException(
           "Unsupported change notification type: " + changeNotification);
     }
   }
 
+  /**
+   * Updates and persists some change notifications in a single transaction, so the outcome of a
+   * sent request is persisted atomically.
+   */
+  private void persistInTransaction(Collection<? extends EwpChangeNotification> changeNotifications,
+      Consumer<EwpChangeNotification> update) {
+    if (changeNotifications.isEmpty()) {
+      return;
+    }
+
+    transactionTemplate.executeWithoutResult(status -> {
+      for (EwpChangeNotification changeNotification : changeNotifications) {
+        update.accept(changeNotification);
+        changeNotificationRepository.persist(changeNotification);
+      }
+    });
+  }
+
   private void scheduleNewAttempt(EwpChangeNotification changeNotification) {
     if (changeNotification.getAttemptNumber() >= MAX_NUMBER_ATTEMPTS) {
       changeNotification.markAsFailedDueToMaxAttempts();
@@ -91,8 +208,6 @@ public class EwpNotificationSenderDaemon implements Runnable {
     } else {
       changeNotification.scheduleNewAttempt();
     }
-
-    changeNotificationRepository.persist(changeNotification);
   }
 
   private <T extends EwpChangeNotification> Optional<EwpChangeNotificationHandler> getSenderHandlerForClassType(
@@ -1,5 +1,10 @@
 package pt.ulisboa.ewp.node.service.ewp.notification.handler;
 
+import com.google.common.collect.Lists;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
 import org.springframework.stereotype.Service;
 import pt.ulisboa.ewp.node.client.ewp.exception.EwpClientErrorException;
 import pt.ulisboa.ewp.node.client.ewp.registry.RegistryClient;
@@ -17,9 +22,48 @@ public abstract class EwpChangeNotificationHandler {
 
   public abstract Class<?> getSupportedChangeNotificationClassType();
 
-  public abstract void sendChangeNotification(EwpChangeNotification changeNotification)
+  /**
+   * Returns a key that identifies the CNR request a change notification may be sent in. Change
+   * notifications with the same key may be sent together through
+   * {@link #sendChangeNotifications(List, Consumer)}.
+   */
+  public abstract String getBatchKey(EwpChangeNotification changeNotification);
+
+  public void sendChangeNotification(EwpChangeNotification changeNotification)
+      throws EwpClientErrorException, NoEwpCnrAPIException {
+    sendChangeNotifications(Collections.singletonList(changeNotification),
+        sentChangeNotifications -> {
+        });
+  }
+
+  /**
+   * Sends a non-empty list of change notifications sharing the same batch key (see
+   * {@link #getBatchKey(EwpChangeNotification)}), using as few requests as the target HEI
+   * allows. Once each request is sent successfully, its change notifications are passed to the
+   * given consumer. If an exception is thrown then the change notifications not yet passed to the
+   * consumer must be considered as not sent.
+   */
+  public abstract void sendChangeNotifications(List<EwpChangeNotification> changeNotifications,
+      Consumer<List<? extends EwpChangeNotification>> sentChangeNotificationsConsumer)
       throws EwpClientErrorException, NoEwpCnrAPIException;
 
+  protected <T extends EwpChangeNotification> List<T> castChangeNotifications(
+      List<EwpChangeNotification> changeNotifications, Class<T> classType) {
+    List<T> result = new ArrayList<>();
+    for (EwpChangeNotification changeNotification : changeNotifications) {
+      if (!classType.isInstance(changeNotification)) {
+        throw new IllegalArgumentException(
+            "Invalid change notification type: " + changeNotification);
+      }
+      result.add(classType.cast(changeNotification));
+    }
+    return result;
+  }
+
+  protected static <T> List<List<T>> partition(List<T> list, int maxPartitionSize) {
+    return Lists.partition(list, Math.max(1, maxPartitionSize));
+  }
+
   protected RegistryClient getRegistryClient() {
     return registryClient;
   }
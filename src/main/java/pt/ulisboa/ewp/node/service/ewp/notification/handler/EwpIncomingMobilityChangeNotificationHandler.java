@@ -1,12 +1,14 @@
 package pt.ulisboa.ewp.node.service.ewp.notification.handler;
 
-import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import org.springframework.stereotype.Service;
 import pt.ulisboa.ewp.node.api.ewp.utils.EwpApiUtils;
 import pt.ulisboa.ewp.node.client.ewp.exception.EwpClientErrorException;
 import pt.ulisboa.ewp.node.client.ewp.imobilities.cnr.EwpIncomingMobilityCnrV1Client;
 import pt.ulisboa.ewp.node.client.ewp.registry.RegistryClient;
+import pt.ulisboa.ewp.node.config.notification.EwpNotificationSenderProperties;
 import pt.ulisboa.ewp.node.domain.entity.notification.EwpChangeNotification;
 import pt.ulisboa.ewp.node.domain.entity.notification.EwpIncomingMobilityChangeNotification;
 import pt.ulisboa.ewp.node.service.ewp.notification.exception.NoEwpCnrAPIException;
@@ -17,12 +19,15 @@ public class EwpIncomingMobilityChangeNotificationHandler extends
     EwpChangeNotificationHandler {
 
   private final EwpIncomingMobilityCnrV1Client incomingMobilityCnrV1Client;
+  private final EwpNotificationSenderProperties notificationSenderProperties;
 
   public EwpIncomingMobilityChangeNotificationHandler(
       RegistryClient registryClient,
-      EwpIncomingMobilityCnrV1Client incomingMobilityCnrV1Client) {
+      EwpIncomingMobilityCnrV1Client incomingMobilityCnrV1Client,
+      EwpNotificationSenderProperties notificationSenderProperties) {
     super(registryClient);
     this.incomingMobilityCnrV1Client = incomingMobilityCnrV1Client;
+    this.notificationSenderProperties = notificationSenderProperties;
   }
 
   @Override
@@ -31,34 +36,49 @@ public class EwpIncomingMobilityChangeNotificationHandler extends
   }
 
   @Override
-  public void sendChangeNotification(
-      EwpChangeNotification changeNotification)
-      throws EwpClientErrorException, NoEwpCnrAPIException {
+  public String getBatchKey(EwpChangeNotification changeNotification) {
+    EwpIncomingMobilityChangeNotification incomingMobilityChangeNotification = (EwpIncomingMobilityChangeNotification) changeNotification;
+    return incomingMobilityChangeNotification.getSendingHeiId() + "|"
+        + incomingMobilityChangeNotification.getReceivingHeiId();
+  }
 
-    if (!(changeNotification instanceof EwpIncomingMobilityChangeNotification)) {
-      throw new IllegalArgumentException("Invalid change notification type: " + changeNotification);
-    }
+  @Override
+  public void sendChangeNotifications(
+      List<EwpChangeNotification> changeNotifications,
+      Consumer<List<? extends EwpChangeNotification>> sentChangeNotificationsConsumer)
+      throws EwpClientErrorException, NoEwpCnrAPIException {
 
-    EwpIncomingMobilityChangeNotification incomingMobilityChangeNotification = (EwpIncomingMobilityChangeNotification) changeNotification;
+    List<EwpIncomingMobilityChangeNotification> incomingMobilityChangeNotifications = castChangeNotifications(
+        changeNotifications, EwpIncomingMobilityChangeNotification.class);
 
-    String targetHeiId = incomingMobilityChangeNotification.getSendingHeiId();
+    String targetHeiId = incomingMobilityChangeNotifications.get(0).getSendingHeiId();
     List<Integer> supportedMajorVersions = EwpApiUtils.getSupportedMajorVersions(
         getRegistryClient(), targetHeiId, EwpApi.INCOMING_MOBILITY_CNR);
 
     if (supportedMajorVersions.contains(1)) {
-      sendChangeNotificationVersion1(incomingMobilityChangeNotification);
+      sendChangeNotificationsVersion1(incomingMobilityChangeNotifications,
+          sentChangeNotificationsConsumer);
     } else {
-      throw new NoEwpCnrAPIException(changeNotification);
+      throw new NoEwpCnrAPIException(changeNotifications.get(0));
     }
   }
 
-  private void sendChangeNotificationVersion1(
-      EwpIncomingMobilityChangeNotification changeNotification)
+  private void sendChangeNotificationsVersion1(
+      List<EwpIncomingMobilityChangeNotification> changeNotifications,
+      Consumer<List<? extends EwpChangeNotification>> sentChangeNotificationsConsumer)
       throws EwpClientErrorException {
 
-    incomingMobilityCnrV1Client.sendChangeNotification(
-        changeNotification.getSendingHeiId(),
-        changeNotification.getReceivingHeiId(),
-        Collections.singletonList(changeNotification.getOutgoingMobilityId()));
+    EwpIncomingMobilityChangeNotification changeNotification = changeNotifications.get(0);
+    for (List<EwpIncomingMobilityChangeNotification> changeNotificationsPartition : partition(
+        changeNotifications,
+        notificationSenderProperties.getDefaultMaxChangeNotificationsPerRequest())) {
+      incomingMobilityCnrV1Client.sendChangeNotification(
+          changeNotification.getSendingHeiId(),
+          changeNotification.getReceivingHeiId(),
+          changeNotificationsPartition.stream()
+              .map(EwpIncomingMobilityChangeNotification::getOutgoingMobilityId)
+              .collect(Collectors.toList()));
+      sentChangeNotificationsConsumer.accept(changeNotificationsPartition);
+    }
   }
 }
@@ -1,12 +1,14 @@
 package pt.ulisboa.ewp.node.service.ewp.notification.handler;
 
-import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import org.springframework.stereotype.Service;
 import pt.ulisboa.ewp.node.api.ewp.utils.EwpApiUtils;
 import pt.ulisboa.ewp.node.client.ewp.exception.EwpClientErrorException;
 import pt.ulisboa.ewp.node.client.ewp.imobilities.tors.cnr.EwpIncomingMobilityToRCnrV1Client;
 import pt.ulisboa.ewp.node.client.ewp.registry.RegistryClient;
+import pt.ulisboa.ewp.node.config.notification.EwpNotificationSenderProperties;
 import pt.ulisboa.ewp.node.domain.entity.notification.EwpChangeNotification;
 import pt.ulisboa.ewp.node.domain.entity.notification.EwpIncomingMobilityToRChangeNotification;
 import pt.ulisboa.ewp.node.service.ewp.notification.exception.NoEwpCnrAPIException;
@@ -17,12 +19,15 @@ public class EwpIncomingMobilityToRChangeNotificationHandler extends
     EwpChangeNotificationHandler {
 
   private final EwpIncomingMobilityToRCnrV1Client incomingMobilityToRCnrV1Client;
+  private final EwpNotificationSenderProperties notificationSenderProperties;
 
   public EwpIncomingMobilityToRChangeNotificationHandler(
       RegistryClient registryClient,
-      EwpIncomingMobilityToRCnrV1Client incomingMobilityToRCnrV1Client) {
+      EwpIncomingMobilityToRCnrV1Client incomingMobilityToRCnrV1Client,
+      EwpNotificationSenderProperties notificationSenderProperties) {
     super(registryClient);
     this.incomingMobilityToRCnrV1Client = incomingMobilityToRCnrV1Client;
+    this.notificationSenderProperties = notificationSenderProperties;
   }
 
   @Override
@@ -31,34 +36,49 @@ public class EwpIncomingMobilityToRChangeNotificationHandler extends
   }
 
   @Override
-  public void sendChangeNotification(
-      EwpChangeNotification changeNotification)
-      throws EwpClientErrorException, NoEwpCnrAPIException {
+  public String getBatchKey(EwpChangeNotification changeNotification) {
+    EwpIncomingMobilityToRChangeNotification incomingMobilityToRChangeNotification = (EwpIncomingMobilityToRChangeNotification) changeNotification;
+    return incomingMobilityToRChangeNotification.getSendingHeiId() + "|"
+        + incomingMobilityToRChangeNotification.getReceivingHeiId();
+  }
 
-    if (!(changeNotification instanceof EwpIncomingMobilityToRChangeNotification)) {
-      throw new IllegalArgumentException("Invalid change notification type: " + changeNotification);
-    }
+  @Override
+  public void sendChangeNotifications(
+      List<EwpChangeNotification> changeNotifications,
+      Consumer<List<? extends EwpChangeNotification>> sentChangeNotificationsConsumer)
+      throws EwpClientErrorException, NoEwpCnrAPIException {
 
-    EwpIncomingMobilityToRChangeNotification incomingMobilityToRChangeNotification = (EwpIncomingMobilityToRChangeNotification) changeNotification;
+    List<EwpIncomingMobilityToRChangeNotification> incomingMobilityToRChangeNotifications = castChangeNotifications(
+        changeNotifications, EwpIncomingMobilityToRChangeNotification.class);
 
-    String targetHeiId = incomingMobilityToRChangeNotification.getSendingHeiId();
+    String targetHeiId = incomingMobilityToRChangeNotifications.get(0).getSendingHeiId();
     List<Integer> supportedMajorVersions = EwpApiUtils.getSupportedMajorVersions(
         getRegistryClient(), targetHeiId, EwpApi.INCOMING_MOBILITY_TOR_CNR);
 
     if (supportedMajorVersions.contains(1)) {
-      sendChangeNotificationVersion1(incomingMobilityToRChangeNotification);
+      sendChangeNotificationsVersion1(incomingMobilityToRChangeNotifications,
+          sentChangeNotificationsConsumer);
     } else {
-      throw new NoEwpCnrAPIException(changeNotification);
+      throw new NoEwpCnrAPIException(changeNotifications.get(0));
     }
   }
 
-  private void sendChangeNotificationVersion1(
-      EwpIncomingMobilityToRChangeNotification changeNotification)
+  private void sendChangeNotificationsVersion1(
+      List<EwpIncomingMobilityToRChangeNotification> changeNotifications,
+      Consumer<List<? extends EwpChangeNotification>> sentChangeNotificationsConsumer)
       throws EwpClientErrorException {
 
-    incomingMobilityToRCnrV1Client.sendChangeNotification(
-        changeNotification.getSendingHeiId(),
-        changeNotification.getReceivingHeiId(),
-        Collections.singletonList(changeNotification.getOutgoingMobilityId()));
+    EwpIncomingMobilityToRChangeNotification changeNotification = changeNotifications.get(0);
+    for (List<EwpIncomingMobilityToRChangeNotification> changeNotificationsPartition : partition(
+        changeNotifications,
+        notificationSenderProperties.getDefaultMaxChangeNotificationsPerRequest())) {
+      incomingMobilityToRCnrV1Client.sendChangeNotification(
+          changeNotification.getSendingHeiId(),
+          changeNotification.getReceivingHeiId(),
+          changeNotificationsPartition.stream()
+              .map(EwpIncomingMobilityToRChangeNotification::getOutgoingMobilityId)
+              .collect(Collectors.toList()));
+      sentChangeNotificationsConsumer.accept(changeNotificationsPartition);
+    }
   }
 }
@@ -1,6 +1,8 @@
 package pt.ulisboa.ewp.node.service.ewp.notification.handler;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 import org.springframework.stereotype.Service;
 import pt.ulisboa.ewp.node.api.ewp.utils.EwpApiUtils;
 import pt.ulisboa.ewp.node.client.ewp.exception.EwpClientErrorException;
@@ -29,25 +31,37 @@ public class EwpInterInstitutionalAgreementApprovalChangeNotificationHandler ext
     return EwpInterInstitutionalAgreementApprovalChangeNotification.class;
   }
 
+  /**
+   * The IIA Approval CNR API accepts a single IIA per request, so each change notification is sent
+   * on its own.
+   */
   @Override
-  public void sendChangeNotification(
-      EwpChangeNotification changeNotification)
-      throws EwpClientErrorException, NoEwpCnrAPIException {
+  public String getBatchKey(EwpChangeNotification changeNotification) {
+    return String.valueOf(changeNotification.getId());
+  }
 
-    if (!(changeNotification instanceof EwpInterInstitutionalAgreementApprovalChangeNotification)) {
-      throw new IllegalArgumentException("Invalid change notification type: " + changeNotification);
-    }
+  @Override
+  public void sendChangeNotifications(
+      List<EwpChangeNotification> changeNotifications,
+      Consumer<List<? extends EwpChangeNotification>> sentChangeNotificationsConsumer)
+      throws EwpClientErrorException, NoEwpCnrAPIException {
 
-    EwpInterInstitutionalAgreementApprovalChangeNotification interInstitutionalAgreementApprovalChangeNotification = (EwpInterInstitutionalAgreementApprovalChangeNotification) changeNotification;
+    List<EwpInterInstitutionalAgreementApprovalChangeNotification> interInstitutionalAgreementApprovalChangeNotifications = castChangeNotifications(
+        changeNotifications, EwpInterInstitutionalAgreementApprovalChangeNotification.class);
 
-    String targetHeiId = interInstitutionalAgreementApprovalChangeNotification.getPartnerHeiId();
+    String targetHeiId = interInstitutionalAgreementApprovalChangeNotifications.get(0)
+        .getPartnerHeiId();
     List<Integer> supportedMajorVersions = EwpApiUtils.getSupportedMajorVersions(
         getRegistryClient(), targetHeiId, EwpApi.INTERINSTITUTIONAL_AGREEMENTS_APPROVAL_CNR);
 
     if (supportedMajorVersions.contains(1)) {
-      sendChangeNotificationVersion1(interInstitutionalAgreementApprovalChangeNotification);
+      for (EwpInterInstitutionalAgreementApprovalChangeNotification changeNotification :
+          interInstitutionalAgreementApprovalChangeNotifications) {
+        sendChangeNotificationVersion1(changeNotification);
+        sentChangeNotificationsConsumer.accept(Collections.singletonList(changeNotification));
+      }
     } else {
-      throw new NoEwpCnrAPIException(changeNotification);
+      throw new NoEwpCnrAPIException(changeNotifications.get(0));
     }
   }
 
@@ -1,12 +1,14 @@
 package pt.ulisboa.ewp.node.service.ewp.notification.handler;
 
-import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import org.springframework.stereotype.Service;
 import pt.ulisboa.ewp.node.api.ewp.utils.EwpApiUtils;
 import pt.ulisboa.ewp.node.client.ewp.exception.EwpClientErrorException;
 import pt.ulisboa.ewp.node.client.ewp.iias.cnr.EwpInterInstitutionalAgreementCnrV2Client;
 import pt.ulisboa.ewp.node.client.ewp.registry.RegistryClient;
+import pt.ulisboa.ewp.node.config.notification.EwpNotificationSenderProperties;
 import pt.ulisboa.ewp.node.domain.entity.notification.EwpChangeNotification;
 import pt.ulisboa.ewp.node.domain.entity.notification.EwpInterInstitutionalAgreementChangeNotification;
 import pt.ulisboa.ewp.node.service.ewp.notification.exception.NoEwpCnrAPIException;
@@ -17,12 +19,15 @@ public class EwpInterInstitutionalAgreementChangeNotificationHandler extends
     EwpChangeNotificationHandler {
 
   private final EwpInterInstitutionalAgreementCnrV2Client interInstitutionalAgreementCnrV2Client;
+  private final EwpNotificationSenderProperties notificationSenderProperties;
 
   public EwpInterInstitutionalAgreementChangeNotificationHandler(
       RegistryClient registryClient,
-      EwpInterInstitutionalAgreementCnrV2Client interInstitutionalAgreementCnrV2Client) {
+      EwpInterInstitutionalAgreementCnrV2Client interInstitutionalAgreementCnrV2Client,
+      EwpNotificationSenderProperties notificationSenderProperties) {
     super(registryClient);
     this.interInstitutionalAgreementCnrV2Client = interInstitutionalAgreementCnrV2Client;
+    this.notificationSenderProperties = notificationSenderProperties;
   }
 
   @Override
@@ -31,34 +36,49 @@ public class EwpInterInstitutionalAgreementChangeNotificationHandler extends
   }
 
   @Override
-  public void sendChangeNotification(
-      EwpChangeNotification changeNotification)
-      throws EwpClientErrorException, NoEwpCnrAPIException {
+  public String getBatchKey(EwpChangeNotification changeNotification) {
+    EwpInterInstitutionalAgreementChangeNotification interInstitutionalAgreementChangeNotification = (EwpInterInstitutionalAgreementChangeNotification) changeNotification;
+    return interInstitutionalAgreementChangeNotification.getNotifierHeiId() + "|"
+        + interInstitutionalAgreementChangeNotification.getPartnerHeiId();
+  }
 
-    if (!(changeNotification instanceof EwpInterInstitutionalAgreementChangeNotification)) {
-      throw new IllegalArgumentException("Invalid change notification type: " + changeNotification);
-    }
+  @Override
+  public void sendChangeNotifications(
+      List<EwpChangeNotification> changeNotifications,
+      Consumer<List<? extends EwpChangeNotification>> sentChangeNotificationsConsumer)
+      throws EwpClientErrorException, NoEwpCnrAPIException {
 
-    EwpInterInstitutionalAgreementChangeNotification interInstitutionalAgreementChangeNotification = (EwpInterInstitutionalAgreementChangeNotification) changeNotification;
+    List<EwpInterInstitutionalAgreementChangeNotification> interInstitutionalAgreementChangeNotifications = castChangeNotifications(
+        changeNotifications, EwpInterInstitutionalAgreementChangeNotification.class);
 
-    String targetHeiId = interInstitutionalAgreementChangeNotification.getPartnerHeiId();
+    String targetHeiId = interInstitutionalAgreementChangeNotifications.get(0).getPartnerHeiId();
     List<Integer> supportedMajorVersions = EwpApiUtils.getSupportedMajorVersions(
         getRegistryClient(), targetHeiId, EwpApi.INTERINSTITUTIONAL_AGREEMENT_CNR);
 
     if (supportedMajorVersions.contains(2)) {
-      sendChangeNotificationVersion2(interInstitutionalAgreementChangeNotification);
+      sendChangeNotificationsVersion2(interInstitutionalAgreementChangeNotifications,
+          sentChangeNotificationsConsumer);
     } else {
-      throw new NoEwpCnrAPIException(changeNotification);
+      throw new NoEwpCnrAPIException(changeNotifications.get(0));
     }
   }
 
-  private void sendChangeNotificationVersion2(
-      EwpInterInstitutionalAgreementChangeNotification changeNotification)
+  private void sendChangeNotificationsVersion2(
+      List<EwpInterInstitutionalAgreementChangeNotification> changeNotifications,
+      Consumer<List<? extends EwpChangeNotification>> sentChangeNotificationsConsumer)
       throws EwpClientErrorException {
 
-    interInstitutionalAgreementCnrV2Client.sendChangeNotification(
-        changeNotification.getNotifierHeiId(),
-        changeNotification.getPartnerHeiId(),
-        Collections.singletonList(changeNotification.getIiaId()));
+    EwpInterInstitutionalAgreementChangeNotification changeNotification = changeNotifications.get(0);
+    for (List<EwpInterInstitutionalAgreementChangeNotification> changeNotificationsPartition : partition(
+        changeNotifications,
+        notificationSenderProperties.getDefaultMaxChangeNotificationsPerRequest())) {
+      interInstitutionalAgreementCnrV2Client.sendChangeNotification(
+          changeNotification.getNotifierHeiId(),
+          changeNotification.getPartnerHeiId(),
+          changeNotificationsPartition.stream()
+              .map(EwpInterInstitutionalAgreementChangeNotification::getIiaId)
+              .collect(Collectors.toList()));
+      sentChangeNotificationsConsumer.accept(changeNotificationsPartition);
+    }
   }
 }
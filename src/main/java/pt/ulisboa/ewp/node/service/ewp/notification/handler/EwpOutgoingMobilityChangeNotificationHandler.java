@@ -1,7 +1,8 @@
 package pt.ulisboa.ewp.node.service.ewp.notification.handler;
 
-import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import org.springframework.stereotype.Service;
 import pt.ulisboa.ewp.node.api.ewp.utils.EwpApiUtils;
 import pt.ulisboa.ewp.node.client.ewp.exception.EwpClientErrorException;
@@ -31,34 +32,50 @@ public class EwpOutgoingMobilityChangeNotificationHandler extends
   }
 
   @Override
-  public void sendChangeNotification(
-      EwpChangeNotification changeNotification)
-      throws EwpClientErrorException, NoEwpCnrAPIException {
+  public String getBatchKey(EwpChangeNotification changeNotification) {
+    EwpOutgoingMobilityChangeNotification outgoingMobilityChangeNotification = (EwpOutgoingMobilityChangeNotification) changeNotification;
+    return outgoingMobilityChangeNotification.getSendingHeiId() + "|"
+        + outgoingMobilityChangeNotification.getReceivingHeiId();
+  }
 
-    if (!(changeNotification instanceof EwpOutgoingMobilityChangeNotification)) {
-      throw new IllegalArgumentException("Invalid change notification type: " + changeNotification);
-    }
+  @Override
+  public void sendChangeNotifications(
+      List<EwpChangeNotification> changeNotifications,
+      Consumer<List<? extends EwpChangeNotification>> sentChangeNotificationsConsumer)
+      throws EwpClientErrorException, NoEwpCnrAPIException {
 
-    EwpOutgoingMobilityChangeNotification outgoingMobilityChangeNotification = (EwpOutgoingMobilityChangeNotification) changeNotification;
+    List<EwpOutgoingMobilityChangeNotification> outgoingMobilityChangeNotifications = castChangeNotifications(
+        changeNotifications, EwpOutgoingMobilityChangeNotification.class);
 
-    String targetHeiId = outgoingMobilityChangeNotification.getReceivingHeiId();
+    String targetHeiId = outgoingMobilityChangeNotifications.get(0).getReceivingHeiId();
     List<Integer> supportedMajorVersions = EwpApiUtils.getSupportedMajorVersions(
         getRegistryClient(), targetHeiId, EwpApi.OUTGOING_MOBILITY_CNR);
 
     if (supportedMajorVersions.contains(1)) {
-      sendChangeNotificationVersion1(outgoingMobilityChangeNotification);
+      sendChangeNotificationsVersion1(targetHeiId, outgoingMobilityChangeNotifications,
+          sentChangeNotificationsConsumer);
     } else {
-      throw new NoEwpCnrAPIException(changeNotification);
+      throw new NoEwpCnrAPIException(changeNotifications.get(0));
     }
   }
 
-  private void sendChangeNotificationVersion1(
-      EwpOutgoingMobilityChangeNotification changeNotification)
+  private void sendChangeNotificationsVersion1(String targetHeiId,
+      List<EwpOutgoingMobilityChangeNotification> changeNotifications,
+      Consumer<List<? extends EwpChangeNotification>> sentChangeNotificationsConsumer)
       throws EwpClientErrorException {
 
-    outgoingMobilityCnrV1Client.sendChangeNotification(
-        changeNotification.getSendingHeiId(),
-        changeNotification.getReceivingHeiId(),
-        Collections.singletonList(changeNotification.getOutgoingMobilityId()));
+    EwpOutgoingMobilityChangeNotification changeNotification = changeNotifications.get(0);
+    int maxChangeNotificationsPerRequest = outgoingMobilityCnrV1Client.getApiSpecification(
+        targetHeiId).getMaxOmobilityIds();
+    for (List<EwpOutgoingMobilityChangeNotification> changeNotificationsPartition : partition(
+        changeNotifications, maxChangeNotificationsPerRequest)) {
+      outgoingMobilityCnrV1Client.sendChangeNotification(
+          changeNotification.getSendingHeiId(),
+          changeNotification.getReceivingHeiId(),
+          changeNotificationsPartition.stream()
+              .map(EwpOutgoingMobilityChangeNotification::getOutgoingMobilityId)
+              .collect(Collectors.toList()));
+      sentChangeNotificationsConsumer.accept(changeNotificationsPartition);
+    }
   }
 }
@@ -1,7 +1,8 @@
 package pt.ulisboa.ewp.node.service.ewp.notification.handler;
 
-import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import org.springframework.stereotype.Service;
 import pt.ulisboa.ewp.node.api.ewp.utils.EwpApiUtils;
 import pt.ulisboa.ewp.node.client.ewp.exception.EwpClientErrorException;
@@ -31,35 +32,50 @@ public class EwpOutgoingMobilityLearningAgreementChangeNotificationHandler exten
   }
 
   @Override
-  public void sendChangeNotification(
-      EwpChangeNotification changeNotification)
-      throws EwpClientErrorException, NoEwpCnrAPIException {
+  public String getBatchKey(EwpChangeNotification changeNotification) {
+    EwpOutgoingMobilityLearningAgreementChangeNotification outgoingMobilityLearningAgreementChangeNotification = (EwpOutgoingMobilityLearningAgreementChangeNotification) changeNotification;
+    return outgoingMobilityLearningAgreementChangeNotification.getSendingHeiId() + "|"
+        + outgoingMobilityLearningAgreementChangeNotification.getReceivingHeiId();
+  }
 
-    if (!(changeNotification instanceof EwpOutgoingMobilityLearningAgreementChangeNotification)) {
-      throw new IllegalArgumentException("Invalid change notification type: " + changeNotification);
-    }
+  @Override
+  public void sendChangeNotifications(
+      List<EwpChangeNotification> changeNotifications,
+      Consumer<List<? extends EwpChangeNotification>> sentChangeNotificationsConsumer)
+      throws EwpClientErrorException, NoEwpCnrAPIException {
 
-    EwpOutgoingMobilityLearningAgreementChangeNotification outgoingMobilityLearningAgreementChangeNotification = (EwpOutgoingMobilityLearningAgreementChangeNotification) changeNotification;
+    List<EwpOutgoingMobilityLearningAgreementChangeNotification> outgoingMobilityLearningAgreementChangeNotifications = castChangeNotifications(
+        changeNotifications, EwpOutgoingMobilityLearningAgreementChangeNotification.class);
 
-    String targetHeiId = outgoingMobilityLearningAgreementChangeNotification.getReceivingHeiId();
+    String targetHeiId = outgoingMobilityLearningAgreementChangeNotifications.get(0).getReceivingHeiId();
     List<Integer> supportedMajorVersions = EwpApiUtils.getSupportedMajorVersions(
         getRegistryClient(), targetHeiId, EwpApi.OUTGOING_MOBILITY_LEARNING_AGREEMENT_CNR);
 
     if (supportedMajorVersions.contains(1)) {
-      sendChangeNotificationVersion1(outgoingMobilityLearningAgreementChangeNotification);
+      sendChangeNotificationsVersion1(targetHeiId, outgoingMobilityLearningAgreementChangeNotifications,
+          sentChangeNotificationsConsumer);
     } else {
-      throw new NoEwpCnrAPIException(changeNotification);
+      throw new NoEwpCnrAPIException(changeNotifications.get(0));
     }
   }
 
-  private void sendChangeNotificationVersion1(
-      EwpOutgoingMobilityLearningAgreementChangeNotification changeNotification)
+  private void sendChangeNotificationsVersion1(String targetHeiId,
+      List<EwpOutgoingMobilityLearningAgreementChangeNotification> changeNotifications,
+      Consumer<List<? extends EwpChangeNotification>> sentChangeNotificationsConsumer)
       throws EwpClientErrorException {
 
-    outgoingMobilityLearningAgreementCnrV1Client.sendChangeNotification(
-        changeNotification.getSendingHeiId(),
-        changeNotification.getReceivingHeiId(),
-        Collections.singletonList(
-            changeNotification.getOutgoingMobilityId()));
+    EwpOutgoingMobilityLearningAgreementChangeNotification changeNotification = changeNotifications.get(0);
+    int maxChangeNotificationsPerRequest = outgoingMobilityLearningAgreementCnrV1Client.getApiSpecification(
+        targetHeiId).getMaxOmobilityIds();
+    for (List<EwpOutgoingMobilityLearningAgreementChangeNotification> changeNotificationsPartition : partition(
+        changeNotifications, maxChangeNotificationsPerRequest)) {
+      outgoingMobilityLearningAgreementCnrV1Client.sendChangeNotification(
+          changeNotification.getSendingHeiId(),
+          changeNotification.getReceivingHeiId(),
+          changeNotificationsPartition.stream()
+              .map(EwpOutgoingMobilityLearningAgreementChangeNotification::getOutgoingMobilityId)
+              .collect(Collectors.toList()));
+      sentChangeNotificationsConsumer.accept(changeNotificationsPartition);
+    }
   }
 }
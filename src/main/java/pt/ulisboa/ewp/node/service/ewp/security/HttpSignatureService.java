@@ -1,12 +1,10 @@
 package pt.ulisboa.ewp.node.service.ewp.security;
 
 import java.io.IOException;
-import java.security.Key;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
 import javax.servlet.http.HttpServletRequest;
@@ -20,10 +18,9 @@ import org.tomitribe.auth.signatures.Base64;
 import org.tomitribe.auth.signatures.Signature;
 import org.tomitribe.auth.signatures.Signer;
 import pt.ulisboa.ewp.node.service.keystore.KeyStoreService;
-import pt.ulisboa.ewp.node.utils.DateUtils;
 import pt.ulisboa.ewp.node.utils.http.HttpConstants;
+import pt.ulisboa.ewp.node.utils.http.HttpDateUtils;
 import pt.ulisboa.ewp.node.utils.http.HttpUtils;
-import pt.ulisboa.ewp.node.utils.keystore.DecodedCertificateAndKey;
 
 /**
  * Provides methods respecting
@@ -32,8 +29,6 @@ import pt.ulisboa.ewp.node.utils.keystore.DecodedCertificateAndKey;
 @Service
 public class HttpSignatureService {
 
-  private static final String DATETIME_WITH_TIMEZONE_FORMAT = "EEE, dd MMM yyyy HH:mm:ss zzz";
-
   private static final String SHA_256 = "SHA-256";
 
   public static final String HEADER_REQUEST_TARGET = "(request-target)";
@@ -65,7 +60,7 @@ public class HttpSignatureService {
         requestSignature = Signature.fromString(requestAuthorization);
       }
 
-      String stringToday = DateUtils.toStringAsGMT(new Date(), DATETIME_WITH_TIMEZONE_FORMAT);
+      String stringToday = HttpDateUtils.formatCurrentDate();
 
       byte[] digest = MessageDigest.getInstance(SHA_256).digest(bodyBytes);
       String digestHeader = SHA_256 + "=" + new String(Base64.encodeBase64(digest));
@@ -93,17 +88,7 @@ public class HttpSignatureService {
       List<String> headerNames = new ArrayList<>(new HashSet<>(response.getHeaderNames()));
       headerNames.remove(HttpHeaders.VARY);
 
-      DecodedCertificateAndKey decodedCertificateAndKey =
-          keyStoreService.getDecodedCertificateAndKeyFromStorage();
-      Signature signature =
-          new Signature(
-              decodedCertificateAndKey.getPublicKeyFingerprint(),
-              Algorithm.RSA_SHA256,
-              null,
-              headerNames);
-      Key key = decodedCertificateAndKey.getPrivateKey();
-
-      Signer signer = new Signer(key, signature);
+      Signer signer = keyStoreService.getSigner(headerNames);
       Signature signed = signer.sign("", "", HttpUtils.toHeadersMap(response));
 
       response.addHeader(
@@ -0,0 +1,49 @@
+package pt.ulisboa.ewp.node.service.ewp.security.replay;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.dao.DataIntegrityViolationException;
+import pt.ulisboa.ewp.node.domain.repository.security.EwpReceivedRequestIdRepository;
+
+/**
+ * Keeps the request IDs in the database, so they are shared by all node instances using the same
+ * database. Expired request IDs are periodically deleted while registering request IDs.
+ */
+public class DatabaseEwpRequestIdStore implements EwpRequestIdStore {
+
+  private final EwpReceivedRequestIdRepository repository;
+
+  private final long purgeIntervalInMilliseconds;
+
+  private final AtomicLong nextPurgeTimeInMilliseconds = new AtomicLong();
+
+  public DatabaseEwpRequestIdStore(EwpReceivedRequestIdRepository repository,
+      Duration purgeInterval) {
+    this.repository = repository;
+    this.purgeIntervalInMilliseconds = purgeInterval.toMillis();
+  }
+
+  @Override
+  public boolean registerIfAbsent(UUID requestId, ZonedDateTime expirationDateTime) {
+    purgeExpiredRequestIdsIfDue();
+
+    try {
+      return repository.registerIfAbsent(requestId.toString(), expirationDateTime);
+
+    } catch (DataIntegrityViolationException e) {
+      // NOTE: the same request ID was concurrently registered (e.g. by another node instance)
+      return false;
+    }
+  }
+
+  private void purgeExpiredRequestIdsIfDue() {
+    long now = System.currentTimeMillis();
+    long nextPurgeTime = nextPurgeTimeInMilliseconds.get();
+    if (now >= nextPurgeTime && nextPurgeTimeInMilliseconds.compareAndSet(nextPurgeTime,
+        now + purgeIntervalInMilliseconds)) {
+      repository.deleteAllExpiredUntil(ZonedDateTime.now());
+    }
+  }
+}
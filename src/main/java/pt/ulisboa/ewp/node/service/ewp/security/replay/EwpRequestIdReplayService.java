@@ -0,0 +1,69 @@
+package pt.ulisboa.ewp.node.service.ewp.security.replay;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import pt.ulisboa.ewp.node.config.security.SecurityProperties;
+import pt.ulisboa.ewp.node.config.security.SecurityReplayProtectionProperties;
+import pt.ulisboa.ewp.node.domain.repository.security.EwpReceivedRequestIdRepository;
+import pt.ulisboa.ewp.node.service.ewp.security.HttpSignatureService;
+
+/**
+ * Detects replayed requests by their X-Request-ID.
+ *
+ * <p>A request is only accepted if its date is within {@link
+ * HttpSignatureService#DATE_THRESHOLD_IN_MILLISECONDS} of the current time, so a request ID only
+ * needs to be kept for twice that time (the request date may be ahead of the current time).
+ */
+@Service
+public class EwpRequestIdReplayService {
+
+  public static final Duration REQUEST_ID_RETENTION = Duration.ofMillis(
+      2L * HttpSignatureService.DATE_THRESHOLD_IN_MILLISECONDS);
+
+  private final EwpRequestIdStore store;
+
+  @Autowired
+  public EwpRequestIdReplayService(SecurityProperties securityProperties,
+      EwpReceivedRequestIdRepository receivedRequestIdRepository) {
+    this(createStore(securityProperties.getReplayProtection(), receivedRequestIdRepository));
+  }
+
+  public EwpRequestIdReplayService(EwpRequestIdStore store) {
+    this.store = store;
+  }
+
+  /**
+   * Registers the request ID of a received request.
+   *
+   * @return true if the request ID was not yet received; false if the request is a replay
+   */
+  public boolean registerRequestId(String requestId) {
+    if (store == null) {
+      return true;
+    }
+
+    ZonedDateTime expirationDateTime = ZonedDateTime.now().plus(REQUEST_ID_RETENTION);
+    return store.registerIfAbsent(UUID.fromString(requestId), expirationDateTime);
+  }
+
+  private static EwpRequestIdStore createStore(SecurityReplayProtectionProperties properties,
+      EwpReceivedRequestIdRepository receivedRequestIdRepository) {
+    switch (properties.getStore()) {
+      case NONE:
+        return null;
+
+      case MEMORY:
+        return new InMemoryEwpRequestIdStore(properties.getMaxNumberRequestIdsInMemory(),
+            REQUEST_ID_RETENTION);
+
+      case DATABASE:
+        return new DatabaseEwpRequestIdStore(receivedRequestIdRepository, REQUEST_ID_RETENTION);
+
+      default:
+        throw new IllegalStateException("Unknown replay protection store: " + properties.getStore());
+    }
+  }
+}
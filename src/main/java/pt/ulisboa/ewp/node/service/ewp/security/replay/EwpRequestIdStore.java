@@ -0,0 +1,19 @@
+package pt.ulisboa.ewp.node.service.ewp.security.replay;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * Keeps the X-Request-ID of the requests already received, until they expire.
+ */
+public interface EwpRequestIdStore {
+
+  /**
+   * Registers a request ID until a given expiration date time, unless it is already registered
+   * and not yet expired.
+   *
+   * @return true if the request ID was registered; false if it was already registered (that is,
+   * the request is a replay)
+   */
+  boolean registerIfAbsent(UUID requestId, ZonedDateTime expirationDateTime);
+}
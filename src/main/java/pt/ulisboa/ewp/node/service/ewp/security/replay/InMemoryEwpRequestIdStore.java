@@ -0,0 +1,30 @@
+package pt.ulisboa.ewp.node.service.ewp.security.replay;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * Keeps the request IDs in a bounded local cache. Request IDs are kept as {@link UUID}s (two
+ * longs) instead of strings, reducing the memory used per request ID. When the maximum number of
+ * request IDs is reached, the oldest ones are evicted first.
+ */
+public class InMemoryEwpRequestIdStore implements EwpRequestIdStore {
+
+  private final Cache<UUID, ZonedDateTime> requestIdToExpirationDateTimeCache;
+
+  public InMemoryEwpRequestIdStore(int maxNumberRequestIds, Duration retention) {
+    this.requestIdToExpirationDateTimeCache = CacheBuilder.newBuilder()
+        .maximumSize(maxNumberRequestIds)
+        .expireAfterWrite(retention)
+        .build();
+  }
+
+  @Override
+  public boolean registerIfAbsent(UUID requestId, ZonedDateTime expirationDateTime) {
+    return requestIdToExpirationDateTimeCache.asMap().putIfAbsent(requestId, expirationDateTime)
+        == null;
+  }
+}
@@ -7,7 +7,6 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Date;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,8 +17,8 @@ import org.tomitribe.auth.signatures.Base64;
 import pt.ulisboa.ewp.node.client.ewp.operation.request.EwpRequest;
 import pt.ulisboa.ewp.node.domain.entity.api.ewp.auth.EwpAuthenticationMethod;
 import pt.ulisboa.ewp.node.service.keystore.KeyStoreService;
-import pt.ulisboa.ewp.node.utils.DateUtils;
 import pt.ulisboa.ewp.node.utils.http.HttpConstants;
+import pt.ulisboa.ewp.node.utils.http.HttpDateUtils;
 import pt.ulisboa.ewp.node.utils.http.HttpSignatureUtils;
 
 @Service
@@ -54,7 +53,7 @@ public class HttpSignatureRequestAuthenticationMethodSigner
 
       headers.set(
           HttpConstants.HEADER_ORIGINAL_DATE,
-          DateUtils.toStringAsGMT(new Date(), HttpSignatureUtils.DATETIME_WITH_TIMEZONE_FORMAT));
+          HttpDateUtils.formatCurrentDate());
 
       String formData = request.getBody().serialize();
       byte[] bodyBytes = formData.getBytes();
@@ -1,12 +1,9 @@
 package pt.ulisboa.ewp.node.service.ewp.security.signer.response;
 
 import java.io.IOException;
-import java.security.Key;
-import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
 import javax.servlet.http.HttpServletRequest;
@@ -18,15 +15,14 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.util.ContentCachingResponseWrapper;
 import org.springframework.web.util.WebUtils;
 import org.tomitribe.auth.signatures.Algorithm;
-import org.tomitribe.auth.signatures.Base64;
 import org.tomitribe.auth.signatures.Signature;
 import org.tomitribe.auth.signatures.Signer;
+import pt.ulisboa.ewp.node.api.ewp.filter.EwpApiResponseCacheFilter;
 import pt.ulisboa.ewp.node.service.keystore.KeyStoreService;
-import pt.ulisboa.ewp.node.utils.DateUtils;
 import pt.ulisboa.ewp.node.utils.http.HttpConstants;
+import pt.ulisboa.ewp.node.utils.http.HttpDateUtils;
 import pt.ulisboa.ewp.node.utils.http.HttpSignatureUtils;
 import pt.ulisboa.ewp.node.utils.http.HttpUtils;
-import pt.ulisboa.ewp.node.utils.keystore.DecodedCertificateAndKey;
 
 @Service
 public class HttpSignatureResponseAuthenticationMethodSigner
@@ -59,13 +55,14 @@ public class HttpSignatureResponseAuthenticationMethodSigner
         requestSignature = Signature.fromString(requestAuthorization);
       }
 
-      String stringToday = DateUtils
-          .toStringAsGMT(new Date(), HttpSignatureUtils.DATETIME_WITH_TIMEZONE_FORMAT);
+      String stringToday = HttpDateUtils.formatCurrentDate();
 
-      byte[] bodyBytes = getResponseData(response);
-      byte[] digest = MessageDigest.getInstance(HttpSignatureUtils.SHA_256).digest(bodyBytes);
-      String digestHeader =
-          HttpSignatureUtils.SHA_256 + "=" + new String(Base64.encodeBase64(digest));
+      // NOTE: the digest of a cached response body was already calculated when it was cached
+      String digestHeader = (String) request.getAttribute(
+          EwpApiResponseCacheFilter.REQUEST_ATTRIBUTE_RESPONSE_DIGEST_HEADER_VALUE);
+      if (digestHeader == null) {
+        digestHeader = HttpSignatureUtils.calculateDigestHeaderValue(getResponseData(response));
+      }
 
       HttpHeaders headers = new HttpHeaders();
 
@@ -85,17 +82,7 @@ public class HttpSignatureResponseAuthenticationMethodSigner
       List<String> headerNames = new ArrayList<>(new HashSet<>(response.getHeaderNames()));
       headerNames.remove(HttpHeaders.VARY);
 
-      DecodedCertificateAndKey decodedCertificateAndKey =
-          keyStoreService.getDecodedCertificateAndKeyFromStorage();
-      Signature signature =
-          new Signature(
-              decodedCertificateAndKey.getPublicKeyFingerprint(),
-              Algorithm.RSA_SHA256,
-              null,
-              headerNames);
-      Key key = decodedCertificateAndKey.getPrivateKey();
-
-      Signer signer = new Signer(key, signature);
+      Signer signer = keyStoreService.getSigner(headerNames);
       Signature signed = signer.sign("", "", HttpUtils.toHeadersMap(response));
 
       response.addHeader(
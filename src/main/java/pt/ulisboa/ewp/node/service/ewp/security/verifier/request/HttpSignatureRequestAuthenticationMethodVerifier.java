@@ -10,7 +10,9 @@ import pt.ulisboa.ewp.node.api.ewp.security.EwpApiAuthenticateMethodResponse;
 import pt.ulisboa.ewp.node.api.ewp.wrapper.EwpApiHttpRequestWrapper;
 import pt.ulisboa.ewp.node.client.ewp.registry.RegistryClient;
 import pt.ulisboa.ewp.node.domain.entity.api.ewp.auth.EwpAuthenticationMethod;
+import pt.ulisboa.ewp.node.service.ewp.security.replay.EwpRequestIdReplayService;
 import pt.ulisboa.ewp.node.utils.http.ExtendedHttpHeaders;
+import pt.ulisboa.ewp.node.utils.http.HttpConstants;
 import pt.ulisboa.ewp.node.utils.http.HttpSignatureUtils;
 import pt.ulisboa.ewp.node.utils.http.HttpSignatureUtils.VerificationResult;
 import pt.ulisboa.ewp.node.utils.http.HttpUtils;
@@ -20,10 +22,13 @@ public class HttpSignatureRequestAuthenticationMethodVerifier
     implements AbstractRequestAuthenticationMethodVerifier {
 
   private final RegistryClient registryClient;
+  private final EwpRequestIdReplayService requestIdReplayService;
 
   public HttpSignatureRequestAuthenticationMethodVerifier(
-      RegistryClient registryClient) {
+      RegistryClient registryClient,
+      EwpRequestIdReplayService requestIdReplayService) {
     this.registryClient = registryClient;
+    this.requestIdReplayService = requestIdReplayService;
   }
 
   @Override
@@ -129,6 +134,17 @@ public class HttpSignatureRequestAuthenticationMethodVerifier
           .build();
     }
 
+    // NOTE: only checked once the request is authenticated, so that unauthenticated requests
+    // cannot register request IDs
+    if (!requestIdReplayService.registerRequestId(
+        headers.getFirst(HttpConstants.HEADER_X_REQUEST_ID))) {
+      return EwpApiAuthenticateMethodResponse.failureBuilder(
+          EwpAuthenticationMethod.HTTP_SIGNATURE,
+          "A request with the same X-Request-ID was already received")
+          .withResponseCode(HttpStatus.BAD_REQUEST)
+          .build();
+    }
+
     request.setHeadersToIncludeFilter(
         header ->
             header.equalsIgnoreCase(HttpHeaders.AUTHORIZATION)
@@ -1,10 +1,13 @@
 package pt.ulisboa.ewp.node.service.ewp.security.verifier.request;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.io.IOException;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
+import java.util.concurrent.TimeUnit;
 import org.apache.commons.codec.DecoderException;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -14,6 +17,7 @@ import org.springframework.stereotype.Service;
 import pt.ulisboa.ewp.node.api.ewp.security.EwpApiAuthenticateMethodResponse;
 import pt.ulisboa.ewp.node.api.ewp.wrapper.EwpApiHttpRequestWrapper;
 import pt.ulisboa.ewp.node.client.ewp.registry.RegistryClient;
+import pt.ulisboa.ewp.node.config.security.SecurityClientTlsProperties;
 import pt.ulisboa.ewp.node.config.security.SecurityProperties;
 import pt.ulisboa.ewp.node.domain.entity.api.ewp.auth.EwpAuthenticationMethod;
 import pt.ulisboa.ewp.node.utils.CertificateUtils;
@@ -28,11 +32,26 @@ public class TlsRequestAuthenticationMethodVerifier
   private final SecurityProperties securityProperties;
   private final RegistryClient registryClient;
 
+  /**
+   * Certificates decoded from the client TLS header, indexed by the raw header value. As clients
+   * reuse a few certificates, this avoids decoding and parsing the same certificate on every
+   * request. Whether a certificate is known is not cached here, as the registry client already
+   * indexes it per catalogue version.
+   */
+  private final Cache<String, X509Certificate> headerValueToCertificateCache;
+
   public TlsRequestAuthenticationMethodVerifier(
       SecurityProperties securityProperties,
       RegistryClient registryClient) {
     this.securityProperties = securityProperties;
     this.registryClient = registryClient;
+
+    SecurityClientTlsProperties clientTlsProperties = securityProperties.getClientTls();
+    this.headerValueToCertificateCache = CacheBuilder.newBuilder()
+        .maximumSize(clientTlsProperties.getMaxNumberCachedHeaderCertificates())
+        .expireAfterAccess(clientTlsProperties.getCachedHeaderCertificateTimeToLiveInMinutes(),
+            TimeUnit.MINUTES)
+        .build();
   }
 
   @Override
@@ -62,8 +81,6 @@ public class TlsRequestAuthenticationMethodVerifier
           .build();
     }
 
-    CertificateUtils.logCertificates(certificates);
-
     X509Certificate certificate = registryClient.getCertificateKnownInEwpNetwork(certificates);
     if (certificate == null && !securityProperties.isAllowMissingClientCertificate()) {
       return EwpApiAuthenticateMethodResponse.failureBuilder(
@@ -85,14 +102,21 @@ public class TlsRequestAuthenticationMethodVerifier
       String clientTlsHeaderName = securityProperties.getClientTls().getHeaderName();
       String encodedCertificateString = request.getHeader(clientTlsHeaderName);
       if (StringUtils.isNotEmpty(encodedCertificateString)) {
-        LOGGER.debug(
-            "Received header {} with value: \n{}", clientTlsHeaderName, encodedCertificateString);
-        String certificateString =
-            URLDecoder.decode(encodedCertificateString, StandardCharsets.UTF_8.name())
-                .replaceAll("[\r\n\t]", "");
-        X509Certificate certificate =
-            CertificateUtils.decodeCertificate(
-                certificateString, securityProperties.getClientTls().getEncoding());
+        X509Certificate certificate = headerValueToCertificateCache.getIfPresent(
+            encodedCertificateString);
+        if (certificate == null) {
+          LOGGER.debug(
+              "Received header {} with value: \n{}", clientTlsHeaderName,
+              encodedCertificateString);
+          String certificateString =
+              URLDecoder.decode(encodedCertificateString, StandardCharsets.UTF_8.name())
+                  .replaceAll("[\r\n\t]", "");
+          certificate =
+              CertificateUtils.decodeCertificate(
+                  certificateString, securityProperties.getClientTls().getEncoding());
+          CertificateUtils.logCertificates(new X509Certificate[]{certificate});
+          headerValueToCertificateCache.put(encodedCertificateString, certificate);
+        }
         certificates = new X509Certificate[]{certificate};
       }
     }
@@ -100,6 +124,7 @@ public class TlsRequestAuthenticationMethodVerifier
     if (certificates == null) {
       certificates =
           (X509Certificate[]) request.getAttribute("javax.servlet.request.X509Certificate");
+      CertificateUtils.logCertificates(certificates);
     }
 
     return certificates;
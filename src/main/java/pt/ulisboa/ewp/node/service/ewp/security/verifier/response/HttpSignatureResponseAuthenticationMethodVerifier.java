@@ -85,7 +85,8 @@ public class HttpSignatureResponseAuthenticationMethodVerifier
     }
 
     VerificationResult digestVerificationResult =
-        HttpSignatureUtils.verifyDigest(response.getHeaders(), response.getRawBody().getBytes());
+        HttpSignatureUtils.verifyDigest(response.getHeaders(), response.getRawBodyBytes(),
+            response.getRawBodySha256Digest());
     if (digestVerificationResult.isFailure()) {
       return HttpSignatureAuthenticationResult.createInvalid(
           digestVerificationResult.getMessage());
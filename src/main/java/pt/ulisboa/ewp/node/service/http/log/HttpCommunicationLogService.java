@@ -3,7 +3,7 @@ package pt.ulisboa.ewp.node.service.http.log;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Enumeration;
-import javax.transaction.Transactional;
+import javax.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.ContentCachingRequestWrapper;
@@ -15,7 +15,6 @@ import pt.ulisboa.ewp.node.domain.entity.http.HttpResponseLog;
 import pt.ulisboa.ewp.node.utils.http.HttpConstants;
 
 @Service
-@Transactional
 public class HttpCommunicationLogService {
 
   protected HttpRequestLog toHttpRequestLog(ContentCachingRequestWrapper request) {
@@ -43,7 +42,7 @@ public class HttpCommunicationLogService {
     return responseLog;
   }
 
-  protected Collection<HttpHeader> toHttpHeaderCollection(ContentCachingRequestWrapper request) {
+  protected Collection<HttpHeader> toHttpHeaderCollection(HttpServletRequest request) {
     Collection<HttpHeader> headers = new ArrayList<>();
     Enumeration<String> headerNames = request.getHeaderNames();
     while (headerNames.hasMoreElements()) {
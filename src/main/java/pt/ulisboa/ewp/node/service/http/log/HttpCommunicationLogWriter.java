@@ -0,0 +1,181 @@
+package pt.ulisboa.ewp.node.service.http.log;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pt.ulisboa.ewp.node.config.logging.HttpCommunicationLogProperties;
+import pt.ulisboa.ewp.node.service.metrics.MetricsProvider;
+
+/**
+ * Writes HTTP communication logs in background, so that the processing of a request does not wait
+ * for its logs to be persisted.
+ * <p>
+ * Submitted writes are kept on a bounded queue and a single writer thread persists them in
+ * batches, each batch within a single transaction. If a batch fails, its logs are retried each on
+ * its own transaction. When the queue is full the configured {@link
+ * pt.ulisboa.ewp.node.config.logging.HttpCommunicationLogOverflowPolicy} is applied.
+ */
+@Service
+public class HttpCommunicationLogWriter implements MetricsProvider {
+
+  private static final Logger LOG = LoggerFactory.getLogger(HttpCommunicationLogWriter.class);
+
+  private static final long POLL_TIMEOUT_IN_MILLISECONDS = 1000;
+
+  private final HttpCommunicationLogProperties properties;
+  private final TransactionTemplate transactionTemplate;
+  private final BlockingQueue<Runnable> queue;
+
+  private final AtomicLong writtenCount = new AtomicLong();
+  private final AtomicLong droppedCount = new AtomicLong();
+  private final AtomicLong failedCount = new AtomicLong();
+
+  private volatile boolean running;
+  private Thread writerThread;
+
+  public HttpCommunicationLogWriter(HttpCommunicationLogProperties properties,
+      PlatformTransactionManager transactionManager) {
+    this.properties = properties;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+  }
+
+  @PostConstruct
+  public void start() {
+    this.running = true;
+    this.writerThread = new Thread(this::processQueue, "http-communication-log-writer");
+    this.writerThread.setDaemon(true);
+    this.writerThread.start();
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    this.running = false;
+    this.writerThread.join(TimeUnit.SECONDS.toMillis(30));
+  }
+
+  /**
+   * Submits a write of a communication log. The write is expected to persist log entities not
+   * depending on any request scoped state. As a write is run again on its own transaction when
+   * its batch fails, it must build new entities on each run (the identifiers generated for the
+   * entities persisted on the failed transaction are not reset by the rollback).
+   */
+  public void submit(Runnable logWrite) {
+    switch (properties.getOverflowPolicy()) {
+      case DROP:
+        if (!queue.offer(logWrite)) {
+          droppedCount.incrementAndGet();
+          LOG.warn("HTTP communication log queue is full, dropping communication log");
+        }
+        break;
+
+      case BLOCK:
+        try {
+          queue.put(logWrite);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          droppedCount.incrementAndGet();
+          LOG.warn("Interrupted while waiting to submit communication log, dropping it");
+        }
+        break;
+
+      case WRITE_THROUGH:
+        if (!queue.offer(logWrite)) {
+          writeBatch(Collections.singletonList(logWrite));
+        }
+        break;
+
+      default:
+        throw new IllegalStateException(
+            "Unknown overflow policy: " + properties.getOverflowPolicy());
+    }
+  }
+
+  public int getQueueSize() {
+    return queue.size();
+  }
+
+  @Override
+  public String getMetricsGroupName() {
+    return "httpCommunicationLog";
+  }
+
+  @Override
+  public Map<String, Number> getMetrics() {
+    Map<String, Number> metrics = new LinkedHashMap<>();
+    metrics.put("queueSize", queue.size());
+    metrics.put("queueCapacity", properties.getQueueCapacity());
+    metrics.put("written", writtenCount.get());
+    metrics.put("dropped", droppedCount.get());
+    metrics.put("failed", failedCount.get());
+    return metrics;
+  }
+
+  private void processQueue() {
+    List<Runnable> batch = new ArrayList<>(properties.getBatchSize());
+    while (running || !queue.isEmpty()) {
+      try {
+        Runnable logWrite = queue.poll(POLL_TIMEOUT_IN_MILLISECONDS, TimeUnit.MILLISECONDS);
+        if (logWrite != null) {
+          batch.add(logWrite);
+          queue.drainTo(batch, properties.getBatchSize() - 1);
+          writeBatch(batch);
+        }
+
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        LOG.warn("HTTP communication log writer interrupted, {} logs left unwritten",
+            queue.size());
+        return;
+
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  private void writeBatch(List<Runnable> batch) {
+    try {
+      transactionTemplate.executeWithoutResult(status -> batch.forEach(Runnable::run));
+      writtenCount.addAndGet(batch.size());
+
+    } catch (RuntimeException e) {
+      if (batch.size() == 1) {
+        failedCount.incrementAndGet();
+        LOG.error("Failed to write communication log", e);
+        return;
+      }
+
+      // NOTE: the failed transaction rolled back every log of the batch, so each log is retried
+      // on its own transaction, so that only the logs that really fail are lost
+      LOG.warn(String.format(
+          "Failed to write batch of %d communication logs, writing them one by one",
+          batch.size()), e);
+      batch.forEach(this::writeSingle);
+    }
+  }
+
+  private void writeSingle(Runnable logWrite) {
+    try {
+      transactionTemplate.executeWithoutResult(status -> logWrite.run());
+      writtenCount.incrementAndGet();
+
+    } catch (RuntimeException e) {
+      failedCount.incrementAndGet();
+      LOG.error("Failed to write communication log", e);
+    }
+  }
+}
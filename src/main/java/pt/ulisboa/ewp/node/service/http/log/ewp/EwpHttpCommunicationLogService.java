@@ -2,9 +2,9 @@ package pt.ulisboa.ewp.node.service.http.log.ewp;
 
 import java.io.Serializable;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import javax.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.ContentCachingResponseWrapper;
@@ -20,9 +20,13 @@ import pt.ulisboa.ewp.node.domain.entity.http.HttpResponseLog;
 import pt.ulisboa.ewp.node.domain.repository.http.log.ewp.HttpCommunicationFromEwpNodeLogRepository;
 import pt.ulisboa.ewp.node.domain.repository.http.log.ewp.HttpCommunicationToEwpNodeLogRepository;
 import pt.ulisboa.ewp.node.service.http.log.HttpCommunicationLogService;
+import pt.ulisboa.ewp.node.service.http.log.HttpCommunicationLogWriter;
 
+/**
+ * Logs communications with other EWP nodes. The logs are built synchronously but persisted in
+ * background by the {@link HttpCommunicationLogWriter}.
+ */
 @Service
-@Transactional
 public class EwpHttpCommunicationLogService extends HttpCommunicationLogService {
 
   @Autowired
@@ -31,6 +35,9 @@ public class EwpHttpCommunicationLogService extends HttpCommunicationLogService
   @Autowired
   private HttpCommunicationToEwpNodeLogRepository httpCommunicationToEwpNodeLogRepository;
 
+  @Autowired
+  private HttpCommunicationLogWriter httpCommunicationLogWriter;
+
   public void logCommunicationFromEwpNode(
       EwpApiHttpRequestWrapper request,
       ContentCachingResponseWrapper response,
@@ -48,14 +55,14 @@ public class EwpHttpCommunicationLogService extends HttpCommunicationLogService
         request.getAuthenticationToken() != null
             ? request.getAuthenticationToken().getPrincipal().getHeiIdsCoveredByClient()
             : Collections.emptyList();
-    httpCommunicationFromEwpNodeLogRepository.create(
+    httpCommunicationLogWriter.submit(() -> httpCommunicationFromEwpNodeLogRepository.create(
         authenticationMethod,
-        heiIdsCoveredByClient,
-        requestLog,
-        responseLog,
+        new ArrayList<>(heiIdsCoveredByClient),
+        HttpRequestLog.copyOf(requestLog),
+        HttpResponseLog.copyOf(responseLog),
         startProcessingDateTime,
         endProcessingDateTime,
-        observations);
+        observations));
   }
 
   public <T extends Serializable> void logCommunicationToEwpNode(
@@ -83,13 +90,14 @@ public class EwpHttpCommunicationLogService extends HttpCommunicationLogService
       String observations) {
     HttpRequestLog requestLog = toHttpRequestLog(request);
     HttpResponseLog responseLog = toHttpResponseLog(response);
-    httpCommunicationToEwpNodeLogRepository.create(
-        request.getAuthenticationMethod(),
-        requestLog,
-        responseLog,
+    EwpAuthenticationMethod authenticationMethod = request.getAuthenticationMethod();
+    httpCommunicationLogWriter.submit(() -> httpCommunicationToEwpNodeLogRepository.create(
+        authenticationMethod,
+        HttpRequestLog.copyOf(requestLog),
+        HttpResponseLog.copyOf(responseLog),
         startProcessingDateTime,
         endProcessingDateTime,
-        observations);
+        observations));
   }
 
   private HttpRequestLog toHttpRequestLog(EwpApiHttpRequestWrapper request) {
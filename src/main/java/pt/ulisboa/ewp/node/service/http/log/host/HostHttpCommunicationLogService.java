@@ -1,7 +1,6 @@
 package pt.ulisboa.ewp.node.service.http.log.host;
 
 import java.time.ZonedDateTime;
-import javax.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.ContentCachingRequestWrapper;
@@ -11,14 +10,21 @@ import pt.ulisboa.ewp.node.domain.entity.http.HttpRequestLog;
 import pt.ulisboa.ewp.node.domain.entity.http.HttpResponseLog;
 import pt.ulisboa.ewp.node.domain.repository.http.log.host.HttpCommunicationFromHostLogRepository;
 import pt.ulisboa.ewp.node.service.http.log.HttpCommunicationLogService;
+import pt.ulisboa.ewp.node.service.http.log.HttpCommunicationLogWriter;
 
+/**
+ * Logs communications with hosts. The logs are built synchronously but persisted in background by
+ * the {@link HttpCommunicationLogWriter}.
+ */
 @Service
-@Transactional
 public class HostHttpCommunicationLogService extends HttpCommunicationLogService {
 
   @Autowired
   private HttpCommunicationFromHostLogRepository httpCommunicationFromHostLogRepository;
 
+  @Autowired
+  private HttpCommunicationLogWriter httpCommunicationLogWriter;
+
   public void logCommunicationFromHost(
       Host host,
       ContentCachingRequestWrapper request,
@@ -29,12 +35,12 @@ public class HostHttpCommunicationLogService extends HttpCommunicationLogService
     HttpRequestLog requestLog = toHttpRequestLog(request);
     HttpResponseLog responseLog = toHttpResponseLog(response);
 
-    httpCommunicationFromHostLogRepository.create(
+    httpCommunicationLogWriter.submit(() -> httpCommunicationFromHostLogRepository.create(
         host,
-        requestLog,
-        responseLog,
+        HttpRequestLog.copyOf(requestLog),
+        HttpResponseLog.copyOf(responseLog),
         startProcessingDateTime,
         endProcessingDateTime,
-        observations);
+        observations));
   }
 }
@@ -1,6 +1,7 @@
 package pt.ulisboa.ewp.node.service.keystore;
 
-import com.google.common.base.Suppliers;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -15,8 +16,10 @@ import java.security.UnrecoverableKeyException;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
 import java.security.spec.InvalidKeySpecException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Supplier;
 import org.bouncycastle.operator.OperatorCreationException;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,6 +28,11 @@ import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.tomitribe.auth.signatures.Algorithm;
+import org.tomitribe.auth.signatures.Signature;
+import org.tomitribe.auth.signatures.Signer;
 import pt.ulisboa.ewp.node.config.security.SecurityProperties;
 import pt.ulisboa.ewp.node.domain.entity.KeyStoreConfiguration;
 import pt.ulisboa.ewp.node.domain.repository.KeyStoreConfigurationRepository;
@@ -40,6 +48,16 @@ import pt.ulisboa.ewp.node.utils.keystore.KeyStoreGenerator;
 import pt.ulisboa.ewp.node.utils.keystore.KeyStoreUtil;
 import pt.ulisboa.ewp.node.utils.messaging.Severity;
 
+/**
+ * Manages the keystore used for authentication. The stored keystore is decoded only when it
+ * changes, along with all the material derived from it (such as, the certificate and key, and the
+ * HTTP signature signers), which is then swapped atomically. Hence, no request ever pays the cost
+ * of decoding the keystore.
+ *
+ * <p>A keystore persisted by this node is swapped in as soon as its transaction commits. A
+ * keystore persisted by another node is detected by {@link #refreshFromStorage()}, which is
+ * expected to be invoked periodically.
+ */
 @Component
 @Scope(ConfigurableBeanFactory.SCOPE_SINGLETON)
 @Transactional
@@ -52,31 +70,16 @@ public class KeyStoreService {
   @Autowired private KeyStoreConfigurationRepository keyStoreConfigurationRepository;
 
   private SecurityProperties securityProperties;
-  private Supplier<DecodedKeystore> decodedKeyStoreSupplier;
-  private Supplier<DecodedCertificateAndKey> decodedCertificateAndKeySupplier;
+  private volatile LoadedKeyStore loadedKeyStore;
 
   public KeyStoreService(SecurityProperties securityProperties) {
     this.securityProperties = securityProperties;
-    initKeyStoreSuppliers();
   }
 
   public boolean isInitialized() {
     return keyStoreConfigurationRepository.getInstance() != null;
   }
 
-  private void initKeyStoreSuppliers() {
-    this.decodedKeyStoreSupplier =
-        Suppliers.memoizeWithExpiration(
-            this::loadDecodedKeyStoreFromStorage,
-            securityProperties.getKeyStore().getCacheValidityInSeconds(),
-            TimeUnit.SECONDS);
-    this.decodedCertificateAndKeySupplier =
-        Suppliers.memoizeWithExpiration(
-            this::loadDecodedCertificateAndKeyFromStorage,
-            securityProperties.getKeyStore().getCacheValidityInSeconds(),
-            TimeUnit.SECONDS);
-  }
-
   public DecodedKeystore generateKeystore()
       throws CertificateException, NoSuchAlgorithmException, KeyStoreException,
           OperatorCreationException, NoSuchProviderException, IOException,
@@ -123,11 +126,42 @@ public class KeyStoreService {
   }
 
   public DecodedCertificateAndKey getDecodedCertificateAndKeyFromStorage() {
-    return decodedCertificateAndKeySupplier.get();
+    return getLoadedKeyStore().getDecodedCertificateAndKey();
   }
 
   public DecodedKeystore getDecodedKeyStoreFromStorage() {
-    return decodedKeyStoreSupplier.get();
+    return getLoadedKeyStore().getDecodedKeystore();
+  }
+
+  /**
+   * Returns a signer of HTTP signatures covering the given headers, using the current certificate
+   * and key. Signers are immutable, so they are reused while the keystore does not change.
+   */
+  public Signer getSigner(List<String> signatureHeaderNames) {
+    return getLoadedKeyStore().getSigner(signatureHeaderNames);
+  }
+
+  public long getRefreshIntervalInMilliseconds() {
+    return TimeUnit.SECONDS.toMillis(securityProperties.getKeyStore().getCacheValidityInSeconds());
+  }
+
+  /**
+   * Reloads the keystore from storage if it differs from the one currently in use (for instance,
+   * because it was persisted by another node).
+   */
+  public synchronized void refreshFromStorage() {
+    KeyStoreConfiguration keystoreConfiguration = keyStoreConfigurationRepository.getInstance();
+    if (keystoreConfiguration == null) {
+      return;
+    }
+
+    LoadedKeyStore currentLoadedKeyStore = this.loadedKeyStore;
+    if (currentLoadedKeyStore != null && currentLoadedKeyStore.isLoadedFrom(
+        keystoreConfiguration)) {
+      return;
+    }
+
+    this.loadedKeyStore = loadKeyStore(keystoreConfiguration);
   }
 
   public boolean persistKeystore(DecodedKeystore decodedKeystore)
@@ -149,15 +183,59 @@ public class KeyStoreService {
       keystoreConfiguration.setCertificateAlias(certificateAlias);
     }
 
-    return keyStoreConfigurationRepository.persist(keystoreConfiguration);
+    if (!keyStoreConfigurationRepository.persist(keystoreConfiguration)) {
+      return false;
+    }
+
+    swapLoadedKeyStoreAfterCommit(
+        new LoadedKeyStore(byteArrayOutputStream.toByteArray(), certificateAlias,
+            decodedKeystore, securityProperties.getKeyStore().getMaxNumberCachedSigners()));
+    return true;
+  }
+
+  private LoadedKeyStore getLoadedKeyStore() {
+    LoadedKeyStore currentLoadedKeyStore = this.loadedKeyStore;
+    if (currentLoadedKeyStore == null) {
+      refreshFromStorage();
+      currentLoadedKeyStore = this.loadedKeyStore;
+      if (currentLoadedKeyStore == null) {
+        throw new IllegalStateException("No keystore was found on storage");
+      }
+    }
+    return currentLoadedKeyStore;
+  }
+
+  /**
+   * Swaps the keystore in use once the current transaction (if any) commits, so other threads
+   * never use a keystore that may still be rolled back.
+   */
+  private void swapLoadedKeyStoreAfterCommit(LoadedKeyStore newLoadedKeyStore) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronizationAdapter() {
+
+            @Override
+            public void afterCommit() {
+              swapLoadedKeyStore(newLoadedKeyStore);
+            }
+          });
+    } else {
+      swapLoadedKeyStore(newLoadedKeyStore);
+    }
+  }
+
+  private synchronized void swapLoadedKeyStore(LoadedKeyStore newLoadedKeyStore) {
+    this.loadedKeyStore = newLoadedKeyStore;
   }
 
-  private DecodedKeystore loadDecodedKeyStoreFromStorage() {
+  private LoadedKeyStore loadKeyStore(KeyStoreConfiguration keystoreConfiguration) {
     try {
       log.info("Loading keystore from storage");
-      KeyStoreConfiguration keystoreConfiguration = keyStoreConfigurationRepository.getInstance();
       KeyStore keyStore = getKeystore(keystoreConfiguration);
-      return new DecodedKeystore(keyStore, securityProperties.getKeyStore().getPassword());
+      return new LoadedKeyStore(keystoreConfiguration.getKeystore(),
+          keystoreConfiguration.getCertificateAlias(),
+          new DecodedKeystore(keyStore, securityProperties.getKeyStore().getPassword()),
+          securityProperties.getKeyStore().getMaxNumberCachedSigners());
     } catch (KeyStoreException
         | CertificateException
         | NoSuchAlgorithmException
@@ -167,14 +245,6 @@ public class KeyStoreService {
     }
   }
 
-  private DecodedCertificateAndKey loadDecodedCertificateAndKeyFromStorage() {
-    log.info("Loading certificate and key from storage");
-    KeyStoreConfiguration keystoreConfiguration = keyStoreConfigurationRepository.getInstance();
-    DecodedKeystore decodedKeyStoreFromStorage = getDecodedKeyStoreFromStorage();
-    return decodedKeyStoreFromStorage.getDecodedCertificateAndKey(
-        keystoreConfiguration.getCertificateAlias());
-  }
-
   private KeyStore getKeystore(KeyStoreConfiguration keystoreConfiguration)
       throws KeyStoreException, CertificateException, NoSuchAlgorithmException, IOException {
     byte[] keystoreBytes = keystoreConfiguration.getKeystore();
@@ -184,4 +254,54 @@ public class KeyStoreService {
         securityProperties.getKeyStore().getPassword().toCharArray());
     return keyStore;
   }
+
+  private static class LoadedKeyStore {
+
+    private final byte[] keystoreBytes;
+    private final String certificateAlias;
+    private final DecodedKeystore decodedKeystore;
+    private final DecodedCertificateAndKey decodedCertificateAndKey;
+    private final Cache<List<String>, Signer> signatureHeaderNamesToSignerCache;
+
+    LoadedKeyStore(byte[] keystoreBytes, String certificateAlias,
+        DecodedKeystore decodedKeystore, int maxNumberCachedSigners) {
+      this.signatureHeaderNamesToSignerCache = CacheBuilder.newBuilder()
+          .maximumSize(maxNumberCachedSigners)
+          .build();
+      this.keystoreBytes = keystoreBytes;
+      this.certificateAlias = certificateAlias;
+      this.decodedKeystore = decodedKeystore;
+      this.decodedCertificateAndKey = decodedKeystore.getDecodedCertificateAndKey(
+          certificateAlias);
+      if (this.decodedCertificateAndKey == null) {
+        throw new IllegalStateException(
+            "Keystore has no certificate with alias " + certificateAlias);
+      }
+    }
+
+    boolean isLoadedFrom(KeyStoreConfiguration keystoreConfiguration) {
+      return certificateAlias.equals(keystoreConfiguration.getCertificateAlias())
+          && Arrays.equals(keystoreBytes, keystoreConfiguration.getKeystore());
+    }
+
+    DecodedKeystore getDecodedKeystore() {
+      return decodedKeystore;
+    }
+
+    DecodedCertificateAndKey getDecodedCertificateAndKey() {
+      return decodedCertificateAndKey;
+    }
+
+    Signer getSigner(List<String> signatureHeaderNames) {
+      List<String> key = List.copyOf(signatureHeaderNames);
+      try {
+        return signatureHeaderNamesToSignerCache.get(key, () -> new Signer(
+            decodedCertificateAndKey.getPrivateKey(),
+            new Signature(decodedCertificateAndKey.getPublicKeyFingerprint(),
+                Algorithm.RSA_SHA256, null, key)));
+      } catch (ExecutionException e) {
+        throw new IllegalStateException("Failed to create HTTP signature signer", e.getCause());
+      }
+    }
+  }
 }
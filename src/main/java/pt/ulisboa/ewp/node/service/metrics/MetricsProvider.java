@@ -0,0 +1,20 @@
+package pt.ulisboa.ewp.node.service.metrics;
+
+import java.util.Map;
+
+/**
+ * A component that exposes runtime metrics (for instance, queue depths or cache hit counts).
+ * Metrics of all providers are made available through the Admin API.
+ */
+public interface MetricsProvider {
+
+  /**
+   * Returns the name under which the metrics of this provider are grouped.
+   */
+  String getMetricsGroupName();
+
+  /**
+   * Returns a snapshot of the current metrics, indexed by metric name.
+   */
+  Map<String, Number> getMetrics();
+}
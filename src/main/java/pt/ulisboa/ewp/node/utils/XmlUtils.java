@@ -1,7 +1,10 @@
 package pt.ulisboa.ewp.node.utils;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.nio.charset.Charset;
 import javax.xml.transform.Result;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
@@ -47,4 +50,22 @@ public class XmlUtils {
       throw new XmlCannotUnmarshallToTypeException(xml, classType);
     }
   }
+
+  /**
+   * Unmarshalls XML by decoding its bytes on the fly, so no intermediate string is created. The XML
+   * is only decoded into a string when it cannot be unmarshalled.
+   */
+  public static <T> T unmarshall(Jaxb2Marshaller jaxb2Marshaller, byte[] xml, Charset charset,
+      Class<T> classType) throws XmlCannotUnmarshallToTypeException {
+    try {
+      Object object = jaxb2Marshaller.unmarshal(
+          new StreamSource(new InputStreamReader(new ByteArrayInputStream(xml), charset)));
+      if (!classType.isAssignableFrom(object.getClass())) {
+        throw new XmlCannotUnmarshallToTypeException(new String(xml, charset), classType);
+      }
+      return classType.cast(object);
+    } catch (UnmarshallingFailureException e) {
+      throw new XmlCannotUnmarshallToTypeException(new String(xml, charset), classType);
+    }
+  }
 }
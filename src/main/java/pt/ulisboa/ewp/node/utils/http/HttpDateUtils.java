@@ -0,0 +1,149 @@
+package pt.ulisboa.ewp.node.utils.http;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parses and formats HTTP dates (for instance, of the Date and Original-Date headers).
+ *
+ * <p>Dates are formatted as IMF-fixdate (RFC 7231, for instance, "Sun, 06 Nov 1994 08:49:37
+ * GMT"). As that is the format used by practically all clients, it is parsed without any
+ * intermediate objects, falling back to a lenient parser for any other format.
+ */
+public class HttpDateUtils {
+
+  public static final String LENIENT_DATE_FORMAT = "EEE, dd MMM yyyy HH:mm:ss zzz";
+
+  private static final DateTimeFormatter IMF_FIXDATE_FORMATTER = DateTimeFormatter
+      .ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US)
+      .withZone(ZoneOffset.UTC);
+
+  private static final int IMF_FIXDATE_LENGTH = "Sun, 06 Nov 1994 08:49:37 GMT".length();
+
+  private static final List<String> DAY_NAMES = Arrays.asList(
+      "Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun");
+
+  private static final List<String> MONTH_NAMES = Arrays.asList(
+      "Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec");
+
+  private static volatile FormattedSecond lastFormattedSecond = new FormattedSecond(
+      Long.MIN_VALUE, null);
+
+  private HttpDateUtils() {
+  }
+
+  /**
+   * Returns the current date formatted as an HTTP date. As the format has a precision of seconds,
+   * the formatted value is reused by all calls within the same second.
+   */
+  public static String formatCurrentDate() {
+    long epochSecond = Math.floorDiv(System.currentTimeMillis(), 1000L);
+    FormattedSecond formattedSecond = lastFormattedSecond;
+    if (formattedSecond.epochSecond != epochSecond) {
+      formattedSecond = new FormattedSecond(epochSecond,
+          format(Instant.ofEpochSecond(epochSecond)));
+      lastFormattedSecond = formattedSecond;
+    }
+    return formattedSecond.value;
+  }
+
+  public static String format(Instant instant) {
+    return IMF_FIXDATE_FORMATTER.format(instant);
+  }
+
+  /**
+   * Parses an HTTP date, returning the number of milliseconds since the epoch.
+   */
+  public static long parseToEpochMilli(String value) throws ParseException {
+    long epochSecond = parseImfFixdateToEpochSecond(value);
+    if (epochSecond != Long.MIN_VALUE) {
+      return epochSecond * 1000L;
+    }
+    return new SimpleDateFormat(LENIENT_DATE_FORMAT, Locale.US).parse(value).getTime();
+  }
+
+  /**
+   * Returns the number of seconds since the epoch of a date formatted as IMF-fixdate, or {@link
+   * Long#MIN_VALUE} if the date is not strictly in that format.
+   */
+  private static long parseImfFixdateToEpochSecond(String value) {
+    if (value.length() != IMF_FIXDATE_LENGTH
+        || value.charAt(3) != ','
+        || value.charAt(4) != ' '
+        || value.charAt(7) != ' '
+        || value.charAt(11) != ' '
+        || value.charAt(16) != ' '
+        || value.charAt(19) != ':'
+        || value.charAt(22) != ':'
+        || !value.endsWith(" GMT")
+        || !isNameAt(DAY_NAMES, value, 0)) {
+      return Long.MIN_VALUE;
+    }
+
+    int month = indexOfNameAt(MONTH_NAMES, value, 8) + 1;
+    int day = parseDigits(value, 5, 2);
+    int year = parseDigits(value, 12, 4);
+    int hour = parseDigits(value, 17, 2);
+    int minute = parseDigits(value, 20, 2);
+    int second = parseDigits(value, 23, 2);
+    if (month == 0 || day < 0 || year < 0 || hour < 0 || hour > 23 || minute < 0 || minute > 59
+        || second < 0 || second > 59) {
+      return Long.MIN_VALUE;
+    }
+
+    long epochDay;
+    try {
+      epochDay = LocalDate.of(year, month, day).toEpochDay();
+    } catch (DateTimeException e) {
+      return Long.MIN_VALUE;
+    }
+    return epochDay * 86400L + hour * 3600L + minute * 60L + second;
+  }
+
+  private static boolean isNameAt(List<String> names, String value, int offset) {
+    return indexOfNameAt(names, value, offset) >= 0;
+  }
+
+  private static int indexOfNameAt(List<String> names, String value, int offset) {
+    for (int index = 0; index < names.size(); index++) {
+      if (value.startsWith(names.get(index), offset)) {
+        return index;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the value of a sequence of decimal digits, or -1 if some character is not a digit.
+   */
+  private static int parseDigits(String value, int offset, int length) {
+    int result = 0;
+    for (int index = offset; index < offset + length; index++) {
+      char c = value.charAt(index);
+      if (c < '0' || c > '9') {
+        return -1;
+      }
+      result = result * 10 + (c - '0');
+    }
+    return result;
+  }
+
+  private static class FormattedSecond {
+
+    private final long epochSecond;
+    private final String value;
+
+    FormattedSecond(long epochSecond, String value) {
+      this.epochSecond = epochSecond;
+      this.value = value;
+    }
+  }
+}
@@ -6,24 +6,19 @@ import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
-import java.security.Key;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.SignatureException;
 import java.security.interfaces.RSAPublicKey;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.Arrays;
-import java.util.Date;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import javax.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
-import org.tomitribe.auth.signatures.Algorithm;
 import org.tomitribe.auth.signatures.Base64;
 import org.tomitribe.auth.signatures.MissingRequiredHeaderException;
 import org.tomitribe.auth.signatures.Signature;
@@ -31,13 +26,12 @@ import org.tomitribe.auth.signatures.Signer;
 import org.tomitribe.auth.signatures.Verifier;
 import pt.ulisboa.ewp.node.api.ewp.wrapper.EwpApiHttpRequestWrapper;
 import pt.ulisboa.ewp.node.service.keystore.KeyStoreService;
-import pt.ulisboa.ewp.node.utils.keystore.DecodedCertificateAndKey;
 
 public class HttpSignatureUtils {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(HttpSignatureUtils.class);
 
-  public static final String DATETIME_WITH_TIMEZONE_FORMAT = "EEE, dd MMM yyyy HH:mm:ss zzz";
+  public static final String DATETIME_WITH_TIMEZONE_FORMAT = HttpDateUtils.LENIENT_DATE_FORMAT;
   public static final String HEADER_REQUEST_TARGET = "(request-target)";
   public static final String SHA_256 = "SHA-256";
 
@@ -69,8 +63,17 @@ public class HttpSignatureUtils {
 
   public static VerificationResult verifyDigest(
       ExtendedHttpHeaders headers, byte[] bodyBytes) {
+    return verifyDigest(headers, bodyBytes, null);
+  }
+
+  /**
+   * Verifies the digest of a body whose SHA-256 digest may have already been calculated (for
+   * instance, while the body was read), so it is not calculated again.
+   */
+  public static VerificationResult verifyDigest(
+      ExtendedHttpHeaders headers, byte[] bodyBytes, byte[] bodySha256Digest) {
     if (headers.containsKey(HttpConstants.HEADER_DIGEST)) {
-      return verifyDigestValues(headers.getDigestValues(), bodyBytes);
+      return verifyDigestValues(headers.getDigestValues(), bodyBytes, bodySha256Digest);
     } else {
       return VerificationResult.createFailure("Digest header missing");
     }
@@ -122,17 +125,25 @@ public class HttpSignatureUtils {
         + (queryParams == null || queryParams.isEmpty() ? "" : "?" + queryParams);
   }
 
+  /**
+   * Returns the value of the Digest header (using SHA-256) of a given body.
+   */
+  public static String calculateDigestHeaderValue(byte[] bodyBytes)
+      throws NoSuchAlgorithmException {
+    byte[] digest = MessageDigest.getInstance(SHA_256).digest(bodyBytes);
+    return SHA_256 + "=" + new String(Base64.encodeBase64(digest));
+  }
+
   public static byte[] getByteArray(EwpApiHttpRequestWrapper request) {
-    return request.getBody().getBytes();
+    return request.getBodyBytes();
   }
 
   private static boolean isDateWithinTimeThreshold(String dateString) {
-    Date today = new Date();
     try {
-      Date requestDate =
-          new SimpleDateFormat(DATETIME_WITH_TIMEZONE_FORMAT, Locale.US).parse(dateString);
+      long requestDateInMilliseconds = HttpDateUtils.parseToEpochMilli(dateString);
       // Check that time diff is less than five minutes
-      return Math.abs(today.getTime() - requestDate.getTime()) <= DATE_THRESHOLD_IN_MILLISECONDS;
+      return Math.abs(System.currentTimeMillis() - requestDateInMilliseconds)
+          <= DATE_THRESHOLD_IN_MILLISECONDS;
     } catch (ParseException e) {
       LOGGER.warn("Can't parse date: " + dateString, e);
     }
@@ -140,9 +151,13 @@ public class HttpSignatureUtils {
   }
 
   private static VerificationResult verifyDigestValues(
-      Map<String, String> digestValues, byte[] bodyBytes) {
+      Map<String, String> digestValues, byte[] bodyBytes, byte[] bodySha256Digest) {
 
     if (digestValues.containsKey(SHA_256)) {
+      if (bodySha256Digest != null) {
+        return verifyDigestValue(SHA_256, digestValues.get(SHA_256), bodySha256Digest,
+            bodyBytes.length);
+      }
       return verifyDigestAgainstAlgorithm(SHA_256, digestValues.get(SHA_256), bodyBytes);
     }
 
@@ -169,6 +184,11 @@ public class HttpSignatureUtils {
       LOGGER.error("No such algorithm", e);
       return VerificationResult.createFailure("No such algorithm: " + algorithm);
     }
+    return verifyDigestValue(algorithm, digestValue, digest, bodyBytes.length);
+  }
+
+  private static VerificationResult verifyDigestValue(
+      String algorithm, String digestValue, byte[] digest, int bodyLength) {
     String digestValueCalculated = new String(Base64.encodeBase64(digest));
 
     if (!digestValueCalculated.equals(digestValue)) {
@@ -176,7 +196,7 @@ public class HttpSignatureUtils {
           "Digest mismatch! calculated for algorithm "
               + algorithm
               + " (body length: "
-              + bodyBytes.length
+              + bodyLength
               + "): "
               + digestValueCalculated
               + ", provided: "
@@ -191,17 +211,7 @@ public class HttpSignatureUtils {
       method,
       URI requestUri, HttpHeaders headers)
       throws IOException {
-    DecodedCertificateAndKey decodedCertificateAndKey =
-        keyStoreService.getDecodedCertificateAndKeyFromStorage();
-    Signature signature =
-        new Signature(
-            decodedCertificateAndKey.getPublicKeyFingerprint(),
-            Algorithm.RSA_SHA256,
-            null,
-            requiredSignatureHeaderNames);
-    Key key = decodedCertificateAndKey.getPrivateKey();
-
-    Signer signer = new Signer(key, signature);
+    Signer signer = keyStoreService.getSigner(requiredSignatureHeaderNames);
     String queryParams = requestUri.getRawQuery() == null ? "" : "?" + requestUri.getRawQuery();
     Map<String, String> headersMapWithHostHeader = HttpUtils.toHeadersMap(headers);
     headersMapWithHostHeader.put(HttpHeaders.HOST, HttpUtils.getHostHeaderValue(requestUri));
@@ -1,8 +1,12 @@
 package pt.ulisboa.ewp.node.utils.http.converter.xml;
 
+import com.google.common.base.Suppliers;
 import com.sun.xml.bind.marshaller.NamespacePrefixMapper;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import javax.xml.bind.JAXBElement;
 import javax.xml.bind.Marshaller;
 import javax.xml.bind.annotation.XmlRootElement;
@@ -15,6 +19,16 @@ import org.springframework.oxm.XmlMappingException;
 import org.springframework.oxm.jaxb.Jaxb2Marshaller;
 import org.springframework.util.ClassUtils;
 
+/**
+ * Converter that marshals each object using a JAXB context bound only to the object's class, so
+ * the main namespace uses an empty prefix, falling back to a JAXB context of all the packages to
+ * scan when that is not possible.
+ *
+ * <p>As creating a JAXB context is expensive, the marshallers (and their JAXB contexts) are
+ * created once per class and then reused, as well as the fallback marshaller. The classes that
+ * required the fallback marshaller are remembered, so they are not attempted again with a
+ * marshaller bound only to their class.
+ */
 public class Jaxb2HttpMessageConverter extends Jaxb2RootElementHttpMessageConverter {
 
   private String[] packagesToScan;
@@ -23,6 +37,15 @@ public class Jaxb2HttpMessageConverter extends Jaxb2RootElementHttpMessageConver
 
   private NamespacePrefixMapper namespacePrefixMapper;
 
+  private boolean formattedOutput;
+
+  private final Map<Class<?>, Jaxb2Marshaller> classToJaxb2MarshallerMap = new ConcurrentHashMap<>();
+
+  private final Set<Class<?>> classesRequiringFallbackMarshaller = ConcurrentHashMap.newKeySet();
+
+  private final Supplier<Jaxb2Marshaller> fallbackJaxb2MarshallerSupplier = Suppliers.memoize(
+      () -> createJaxb2Marshaller(null));
+
   public void setPackagesToScan(String... packagesToScan) {
     this.packagesToScan = packagesToScan;
   }
@@ -36,6 +59,14 @@ public class Jaxb2HttpMessageConverter extends Jaxb2RootElementHttpMessageConver
     this.namespacePrefixMapper = namespacePrefixMapper;
   }
 
+  /**
+   * Sets whether the XML is indented (for debugging) or compact, which is the default. Must be set
+   * before any object is written, as the marshallers are reused afterwards.
+   */
+  public void setFormattedOutput(boolean formattedOutput) {
+    this.formattedOutput = formattedOutput;
+  }
+
   @Override
   public boolean canWrite(Class<?> clazz, MediaType mediaType) {
     return (AnnotationUtils.findAnnotation(clazz, XmlRootElement.class) != null) || (
@@ -44,18 +75,25 @@ public class Jaxb2HttpMessageConverter extends Jaxb2RootElementHttpMessageConver
 
   @Override
   protected void writeToResult(Object object, HttpHeaders headers, Result result) throws Exception {
-    try {
-      // NOTE: try marshall object without other classes scanned by marshaller
-      // If successful, it ensures that the main namespace uses an empty namespace prefix.
-      Class<?> clazz = ClassUtils.getUserClass(object);
-      Jaxb2Marshaller marshaller = createJaxb2Marshaller(clazz);
-      marshaller.marshal(object, result);
-
-    } catch (XmlMappingException e) {
-      // NOTE: If the marshalling failed, then marshall using all known packages as context.
-      Jaxb2Marshaller marshaller = createJaxb2Marshaller(null);
-      marshaller.marshal(object, result);
+    Class<?> clazz = ClassUtils.getUserClass(object);
+    if (!classesRequiringFallbackMarshaller.contains(clazz)) {
+      try {
+        // NOTE: try marshall object without other classes scanned by marshaller
+        // If successful, it ensures that the main namespace uses an empty namespace prefix.
+        getJaxb2Marshaller(clazz).marshal(object, result);
+        return;
+
+      } catch (XmlMappingException e) {
+        classesRequiringFallbackMarshaller.add(clazz);
+      }
     }
+
+    // NOTE: If the marshalling failed, then marshall using all known packages as context.
+    fallbackJaxb2MarshallerSupplier.get().marshal(object, result);
+  }
+
+  private Jaxb2Marshaller getJaxb2Marshaller(Class<?> clazz) {
+    return classToJaxb2MarshallerMap.computeIfAbsent(clazz, this::createJaxb2Marshaller);
   }
 
   protected final Jaxb2Marshaller createJaxb2Marshaller(Class<?> clazz) {
@@ -70,7 +108,7 @@ public class Jaxb2HttpMessageConverter extends Jaxb2RootElementHttpMessageConver
     marshaller.setSupportJaxbElementClass(this.supportJaxbElementClass);
 
     Map<String, Object> jaxbProperties = new HashMap<>();
-    jaxbProperties.put(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+    jaxbProperties.put(Marshaller.JAXB_FORMATTED_OUTPUT, this.formattedOutput);
     if (this.namespacePrefixMapper != null) {
       jaxbProperties.put("com.sun.xml.bind.namespacePrefixMapper", this.namespacePrefixMapper);
     }
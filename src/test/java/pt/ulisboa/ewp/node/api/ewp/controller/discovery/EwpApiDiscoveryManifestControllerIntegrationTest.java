@@ -1,11 +1,14 @@
 package pt.ulisboa.ewp.node.api.ewp.controller.discovery;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.xpath;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
@@ -90,4 +93,40 @@ public class EwpApiDiscoveryManifestControllerIntegrationTest extends
         "/*[local-name()='manifest']/*[local-name()='host']/*[local-name()='apis-implemented']/*[local-name()='echo']",
         "xsd/ewp/echo/manifest-entry.xsd");
   }
+
+  @Test
+  public void testManifest_RequestWithETagOfCurrentManifest_NotModifiedReturned() throws Exception {
+    String eTag =
+        this.mockMvc
+            .perform(
+                get(EwpApiConstants.API_BASE_URI + "manifest").accept(MediaType.APPLICATION_XML))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+    assertThat(eTag).isNotBlank();
+
+    MvcResult mvcResult =
+        this.mockMvc
+            .perform(
+                get(EwpApiConstants.API_BASE_URI + "manifest")
+                    .accept(MediaType.APPLICATION_XML)
+                    .header(HttpHeaders.IF_NONE_MATCH, "\"other\", " + eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag))
+            .andReturn();
+    assertThat(mvcResult.getResponse().getContentAsByteArray()).isEmpty();
+  }
+
+  @Test
+  public void testManifest_RequestWithOtherETag_ManifestReturned() throws Exception {
+    this.mockMvc
+        .perform(
+            get(EwpApiConstants.API_BASE_URI + "manifest")
+                .accept(MediaType.APPLICATION_XML)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"other\""))
+        .andExpect(status().isOk())
+        .andExpect(
+            xpath("count(/*[local-name()='manifest']/*[local-name()='host'])").number(1D));
+  }
 }
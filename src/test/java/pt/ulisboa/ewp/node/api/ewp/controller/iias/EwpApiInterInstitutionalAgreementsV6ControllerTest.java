@@ -20,6 +20,7 @@ import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.http.HttpMethod;
@@ -151,12 +152,13 @@ class EwpApiInterInstitutionalAgreementsV6ControllerTest extends
     mockProvider2.registerIia(heiId, iiaIds.get(1), UUID.randomUUID().toString(), iias.get(1));
     mockProvider2.registerIia(heiId, iiaIds.get(2), UUID.randomUUID().toString(), iias.get(2));
 
+    List<EwpInterInstitutionalAgreementMapping> mappings = new ArrayList<>();
     for (int index = 0; index < iiaIds.size(); index++) {
-      doReturn(Optional.of(
-          EwpInterInstitutionalAgreementMapping.create(heiId, ounitIds.get(index),
-              iiaIds.get(index), UUID.randomUUID().toString()))).when(mappingRepository)
-          .findByHeiIdAndIiaId(heiId, iiaIds.get(index));
+      mappings.add(EwpInterInstitutionalAgreementMapping.create(heiId, ounitIds.get(index),
+          iiaIds.get(index), UUID.randomUUID().toString()));
     }
+    doReturn(mappings).when(mappingRepository)
+        .findByHeiIdAndIiaIds(Mockito.eq(heiId), Mockito.anyCollection());
 
     doReturn(true).when(hostPluginManager)
         .hasHostProvider(heiId, InterInstitutionalAgreementsV6HostProvider.class);
@@ -200,7 +202,7 @@ class EwpApiInterInstitutionalAgreementsV6ControllerTest extends
   @EnumSource(value = HttpMethod.class, names = {"GET", "POST"})
   public void testInterInstitutionalAgreementsGetRetrievalByIiaIds_ValidHeiIdDividedIntoTwoHostsWithAllButOneExistingMappings_AllKnownIiasReturned(
       HttpMethod method) throws Exception {
-    String heiId = "test";
+    String heiId = UUID.randomUUID().toString();
     List<String> iiaIds = Arrays.asList("a1", "b2", "c3");
     List<String> knownIiaIds = Arrays.asList("a1", "b2");
     List<String> ounitIds = Arrays.asList("o1", "o2");
@@ -220,12 +222,13 @@ class EwpApiInterInstitutionalAgreementsV6ControllerTest extends
 
     mockProvider2.registerIia(heiId, iiaIds.get(1), UUID.randomUUID().toString(), iia2);
 
+    List<EwpInterInstitutionalAgreementMapping> mappings = new ArrayList<>();
     for (int index = 0; index < knownIiaIds.size(); index++) {
-      doReturn(Optional.of(
-          EwpInterInstitutionalAgreementMapping.create(heiId, ounitIds.get(index),
-              knownIiaIds.get(index), UUID.randomUUID().toString()))).when(mappingRepository)
-          .findByHeiIdAndIiaId(heiId, knownIiaIds.get(index));
+      mappings.add(EwpInterInstitutionalAgreementMapping.create(heiId, ounitIds.get(index),
+          knownIiaIds.get(index), UUID.randomUUID().toString()));
     }
+    doReturn(mappings).when(mappingRepository)
+        .findByHeiIdAndIiaIds(Mockito.eq(heiId), Mockito.anyCollection());
 
     doReturn(true).when(hostPluginManager)
         .hasHostProvider(heiId, InterInstitutionalAgreementsV6HostProvider.class);
@@ -262,6 +265,67 @@ class EwpApiInterInstitutionalAgreementsV6ControllerTest extends
     }
   }
 
+  @ParameterizedTest
+  @EnumSource(value = HttpMethod.class, names = {"GET", "POST"})
+  public void testInterInstitutionalAgreementsGetRetrievalByIiaIds_ValidHeiIdDividedIntoSeveralHosts_IiasReturnedInProvidersOrder(
+      HttpMethod method) throws Exception {
+    String heiId = UUID.randomUUID().toString();
+    List<String> iiaIds = Arrays.asList("a1", "b2", "c3", "d4", "e5", "f6");
+
+    List<EwpInterInstitutionalAgreementMapping> mappings = new ArrayList<>();
+    List<MockInterInstitutionalAgreementsV6HostProvider> mockProviders = new ArrayList<>();
+    for (int index = 0; index < iiaIds.size(); index++) {
+      String iiaId = iiaIds.get(index);
+      String ounitId = "o" + index;
+
+      Iia iia = new Iia();
+      Partner partner = new Partner();
+      partner.setHeiId(heiId);
+      partner.setIiaId(iiaId);
+      iia.getPartner().add(partner);
+      iia.setCooperationConditions(new CooperationConditions());
+
+      MockInterInstitutionalAgreementsV6HostProvider mockProvider = new MockInterInstitutionalAgreementsV6HostProvider(
+          iiaIds.size(), 0);
+      mockProvider.registerIia(heiId, iiaId, UUID.randomUUID().toString(), iia);
+      mockProviders.add(mockProvider);
+
+      mappings.add(EwpInterInstitutionalAgreementMapping.create(heiId, ounitId, iiaId,
+          UUID.randomUUID().toString()));
+
+      doReturn(Arrays.asList(mockProvider)).when(hostPluginManager)
+          .getProvidersByHeiIdAndOunitId(heiId, ounitId,
+              InterInstitutionalAgreementsV6HostProvider.class);
+    }
+    doReturn(mappings).when(mappingRepository)
+        .findByHeiIdAndIiaIds(Mockito.eq(heiId), Mockito.anyCollection());
+
+    doReturn(true).when(hostPluginManager)
+        .hasHostProvider(heiId, InterInstitutionalAgreementsV6HostProvider.class);
+
+    doReturn(mockProviders).when(hostPluginManager)
+        .getAllProvidersOfType(heiId, InterInstitutionalAgreementsV6HostProvider.class);
+
+    HttpParams queryParams = new HttpParams();
+    queryParams.param(EwpApiParamConstants.HEI_ID, heiId);
+    queryParams.param(EwpApiParamConstants.IIA_ID, iiaIds);
+
+    String responseXml =
+        executeRequest(registryClient, method,
+            EwpApiConstants.API_BASE_URI + EwpApiInterInstitutionalAgreementsV6Controller.BASE_PATH
+                + "/get",
+            queryParams)
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+    IiasGetResponseV6 response = XmlUtils.unmarshall(responseXml, IiasGetResponseV6.class);
+
+    assertThat(response).isNotNull();
+    assertThat(response.getIia()).extracting(iia -> iia.getPartner().get(0).getIiaId())
+        .containsExactlyElementsOf(iiaIds);
+  }
+
   @ParameterizedTest
   @EnumSource(value = HttpMethod.class, names = {"GET", "POST"})
   public void testInterInstitutionalAgreementsGetRetrievalByIiaCodes_ValidHeiIdDividedIntoTwoHostsWithExistingMappings_AllIiasReturned(
@@ -288,12 +352,13 @@ class EwpApiInterInstitutionalAgreementsV6ControllerTest extends
     mockProvider2.registerIia(heiId, UUID.randomUUID().toString(), iiaCodes.get(1), iia2);
     mockProvider2.registerIia(heiId, UUID.randomUUID().toString(), iiaCodes.get(2), iia3);
 
+    List<EwpInterInstitutionalAgreementMapping> mappings = new ArrayList<>();
     for (int index = 0; index < iiaCodes.size(); index++) {
-      doReturn(Optional.of(
-          EwpInterInstitutionalAgreementMapping.create(heiId, ounitIds.get(index),
-              UUID.randomUUID().toString(), iiaCodes.get(index)))).when(mappingRepository)
-          .findByHeiIdAndIiaCode(heiId, iiaCodes.get(index));
+      mappings.add(EwpInterInstitutionalAgreementMapping.create(heiId, ounitIds.get(index),
+          UUID.randomUUID().toString(), iiaCodes.get(index)));
     }
+    doReturn(mappings).when(mappingRepository)
+        .findByHeiIdAndIiaCodes(Mockito.eq(heiId), Mockito.anyCollection());
 
     doReturn(true).when(hostPluginManager)
         .hasHostProvider(heiId, InterInstitutionalAgreementsV6HostProvider.class);
@@ -337,7 +402,7 @@ class EwpApiInterInstitutionalAgreementsV6ControllerTest extends
   @EnumSource(value = HttpMethod.class, names = {"GET", "POST"})
   public void testInterInstitutionalAgreementsGetRetrievalByIiaCodes_ValidHeiIdDividedIntoTwoHostsWithAllButOneExistingMappings_AllKnownIiasReturned(
       HttpMethod method) throws Exception {
-    String heiId = "test";
+    String heiId = UUID.randomUUID().toString();
     List<String> iiaCodes = Arrays.asList("a1", "b2", "c3");
     List<String> knownIiaCodes = Arrays.asList("a1", "b2");
     List<String> ounitIds = Arrays.asList("o1", "o2");
@@ -357,12 +422,13 @@ class EwpApiInterInstitutionalAgreementsV6ControllerTest extends
 
     mockProvider2.registerIia(heiId, UUID.randomUUID().toString(), iiaCodes.get(1), iia2);
 
+    List<EwpInterInstitutionalAgreementMapping> mappings = new ArrayList<>();
     for (int index = 0; index < knownIiaCodes.size(); index++) {
-      doReturn(Optional.of(
-          EwpInterInstitutionalAgreementMapping.create(heiId, ounitIds.get(index),
-              UUID.randomUUID().toString(), knownIiaCodes.get(index)))).when(mappingRepository)
-          .findByHeiIdAndIiaCode(heiId, knownIiaCodes.get(index));
+      mappings.add(EwpInterInstitutionalAgreementMapping.create(heiId, ounitIds.get(index),
+          UUID.randomUUID().toString(), knownIiaCodes.get(index)));
     }
+    doReturn(mappings).when(mappingRepository)
+        .findByHeiIdAndIiaCodes(Mockito.eq(heiId), Mockito.anyCollection());
 
     doReturn(true).when(hostPluginManager)
         .hasHostProvider(heiId, InterInstitutionalAgreementsV6HostProvider.class);
@@ -19,6 +19,7 @@ import javax.annotation.Nullable;
 import org.apache.commons.lang3.tuple.Pair;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.http.HttpMethod;
@@ -69,13 +70,13 @@ class EwpApiInterInstitutionalAgreementsApprovalV1ControllerTest extends
         3);
     mockProvider2.registerApprovals(approvingHeiId, approvals.get(1), approvals.get(2));
 
+    List<EwpInterInstitutionalAgreementMapping> mappings = new ArrayList<>();
     for (int index = 0; index < iiaIds.size(); index++) {
-      EwpInterInstitutionalAgreementMapping mapping = EwpInterInstitutionalAgreementMapping.create(
-          approvingHeiId, ounitIds.get(index),
-          iiaIds.get(index), UUID.randomUUID().toString());
-      doReturn(Optional.of(mapping)).when(mappingRepository)
-          .findByHeiIdAndIiaId(approvingHeiId, iiaIds.get(index));
+      mappings.add(EwpInterInstitutionalAgreementMapping.create(approvingHeiId, ounitIds.get(index),
+          iiaIds.get(index), UUID.randomUUID().toString()));
     }
+    doReturn(mappings).when(mappingRepository)
+        .findByHeiIdAndIiaIds(Mockito.eq(approvingHeiId), Mockito.anyCollection());
 
     doReturn(true).when(hostPluginManager)
         .hasHostProvider(approvingHeiId, InterInstitutionalAgreementsApprovalV1HostProvider.class);
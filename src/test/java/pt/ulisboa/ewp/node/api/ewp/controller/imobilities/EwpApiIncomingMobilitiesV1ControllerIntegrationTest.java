@@ -9,10 +9,11 @@ import eu.erasmuswithoutpaper.api.imobilities.v1.endpoints.StudentMobilityForStu
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
+import java.util.UUID;
 import java.util.stream.Collectors;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.http.HttpMethod;
@@ -66,12 +67,13 @@ class EwpApiIncomingMobilitiesV1ControllerIntegrationTest extends
     mockProvider2.registerIncomingMobility(receivingHeiId, omobilityIds.get(1), mobilities.get(1));
     mockProvider2.registerIncomingMobility(receivingHeiId, omobilityIds.get(2), mobilities.get(2));
 
+    List<EwpOutgoingMobilityMapping> mappings = new ArrayList<>();
     for (int index = 0; index < omobilityIds.size(); index++) {
-      doReturn(Optional.of(
-          EwpOutgoingMobilityMapping.create(receivingHeiId, ounitIds.get(index),
-              omobilityIds.get(index)))).when(mappingRepository)
-          .findByHeiIdAndOmobilityId(receivingHeiId, omobilityIds.get(index));
+      mappings.add(EwpOutgoingMobilityMapping.create(receivingHeiId, ounitIds.get(index),
+          omobilityIds.get(index)));
     }
+    doReturn(mappings).when(mappingRepository)
+        .findByHeiIdAndOmobilityIds(Mockito.eq(receivingHeiId), Mockito.anyCollection());
 
     doReturn(true).when(hostPluginManager)
         .hasHostProvider(receivingHeiId, IncomingMobilitiesV1HostProvider.class);
@@ -118,7 +120,7 @@ class EwpApiIncomingMobilitiesV1ControllerIntegrationTest extends
   @EnumSource(value = HttpMethod.class, names = {"GET", "POST"})
   public void testIncomingMobilitiesGetRetrievalByOmobilityIds_ValidHeiIdDividedIntoTwoHostsWithAllButOneExistingMappings_AllKnownIiasReturned(
       HttpMethod method) throws Exception {
-    String receivingHeiId = "test";
+    String receivingHeiId = UUID.randomUUID().toString();
     List<String> ounitIds = Arrays.asList("o1", "o2", "o3");
     List<String> omobilityIds = Arrays.asList("a1", "b2", "c3");
     List<String> knownOmobilityIds = omobilityIds.subList(0, 2);
@@ -140,12 +142,13 @@ class EwpApiIncomingMobilitiesV1ControllerIntegrationTest extends
 
     mockProvider2.registerIncomingMobility(receivingHeiId, omobilityIds.get(1), mobilities.get(1));
 
+    List<EwpOutgoingMobilityMapping> mappings = new ArrayList<>();
     for (int index = 0; index < omobilityIds.size(); index++) {
-      doReturn(Optional.of(
-          EwpOutgoingMobilityMapping.create(receivingHeiId, ounitIds.get(index),
-              omobilityIds.get(index)))).when(mappingRepository)
-          .findByHeiIdAndOmobilityId(receivingHeiId, omobilityIds.get(index));
+      mappings.add(EwpOutgoingMobilityMapping.create(receivingHeiId, ounitIds.get(index),
+          omobilityIds.get(index)));
     }
+    doReturn(mappings).when(mappingRepository)
+        .findByHeiIdAndOmobilityIds(Mockito.eq(receivingHeiId), Mockito.anyCollection());
 
     doReturn(true).when(hostPluginManager)
         .hasHostProvider(receivingHeiId, IncomingMobilitiesV1HostProvider.class);
@@ -140,12 +140,13 @@ class EwpApiIncomingMobilityToRsV1ControllerIntegrationTest extends
     mockProvider2.registerTranscriptOfRecords(receivingHeiId, omobilityIds.get(2),
         tors.get(2));
 
+    List<EwpOutgoingMobilityMapping> mappings = new ArrayList<>();
     for (int index = 0; index < omobilityIds.size(); index++) {
-      doReturn(Optional.of(
-          EwpOutgoingMobilityMapping.create(receivingHeiId, ounitIds.get(index),
-              omobilityIds.get(index)))).when(mappingRepository)
-          .findByHeiIdAndOmobilityId(receivingHeiId, omobilityIds.get(index));
+      mappings.add(EwpOutgoingMobilityMapping.create(receivingHeiId, ounitIds.get(index),
+          omobilityIds.get(index)));
     }
+    doReturn(mappings).when(mappingRepository)
+        .findByHeiIdAndOmobilityIds(Mockito.eq(receivingHeiId), Mockito.anyCollection());
 
     doReturn(true).when(hostPluginManager)
         .hasHostProvider(receivingHeiId, IncomingMobilityToRsV1HostProvider.class);
@@ -194,7 +195,7 @@ class EwpApiIncomingMobilityToRsV1ControllerIntegrationTest extends
   @EnumSource(value = HttpMethod.class, names = {"GET", "POST"})
   public void testOutgoingMobilityToRsGetRetrievalByOmobilityIds_ValidHeiIdDividedIntoTwoHostsWithAllButOneExistingMappings_AllKnownToRsReturned(
       HttpMethod method) throws Exception {
-    String receivingHeiId = "test";
+    String receivingHeiId = UUID.randomUUID().toString();
     List<String> ounitIds = Arrays.asList("o1", "o2", "o3");
     List<String> omobilityIds = Arrays.asList("a1", "b2", "c3");
     List<String> knownOmobilityIds = omobilityIds.subList(0, 2);
@@ -221,12 +222,13 @@ class EwpApiIncomingMobilityToRsV1ControllerIntegrationTest extends
     mockProvider2.registerTranscriptOfRecords(receivingHeiId, omobilityIds.get(1),
         tors.get(1));
 
+    List<EwpOutgoingMobilityMapping> mappings = new ArrayList<>();
     for (int index = 0; index < knownOmobilityIds.size(); index++) {
-      doReturn(Optional.of(
-          EwpOutgoingMobilityMapping.create(receivingHeiId, ounitIds.get(index),
-              knownOmobilityIds.get(index)))).when(mappingRepository)
-          .findByHeiIdAndOmobilityId(receivingHeiId, knownOmobilityIds.get(index));
+      mappings.add(EwpOutgoingMobilityMapping.create(receivingHeiId, ounitIds.get(index),
+          knownOmobilityIds.get(index)));
     }
+    doReturn(mappings).when(mappingRepository)
+        .findByHeiIdAndOmobilityIds(Mockito.eq(receivingHeiId), Mockito.anyCollection());
 
     doReturn(true).when(hostPluginManager)
         .hasHostProvider(receivingHeiId, IncomingMobilityToRsV1HostProvider.class);
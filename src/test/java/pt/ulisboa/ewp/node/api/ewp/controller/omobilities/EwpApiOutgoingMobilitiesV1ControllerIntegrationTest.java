@@ -135,12 +135,13 @@ class EwpApiOutgoingMobilitiesV1ControllerIntegrationTest extends
     mockProvider2.registerOutgoingMobility(sendingHeiId, omobilityIds.get(1), mobilities.get(1));
     mockProvider2.registerOutgoingMobility(sendingHeiId, omobilityIds.get(2), mobilities.get(2));
 
+    List<EwpOutgoingMobilityMapping> mappings = new ArrayList<>();
     for (int index = 0; index < omobilityIds.size(); index++) {
-      doReturn(Optional.of(
-          EwpOutgoingMobilityMapping.create(sendingHeiId, ounitIds.get(index),
-              omobilityIds.get(index)))).when(mappingRepository)
-          .findByHeiIdAndOmobilityId(sendingHeiId, omobilityIds.get(index));
+      mappings.add(EwpOutgoingMobilityMapping.create(sendingHeiId, ounitIds.get(index),
+          omobilityIds.get(index)));
     }
+    doReturn(mappings).when(mappingRepository)
+        .findByHeiIdAndOmobilityIds(Mockito.eq(sendingHeiId), Mockito.anyCollection());
 
     doReturn(true).when(hostPluginManager)
         .hasHostProvider(sendingHeiId, OutgoingMobilitiesV1HostProvider.class);
@@ -187,7 +188,7 @@ class EwpApiOutgoingMobilitiesV1ControllerIntegrationTest extends
   @EnumSource(value = HttpMethod.class, names = {"GET", "POST"})
   public void testOutgoingMobilitiesGetRetrievalByOmobilityIds_ValidHeiIdDividedIntoTwoHostsWithAllButOneExistingMappings_AllKnownIiasReturned(
       HttpMethod method) throws Exception {
-    String sendingHeiId = "test";
+    String sendingHeiId = UUID.randomUUID().toString();
     List<String> ounitIds = Arrays.asList("o1", "o2", "o3");
     List<String> omobilityIds = Arrays.asList("a1", "b2", "c3");
     List<String> knownOmobilityIds = omobilityIds.subList(0, 2);
@@ -213,12 +214,13 @@ class EwpApiOutgoingMobilitiesV1ControllerIntegrationTest extends
 
     mockProvider2.registerOutgoingMobility(sendingHeiId, omobilityIds.get(1), mobilities.get(1));
 
+    List<EwpOutgoingMobilityMapping> mappings = new ArrayList<>();
     for (int index = 0; index < omobilityIds.size(); index++) {
-      doReturn(Optional.of(
-          EwpOutgoingMobilityMapping.create(sendingHeiId, ounitIds.get(index),
-              omobilityIds.get(index)))).when(mappingRepository)
-          .findByHeiIdAndOmobilityId(sendingHeiId, omobilityIds.get(index));
+      mappings.add(EwpOutgoingMobilityMapping.create(sendingHeiId, ounitIds.get(index),
+          omobilityIds.get(index)));
     }
+    doReturn(mappings).when(mappingRepository)
+        .findByHeiIdAndOmobilityIds(Mockito.eq(sendingHeiId), Mockito.anyCollection());
 
     doReturn(true).when(hostPluginManager)
         .hasHostProvider(sendingHeiId, OutgoingMobilitiesV1HostProvider.class);
@@ -144,12 +144,13 @@ class EwpApiOutgoingMobilityLearningAgreementsV1ControllerIntegrationTest extend
     mockProvider2.registerLearningAgreement(sendingHeiId, omobilityIds.get(2),
         learningAgreements.get(2));
 
+    List<EwpOutgoingMobilityMapping> mappings = new ArrayList<>();
     for (int index = 0; index < omobilityIds.size(); index++) {
-      doReturn(Optional.of(
-          EwpOutgoingMobilityMapping.create(sendingHeiId, ounitIds.get(index),
-              omobilityIds.get(index)))).when(mappingRepository)
-          .findByHeiIdAndOmobilityId(sendingHeiId, omobilityIds.get(index));
+      mappings.add(EwpOutgoingMobilityMapping.create(sendingHeiId, ounitIds.get(index),
+          omobilityIds.get(index)));
     }
+    doReturn(mappings).when(mappingRepository)
+        .findByHeiIdAndOmobilityIds(Mockito.eq(sendingHeiId), Mockito.anyCollection());
 
     doReturn(true).when(hostPluginManager)
         .hasHostProvider(sendingHeiId, OutgoingMobilityLearningAgreementsV1HostProvider.class);
@@ -198,7 +199,7 @@ class EwpApiOutgoingMobilityLearningAgreementsV1ControllerIntegrationTest extend
   @EnumSource(value = HttpMethod.class, names = {"GET", "POST"})
   public void testOutgoingMobilityLearningAgreementsGetRetrievalByOmobilityIds_ValidHeiIdDividedIntoTwoHostsWithAllButOneExistingMappings_AllKnownLearningAgreementsReturned(
       HttpMethod method) throws Exception {
-    String sendingHeiId = "test";
+    String sendingHeiId = UUID.randomUUID().toString();
     List<String> ounitIds = Arrays.asList("o1", "o2", "o3");
     List<String> omobilityIds = Arrays.asList("a1", "b2", "c3");
     List<String> knownOmobilityIds = omobilityIds.subList(0, 2);
@@ -225,12 +226,13 @@ class EwpApiOutgoingMobilityLearningAgreementsV1ControllerIntegrationTest extend
     mockProvider2.registerLearningAgreement(sendingHeiId, omobilityIds.get(1),
         learningAgreements.get(1));
 
+    List<EwpOutgoingMobilityMapping> mappings = new ArrayList<>();
     for (int index = 0; index < knownOmobilityIds.size(); index++) {
-      doReturn(Optional.of(
-          EwpOutgoingMobilityMapping.create(sendingHeiId, ounitIds.get(index),
-              knownOmobilityIds.get(index)))).when(mappingRepository)
-          .findByHeiIdAndOmobilityId(sendingHeiId, knownOmobilityIds.get(index));
+      mappings.add(EwpOutgoingMobilityMapping.create(sendingHeiId, ounitIds.get(index),
+          knownOmobilityIds.get(index)));
     }
+    doReturn(mappings).when(mappingRepository)
+        .findByHeiIdAndOmobilityIds(Mockito.eq(sendingHeiId), Mockito.anyCollection());
 
     doReturn(true).when(hostPluginManager)
         .hasHostProvider(sendingHeiId, OutgoingMobilityLearningAgreementsV1HostProvider.class);
@@ -299,10 +301,10 @@ class EwpApiOutgoingMobilityLearningAgreementsV1ControllerIntegrationTest extend
 
     mockProvider.registerUpdateDataToResponse(updateData, expectedResponse);
 
-    doReturn(Optional.of(
+    doReturn(List.of(
         EwpOutgoingMobilityMapping.create(sendingHeiId, ounitId,
             omobilityId))).when(mappingRepository)
-        .findByHeiIdAndOmobilityId(sendingHeiId, omobilityId);
+        .findByHeiIdAndOmobilityIds(Mockito.eq(sendingHeiId), Mockito.anyCollection());
 
     doReturn(true).when(hostPluginManager)
         .hasHostProvider(sendingHeiId, OutgoingMobilityLearningAgreementsV1HostProvider.class);
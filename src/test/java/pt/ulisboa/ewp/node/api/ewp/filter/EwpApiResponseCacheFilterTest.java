@@ -0,0 +1,112 @@
+package pt.ulisboa.ewp.node.api.ewp.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import pt.ulisboa.ewp.node.api.ewp.security.EwpApiHostAuthenticationToken;
+import pt.ulisboa.ewp.node.api.ewp.security.EwpApiHostPrincipal;
+import pt.ulisboa.ewp.node.config.cache.EwpApiResponseCacheProperties;
+import pt.ulisboa.ewp.node.domain.entity.api.ewp.auth.EwpAuthenticationMethod;
+import pt.ulisboa.ewp.node.service.ewp.cache.EwpApiResponseCacheService;
+import pt.ulisboa.ewp.node.utils.EwpApi;
+import pt.ulisboa.ewp.node.utils.http.HttpSignatureUtils;
+
+class EwpApiResponseCacheFilterTest {
+
+  private static final String RESPONSE_BODY = "<institutions-response/>";
+
+  private EwpApiResponseCacheFilter filter;
+
+  private final AtomicInteger numberInvocations = new AtomicInteger();
+
+  @BeforeEach
+  void setUp() {
+    EwpApiResponseCacheProperties properties = new EwpApiResponseCacheProperties();
+    properties.setEnabled(true);
+    properties.getTimeToLiveInSeconds().put(EwpApi.INSTITUTIONS, 60L);
+    filter = new EwpApiResponseCacheFilter(new EwpApiResponseCacheService(properties));
+
+    SecurityContextHolder.getContext().setAuthentication(
+        new EwpApiHostAuthenticationToken(EwpAuthenticationMethod.HTTP_SIGNATURE,
+            new EwpApiHostPrincipal(List.of("uw.edu.pl"))));
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void testDoFilter_SameRequestTwice_SecondResponseFromCacheWithSameBodyAndDigest()
+      throws Exception {
+    MockHttpServletRequest firstRequest = createRequest();
+    MockHttpServletResponse firstResponse = doFilter(firstRequest, 200);
+    MockHttpServletRequest secondRequest = createRequest();
+    MockHttpServletResponse secondResponse = doFilter(secondRequest, 200);
+
+    assertThat(numberInvocations).hasValue(1);
+    assertThat(secondResponse.getContentAsString()).isEqualTo(RESPONSE_BODY)
+        .isEqualTo(firstResponse.getContentAsString());
+    assertThat(secondResponse.getContentType()).isEqualTo(firstResponse.getContentType());
+    assertThat(secondRequest.getAttribute(
+        EwpApiResponseCacheFilter.REQUEST_ATTRIBUTE_RESPONSE_DIGEST_HEADER_VALUE))
+        .isEqualTo(HttpSignatureUtils.calculateDigestHeaderValue(
+            RESPONSE_BODY.getBytes(StandardCharsets.UTF_8)))
+        .isEqualTo(firstRequest.getAttribute(
+            EwpApiResponseCacheFilter.REQUEST_ATTRIBUTE_RESPONSE_DIGEST_HEADER_VALUE));
+  }
+
+  @Test
+  void testDoFilter_ErrorResponse_ResponseNotCached() throws Exception {
+    doFilter(createRequest(), 400);
+    MockHttpServletResponse response = doFilter(createRequest(), 400);
+
+    assertThat(numberInvocations).hasValue(2);
+    assertThat(response.getContentAsString()).isEqualTo(RESPONSE_BODY);
+  }
+
+  @Test
+  void testDoFilter_RequestsOfDifferentClients_ResponsesCachedPerClient() throws Exception {
+    doFilter(createRequest(), 200);
+    SecurityContextHolder.getContext().setAuthentication(
+        new EwpApiHostAuthenticationToken(EwpAuthenticationMethod.HTTP_SIGNATURE,
+            new EwpApiHostPrincipal(List.of("uma.es"))));
+    doFilter(createRequest(), 200);
+
+    assertThat(numberInvocations).hasValue(2);
+  }
+
+  private MockHttpServletRequest createRequest() {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET",
+        "/api/ewp/institutions/v2");
+    request.addParameter("hei_id", "ulisboa.pt");
+    return request;
+  }
+
+  private MockHttpServletResponse doFilter(MockHttpServletRequest request, int status)
+      throws ServletException, IOException {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    FilterChain chain = (chainRequest, chainResponse) -> {
+      numberInvocations.incrementAndGet();
+      HttpServletResponse httpServletResponse = (HttpServletResponse) chainResponse;
+      httpServletResponse.setStatus(status);
+      httpServletResponse.setContentType(MediaType.APPLICATION_XML_VALUE);
+      httpServletResponse.getOutputStream().write(RESPONSE_BODY.getBytes(StandardCharsets.UTF_8));
+    };
+    filter.doFilter(request, response, chain);
+    return response;
+  }
+}
@@ -0,0 +1,51 @@
+package pt.ulisboa.ewp.node.api.ewp.wrapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.StreamUtils;
+
+class EwpApiHttpRequestWrapperTest {
+
+  @Test
+  void testGetBody_PostRequestWithNonAsciiBody_BodyAsSentByClient() throws IOException {
+    String content = "<echo>Reçción – Lisboa</echo>";
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/test");
+    request.setContentType(MediaType.APPLICATION_XML_VALUE);
+    request.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    request.setContent(content.getBytes(StandardCharsets.UTF_8));
+
+    EwpApiHttpRequestWrapper wrapper = new EwpApiHttpRequestWrapper(request);
+
+    assertThat(wrapper.getBodyBytes()).isEqualTo(content.getBytes(StandardCharsets.UTF_8));
+    assertThat(wrapper.getBody()).isEqualTo(content);
+    assertThat(StreamUtils.copyToByteArray(wrapper.getInputStream()))
+        .isEqualTo(wrapper.getBodyBytes());
+  }
+
+  @Test
+  void testGetBody_FormPostRequest_BodyEncodedFromParameters() throws IOException {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/test");
+    request.setContentType(MediaType.APPLICATION_FORM_URLENCODED_VALUE);
+    request.addParameter("echo", "a", "b");
+
+    EwpApiHttpRequestWrapper wrapper = new EwpApiHttpRequestWrapper(request);
+
+    assertThat(wrapper.getBody()).isEqualTo("echo=a&echo=b");
+    assertThat(wrapper.getBodyBytes())
+        .isEqualTo("echo=a&echo=b".getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void testGetBody_GetRequest_EmptyBody() throws IOException {
+    EwpApiHttpRequestWrapper wrapper = new EwpApiHttpRequestWrapper(
+        new MockHttpServletRequest("GET", "/test"));
+
+    assertThat(wrapper.getBody()).isEmpty();
+    assertThat(wrapper.getBodyBytes()).isEmpty();
+  }
+}
@@ -91,6 +91,36 @@ public class ForwardEwpApiAuthenticationControllerIntegrationTest extends
         .andExpect(status().isUnauthorized());
   }
 
+  @Test
+  public void testGetAuthenticatedWithSecretOfChangedHost() throws Exception {
+    Host host = hostRepository.findByCode("sample-host").get();
+    String originalSecret = host.getForwardEwpApiConfiguration().getSecret();
+    String newSecret = UUID.randomUUID().toString();
+    this.mockMvc
+        .perform(getRequest(createToken(host.getCode(), originalSecret)))
+        .andExpect(status().isOk());
+
+    try {
+      host.getForwardEwpApiConfiguration().setSecret(newSecret);
+      hostRepository.persist(host);
+
+      this.mockMvc
+          .perform(getRequest(createToken(host.getCode(), originalSecret)))
+          .andExpect(status().isUnauthorized());
+      this.mockMvc
+          .perform(getRequest(createToken(host.getCode(), newSecret)))
+          .andExpect(status().isOk());
+
+    } finally {
+      host.getForwardEwpApiConfiguration().setSecret(originalSecret);
+      hostRepository.persist(host);
+    }
+  }
+
+  private String createToken(String issuer, String secret) {
+    return JWT.create().withIssuer(issuer).sign(Algorithm.HMAC256(secret));
+  }
+
   private MockHttpServletRequestBuilder getRequest(String token) {
     return get(ForwardEwpApiConstants.API_BASE_URI + "authentication/test")
         .header(
@@ -0,0 +1,66 @@
+package pt.ulisboa.ewp.node.client.ewp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import javax.ws.rs.client.Client;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pt.ulisboa.ewp.node.client.ewp.EwpClient.KeystoreBoundClient;
+import pt.ulisboa.ewp.node.utils.keystore.DecodedKeystore;
+
+class EwpClientKeystoreBoundClientUnitTest {
+
+  private Client client;
+  private PoolingHttpClientConnectionManager connectionManager;
+  private KeystoreBoundClient keystoreBoundClient;
+
+  @BeforeEach
+  void setUp() {
+    client = mock(Client.class);
+    connectionManager = mock(PoolingHttpClientConnectionManager.class);
+    keystoreBoundClient = new KeystoreBoundClient(mock(DecodedKeystore.class), client,
+        connectionManager);
+  }
+
+  @Test
+  void testRetire_NoRequestInFlight_ClientClosed() {
+    keystoreBoundClient.retire();
+
+    assertThat(keystoreBoundClient.isClosed()).isTrue();
+    assertThat(keystoreBoundClient.acquire()).isFalse();
+    verify(client).close();
+    verify(connectionManager).shutdown();
+  }
+
+  @Test
+  void testRetire_RequestsInFlight_ClientClosedOnceLastRequestReleasesIt() {
+    assertThat(keystoreBoundClient.acquire()).isTrue();
+    assertThat(keystoreBoundClient.acquire()).isTrue();
+
+    keystoreBoundClient.retire();
+    keystoreBoundClient.release();
+
+    assertThat(keystoreBoundClient.isClosed()).isFalse();
+    verify(client, never()).close();
+    verify(connectionManager, never()).shutdown();
+
+    keystoreBoundClient.release();
+
+    assertThat(keystoreBoundClient.isClosed()).isTrue();
+    verify(client).close();
+    verify(connectionManager).shutdown();
+  }
+
+  @Test
+  void testRelease_ClientNotRetired_ClientNotClosed() {
+    assertThat(keystoreBoundClient.acquire()).isTrue();
+    keystoreBoundClient.release();
+
+    assertThat(keystoreBoundClient.isClosed()).isFalse();
+    verify(client, never()).close();
+  }
+}
@@ -14,7 +14,9 @@ import eu.erasmuswithoutpaper.api.architecture.v1.MultilineStringV1;
 import eu.erasmuswithoutpaper.api.architecture.v1.MultilineStringWithOptionalLangV1;
 import eu.erasmuswithoutpaper.api.echo.v2.ResponseV2;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.security.KeyStoreException;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.NoSuchProviderException;
 import java.security.UnrecoverableKeyException;
@@ -41,6 +43,7 @@ import pt.ulisboa.ewp.node.client.ewp.exception.EwpClientProcessorException;
 import pt.ulisboa.ewp.node.client.ewp.operation.request.EwpRequest;
 import pt.ulisboa.ewp.node.client.ewp.operation.request.body.EwpRequestFormDataBody;
 import pt.ulisboa.ewp.node.client.ewp.operation.result.EwpSuccessOperationResult;
+import pt.ulisboa.ewp.node.config.client.EwpClientProperties;
 import pt.ulisboa.ewp.node.domain.entity.api.ewp.auth.EwpAuthenticationMethod;
 import pt.ulisboa.ewp.node.service.ewp.security.signer.request.RequestAuthenticationSigner;
 import pt.ulisboa.ewp.node.service.ewp.security.verifier.EwpAuthenticationResult;
@@ -73,7 +76,7 @@ class EwpClientTest extends AbstractTest {
     EwpHttpCommunicationLogService ewpHttpCommunicationLogService = mock(
         EwpHttpCommunicationLogService.class);
     this.client = new EwpClient(keyStoreService, requestSigner, responseVerifier,
-        ewpHttpCommunicationLogService, createJaxb2Marshaller());
+        ewpHttpCommunicationLogService, createJaxb2Marshaller(), new EwpClientProperties());
   }
 
   @Test
@@ -113,6 +116,41 @@ class EwpClientTest extends AbstractTest {
     assertThat(result.getResponseBody().getEcho(), equalTo(Collections.singletonList("test_echo")));
   }
 
+  @Test
+  void testExecute_SuccessResponseWithNonAsciiCharacters_RawBodyAndDigestOfReceivedBytes()
+      throws EwpClientErrorException, UnrecoverableKeyException, CertificateException, NoSuchAlgorithmException, KeyStoreException, IOException, OperatorCreationException, NoSuchProviderException {
+
+    // Mock dependencies
+    doReturn(KeyStoreGenerator.generate("", "1")).when(keyStoreService)
+        .getDecodedKeyStoreFromStorage();
+
+    EwpAuthenticationResult authenticationResult = EwpAuthenticationResult
+        .createValid(EwpAuthenticationMethod.HTTP_SIGNATURE);
+    doReturn(authenticationResult).when(responseVerifier)
+        .verifyAgainstMethod(ArgumentMatchers.any(), ArgumentMatchers.any());
+
+    EwpRequest request = new EwpRequest(HttpMethod.GET,
+        "http://localhost:" + mockServer.getPort() + "/test")
+        .authenticationMethod(EwpAuthenticationMethod.HTTP_SIGNATURE);
+
+    ResponseV2 expectedResponse = new ResponseV2();
+    expectedResponse.getHeiId().add("test_heiid");
+    expectedResponse.getEcho().add("Universidade de Lisboa \u2013 Re\u00e7ci\u00f3n");
+    String responseBody = XmlUtils.marshall(createJaxb2Marshaller(), expectedResponse);
+
+    mockServer.when(request().withMethod("GET").withPath("/test"))
+        .respond(response().withStatusCode(200)
+            .withContentType(MediaType.APPLICATION_XML_UTF_8)
+            .withBody(responseBody.getBytes(StandardCharsets.UTF_8)));
+
+    EwpSuccessOperationResult<ResponseV2> result = client.execute(request, ResponseV2.class);
+    assertThat(result.getResponseBody().getEcho(), equalTo(expectedResponse.getEcho()));
+    assertThat(result.getResponse().getRawBody(), equalTo(responseBody));
+    assertThat(result.getResponse().getRawBodySha256Digest(),
+        equalTo(MessageDigest.getInstance("SHA-256")
+            .digest(responseBody.getBytes(StandardCharsets.UTF_8))));
+  }
+
   @Test
   void testExecute_ValidPostRequestAndSuccessResponse_ReturnSuccessOptionResult()
       throws EwpClientErrorException, UnrecoverableKeyException, CertificateException, NoSuchAlgorithmException, KeyStoreException, IOException, OperatorCreationException, NoSuchProviderException {
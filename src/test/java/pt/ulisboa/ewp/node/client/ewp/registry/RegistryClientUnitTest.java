@@ -0,0 +1,131 @@
+package pt.ulisboa.ewp.node.client.ewp.registry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import eu.erasmuswithoutpaper.registryclient.CatalogueFetcher.Http200RegistryResponse;
+import eu.erasmuswithoutpaper.registryclient.ClientImplOptions;
+import eu.erasmuswithoutpaper.registryclient.RegistryClient.RefreshFailureException;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.CertificateEncodingException;
+import java.security.cert.X509Certificate;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class RegistryClientUnitTest {
+
+  private static final String EMPTY_CATALOGUE =
+      "<catalogue xmlns=\"https://github.com/erasmus-without-paper/ewp-specs-api-registry/tree/stable-v1\"/>";
+
+  private final AtomicReference<String> catalogue = new AtomicReference<>(EMPTY_CATALOGUE);
+
+  private RegistryClient registryClient;
+
+  @BeforeEach
+  void setUp() {
+    ClientImplOptions options = new ClientImplOptions();
+    options.setAutoRefreshing(false);
+    options.setCatalogueFetcher(
+        ifNoneMatch -> new Http200RegistryResponse(
+            catalogue.get().getBytes(StandardCharsets.UTF_8), null,
+            new Date(System.currentTimeMillis() + 60000)));
+    registryClient = new RegistryClient(options);
+  }
+
+  @AfterEach
+  void tearDown() {
+    registryClient.close();
+  }
+
+  @Test
+  void testGetApiConfiguration_SameKeyTwice_ResolvedOnce() {
+    AtomicInteger numberResolutions = new AtomicInteger();
+
+    Optional<String> firstConfiguration = registryClient.getApiConfiguration("test", "iias", 6,
+        () -> Optional.of("configuration-" + numberResolutions.incrementAndGet()));
+    Optional<String> secondConfiguration = registryClient.getApiConfiguration("test", "iias", 6,
+        () -> Optional.of("configuration-" + numberResolutions.incrementAndGet()));
+    Optional<String> otherVersionConfiguration = registryClient.getApiConfiguration("test",
+        "iias", 7, Optional::empty);
+
+    assertThat(firstConfiguration).contains("configuration-1");
+    assertThat(secondConfiguration).contains("configuration-1");
+    assertThat(otherVersionConfiguration).isEmpty();
+    assertThat(numberResolutions).hasValue(1);
+  }
+
+  @Test
+  void testGetApiConfiguration_CatalogueRefreshed_ResolvedAgain() throws RefreshFailureException {
+    AtomicInteger numberResolutions = new AtomicInteger();
+    registryClient.getApiConfiguration("test", "iias", 6,
+        () -> Optional.of("configuration-" + numberResolutions.incrementAndGet()));
+
+    registryClient.refresh();
+
+    Optional<String> configuration = registryClient.getApiConfiguration("test", "iias", 6,
+        () -> Optional.of("configuration-" + numberResolutions.incrementAndGet()));
+    assertThat(configuration).contains("configuration-2");
+  }
+
+  @Test
+  void testFindClientRsaPublicKey_KeyRemovedFromRefreshedCatalogue_KeyNoLongerFound()
+      throws NoSuchAlgorithmException, RefreshFailureException {
+    KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+    keyPairGenerator.initialize(2048);
+    byte[] encodedPublicKey = keyPairGenerator.generateKeyPair().getPublic().getEncoded();
+    String fingerprint = DigestUtils.sha256Hex(encodedPublicKey);
+    catalogue.set(
+        "<catalogue xmlns=\"https://github.com/erasmus-without-paper/ewp-specs-api-registry/tree/stable-v1\">"
+            + "<binaries><rsa-public-key sha-256=\"" + fingerprint + "\">"
+            + Base64.getEncoder().encodeToString(encodedPublicKey) + "</rsa-public-key></binaries>"
+            + "<host><institutions-covered><hei-id>test.pt</hei-id></institutions-covered>"
+            + "<client-credentials-in-use><rsa-public-key sha-256=\"" + fingerprint + "\"/>"
+            + "</client-credentials-in-use></host>"
+            + "<institutions><hei id=\"test.pt\"/></institutions></catalogue>");
+    registryClient.refresh();
+
+    RSAPublicKey publicKey = registryClient.findClientRsaPublicKey(fingerprint);
+    assertThat(publicKey).isNotNull();
+    assertThat(registryClient.findClientRsaPublicKey(fingerprint)).isSameAs(publicKey);
+    assertThat(registryClient.getHeisCoveredByClientKey(publicKey)).containsExactly("test.pt");
+
+    catalogue.set(EMPTY_CATALOGUE);
+    registryClient.refresh();
+
+    assertThat(registryClient.findClientRsaPublicKey(fingerprint)).isNull();
+    assertThat(registryClient.getHeisCoveredByClientKey(publicKey)).isEmpty();
+  }
+
+  @Test
+  void testGetHeisCoveredByCertificate_KnownAndUnknownCertificates_CoveredHeisOfKnownCertificate()
+      throws CertificateEncodingException, RefreshFailureException {
+    X509Certificate knownCertificate = Mockito.mock(X509Certificate.class);
+    Mockito.when(knownCertificate.getEncoded()).thenReturn(new byte[]{1, 2, 3});
+    X509Certificate unknownCertificate = Mockito.mock(X509Certificate.class);
+    Mockito.when(unknownCertificate.getEncoded()).thenReturn(new byte[]{4, 5, 6});
+    catalogue.set(
+        "<catalogue xmlns=\"https://github.com/erasmus-without-paper/ewp-specs-api-registry/tree/stable-v1\">"
+            + "<host><institutions-covered><hei-id>test.pt</hei-id></institutions-covered>"
+            + "<client-credentials-in-use><certificate sha-256=\""
+            + DigestUtils.sha256Hex(new byte[]{1, 2, 3}) + "\"/>"
+            + "</client-credentials-in-use></host>"
+            + "<institutions><hei id=\"test.pt\"/></institutions></catalogue>");
+    registryClient.refresh();
+
+    assertThat(registryClient.getCertificateKnownInEwpNetwork(
+        new X509Certificate[]{unknownCertificate, knownCertificate})).isSameAs(knownCertificate);
+    assertThat(registryClient.getHeisCoveredByCertificate(knownCertificate))
+        .containsExactly("test.pt");
+    assertThat(registryClient.getHeisCoveredByCertificate(unknownCertificate)).isEmpty();
+  }
+}
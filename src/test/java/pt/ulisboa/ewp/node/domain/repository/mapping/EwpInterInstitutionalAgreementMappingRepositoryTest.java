@@ -0,0 +1,47 @@
+package pt.ulisboa.ewp.node.domain.repository.mapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import pt.ulisboa.ewp.node.AbstractIntegrationTest;
+import pt.ulisboa.ewp.node.domain.entity.mapping.EwpInterInstitutionalAgreementMapping;
+
+class EwpInterInstitutionalAgreementMappingRepositoryTest extends AbstractIntegrationTest {
+
+  @Autowired
+  private EwpInterInstitutionalAgreementMappingRepository mappingRepository;
+
+  @Test
+  public void testFindByHeiIdAndIiaIds_MoreIiaIdsThanMaxValuesPerInClause_AllExistingMappingsReturned() {
+    String heiId = UUID.randomUUID().toString();
+    List<String> existingIiaIds = new ArrayList<>();
+    for (int index = 0; index < 3; index++) {
+      String iiaId = UUID.randomUUID().toString();
+      mappingRepository.persist(EwpInterInstitutionalAgreementMapping.create(heiId, null, iiaId,
+          UUID.randomUUID().toString()));
+      existingIiaIds.add(iiaId);
+    }
+    mappingRepository.persist(EwpInterInstitutionalAgreementMapping.create(
+        UUID.randomUUID().toString(), null, existingIiaIds.get(0), UUID.randomUUID().toString()));
+
+    List<String> requestedIiaIds = new ArrayList<>();
+    for (int index = 0; index < 1000; index++) {
+      requestedIiaIds.add(UUID.randomUUID().toString());
+    }
+    requestedIiaIds.add(0, existingIiaIds.get(0));
+    requestedIiaIds.add(existingIiaIds.get(1));
+    requestedIiaIds.add(existingIiaIds.get(2));
+
+    Collection<EwpInterInstitutionalAgreementMapping> mappings = mappingRepository.findByHeiIdAndIiaIds(
+        heiId, requestedIiaIds);
+
+    assertThat(mappings.stream().map(EwpInterInstitutionalAgreementMapping::getIiaId)
+        .collect(Collectors.toList())).containsExactlyInAnyOrderElementsOf(existingIiaIds);
+  }
+}
@@ -3,8 +3,10 @@ package pt.ulisboa.ewp.node.domain.repository.notification;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import pt.ulisboa.ewp.node.AbstractIntegrationTest;
@@ -63,4 +65,48 @@ class EwpChangeNotificationRepositoryTest extends AbstractIntegrationTest {
     assertThat(updatedNewChangeNotificationOptional.get().isPending()).isTrue();
   }
 
-}
\ No newline at end of file
+  @Test
+  public void testPersist_OldSuccessfulNotificationWithSameKeyAsNewNotification_OldNotificationMaintainsStatus() {
+    EwpOutgoingMobilityChangeNotification oldChangeNotification = new EwpOutgoingMobilityChangeNotification(
+        1, ZonedDateTime.now(), Status.SUCCESS, UUID.randomUUID().toString(),
+        UUID.randomUUID().toString(), UUID.randomUUID().toString());
+    changeNotificationRepository.persist(oldChangeNotification);
+
+    EwpOutgoingMobilityChangeNotification newChangeNotification = new EwpOutgoingMobilityChangeNotification(
+        1, ZonedDateTime.now(), Status.PENDING, oldChangeNotification.getSendingHeiId(),
+        oldChangeNotification.getReceivingHeiId(), oldChangeNotification.getOutgoingMobilityId());
+    changeNotificationRepository.persist(newChangeNotification);
+
+    Optional<EwpChangeNotification> updatedOldChangeNotificationOptional = changeNotificationRepository.findById(
+        oldChangeNotification.getId());
+    assertThat(updatedOldChangeNotificationOptional).isNotEmpty();
+    assertThat(updatedOldChangeNotificationOptional.get().getStatus()).isEqualTo(Status.SUCCESS);
+
+    Optional<EwpChangeNotification> updatedNewChangeNotificationOptional = changeNotificationRepository.findById(
+        newChangeNotification.getId());
+    assertThat(updatedNewChangeNotificationOptional).isNotEmpty();
+    assertThat(updatedNewChangeNotificationOptional.get().isPending()).isTrue();
+  }
+
+  @Test
+  public void testFindAllPendingScheduledUntil_NotificationsScheduledBeforeAndAfterDateTime_OnlyNotificationScheduledBeforeIsReturned() {
+    ZonedDateTime referenceDateTime = ZonedDateTime.now().plusHours(1);
+
+    EwpOutgoingMobilityChangeNotification dueChangeNotification = new EwpOutgoingMobilityChangeNotification(
+        1, referenceDateTime.minusMinutes(30), Status.PENDING, UUID.randomUUID().toString(),
+        UUID.randomUUID().toString(), UUID.randomUUID().toString());
+    changeNotificationRepository.persist(dueChangeNotification);
+
+    EwpOutgoingMobilityChangeNotification notDueChangeNotification = new EwpOutgoingMobilityChangeNotification(
+        1, referenceDateTime.plusMinutes(30), Status.PENDING, UUID.randomUUID().toString(),
+        UUID.randomUUID().toString(), UUID.randomUUID().toString());
+    changeNotificationRepository.persist(notDueChangeNotification);
+
+    List<Long> pendingChangeNotificationIds = changeNotificationRepository
+        .findAllPendingScheduledUntil(referenceDateTime, Integer.MAX_VALUE).stream()
+        .map(EwpChangeNotification::getId)
+        .collect(Collectors.toList());
+    assertThat(pendingChangeNotificationIds.contains(dueChangeNotification.getId())).isTrue();
+    assertThat(pendingChangeNotificationIds.contains(notDueChangeNotification.getId())).isFalse();
+  }
+}
@@ -0,0 +1,90 @@
+package pt.ulisboa.ewp.node.plugin.manager.host;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pt.ulisboa.ewp.node.config.plugin.HostProviderInvocationProperties;
+import pt.ulisboa.ewp.node.exception.ewp.EwpBadRequestException;
+
+class HostProviderInvokerUnitTest {
+
+  private HostProviderInvoker invoker;
+
+  @BeforeEach
+  void setUp() {
+    HostProviderInvocationProperties properties = new HostProviderInvocationProperties();
+    properties.setTimeoutInSeconds(2);
+    invoker = new HostProviderInvoker(properties);
+  }
+
+  @AfterEach
+  void tearDown() {
+    invoker.shutdown();
+  }
+
+  @Test
+  void testInvokeAll_ProvidersDependingOnEachOther_ProvidersInvokedConcurrentlyAndResultsInProvidersOrder() {
+    CountDownLatch latch = new CountDownLatch(3);
+
+    List<String> result = invoker.invokeAll(Arrays.asList("p1", "p2", "p3"), provider -> {
+      latch.countDown();
+      try {
+        // NOTE: only succeeds if all providers are being invoked at the same time
+        assertThat(latch.await(1, TimeUnit.SECONDS)).isTrue();
+        if (provider.equals("p1")) {
+          Thread.sleep(100);
+        }
+      } catch (InterruptedException e) {
+        throw new IllegalStateException(e);
+      }
+      return provider.toUpperCase();
+    });
+
+    assertThat(result).containsExactly("P1", "P2", "P3");
+  }
+
+  @Test
+  void testInvokeAll_ProviderToValuesMap_ResultsInMapOrder() {
+    Map<String, List<String>> providerToValuesMap = new LinkedHashMap<>();
+    providerToValuesMap.put("p2", Arrays.asList("a", "b"));
+    providerToValuesMap.put("p1", Arrays.asList("c"));
+
+    List<String> result = invoker.invokeAll(providerToValuesMap,
+        (provider, values) -> provider + ":" + String.join(",", values));
+
+    assertThat(result).containsExactly("p2:a,b", "p1:c");
+  }
+
+  @Test
+  void testInvokeAll_ProviderThrowsException_ExceptionPropagated() {
+    assertThatThrownBy(() -> invoker.invokeAll(Arrays.asList("p1", "p2"), provider -> {
+      if (provider.equals("p2")) {
+        throw new EwpBadRequestException("Invalid request");
+      }
+      return provider;
+    })).isInstanceOf(EwpBadRequestException.class).hasMessage("Invalid request");
+  }
+
+  @Test
+  void testInvokeAll_ProviderExceedsTimeout_ExceptionThrown() {
+    assertThatThrownBy(() -> invoker.invokeAll(Arrays.asList("p1", "p2"), provider -> {
+      if (provider.equals("p2")) {
+        try {
+          Thread.sleep(10000);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      return provider;
+    })).isInstanceOf(IllegalStateException.class).hasMessageContaining("did not respond");
+  }
+}
@@ -0,0 +1,65 @@
+package pt.ulisboa.ewp.node.service.ewp.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import pt.ulisboa.ewp.node.config.cache.EwpApiResponseCacheProperties;
+import pt.ulisboa.ewp.node.service.ewp.cache.EwpApiResponseCacheService.Key;
+import pt.ulisboa.ewp.node.utils.EwpApi;
+
+class EwpApiResponseCacheServiceTest {
+
+  @Test
+  void testFindCachedApi_ApiWithAndWithoutTimeToLive_OnlyApiWithTimeToLiveCached() {
+    EwpApiResponseCacheService service = createService(true);
+
+    assertThat(service.findCachedApi("/api/ewp/institutions/v2")).contains(EwpApi.INSTITUTIONS);
+    assertThat(service.findCachedApi("/api/ewp/iias/v6/get/"))
+        .contains(EwpApi.INTERINSTITUTIONAL_AGREEMENTS);
+    assertThat(service.findCachedApi("/api/ewp/iias/v6/index")).isEmpty();
+    assertThat(service.findCachedApi("/api/ewp/ounits/v2")).isEmpty();
+    assertThat(createService(false).findCachedApi("/api/ewp/institutions/v2")).isEmpty();
+  }
+
+  @Test
+  void testFind_KeyWithParametersAndHeiIdsInOtherOrder_CachedResponseFound() {
+    EwpApiResponseCacheService service = createService(true);
+    EwpApiCachedResponse response = new EwpApiCachedResponse("application/xml", new byte[0],
+        "SHA-256=47DEQpj8HBSa+/TImW+5JCeuQeRkm5NMpJWZG3hSuFU=");
+
+    service.put(EwpApi.INSTITUTIONS, new Key("/api/ewp/institutions/v2",
+            Map.of("hei_id", new String[]{"a"}, "other", new String[]{"b"}), List.of("x", "y")),
+        response);
+
+    assertThat(service.find(EwpApi.INSTITUTIONS, new Key("/api/ewp/institutions/v2",
+        Map.of("other", new String[]{"b"}, "hei_id", new String[]{"a"}), List.of("y", "x"))))
+        .containsSame(response);
+    assertThat(service.find(EwpApi.INSTITUTIONS, new Key("/api/ewp/institutions/v2",
+        Map.of("hei_id", new String[]{"a"}, "other", new String[]{"b"}), List.of("x"))))
+        .isEmpty();
+  }
+
+  @Test
+  void testInvalidate_CachedResponse_CachedResponseNoLongerFound() {
+    EwpApiResponseCacheService service = createService(true);
+    Key key = new Key("/api/ewp/iias/v6/get", Map.of("iia_id", new String[]{"1"}),
+        List.of("x"));
+    service.put(EwpApi.INTERINSTITUTIONAL_AGREEMENTS, key,
+        new EwpApiCachedResponse("application/xml", new byte[0], ""));
+
+    service.invalidate(EwpApi.INTERINSTITUTIONAL_AGREEMENTS);
+
+    assertThat(service.find(EwpApi.INTERINSTITUTIONAL_AGREEMENTS, key)).isEmpty();
+  }
+
+  private static EwpApiResponseCacheService createService(boolean enabled) {
+    EwpApiResponseCacheProperties properties = new EwpApiResponseCacheProperties();
+    properties.setEnabled(enabled);
+    properties.getTimeToLiveInSeconds().put(EwpApi.INSTITUTIONS, 60L);
+    properties.getTimeToLiveInSeconds().put(EwpApi.INTERINSTITUTIONAL_AGREEMENTS, 60L);
+    properties.getTimeToLiveInSeconds().put(EwpApi.ORGANIZATIONAL_UNITS, 0L);
+    return new EwpApiResponseCacheService(properties);
+  }
+}
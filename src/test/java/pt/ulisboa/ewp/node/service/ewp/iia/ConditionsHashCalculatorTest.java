@@ -210,4 +210,42 @@ class ConditionsHashCalculatorTest {
     assertThat(hash).isEqualTo("7c045bc4ca23b3b9953adb27374aa27dcd41cfdda74fff9d2240a813a80443ae");
   }
 
-}
\ No newline at end of file
+  @Test
+  void testCalculateHashFor_CooperationConditionsWithContacts_HashOfCanonicalFormWithoutContactsReturned() {
+    // Arrange
+    ConditionsHashCalculator conditionsHashCalculator = new ConditionsHashCalculator();
+
+    String cooperationConditionsXml = createCooperationConditionsXml("A &amp; B");
+
+    // Act
+    String hash = conditionsHashCalculator.calculateHashFor(cooperationConditionsXml);
+
+    // Assert
+    assertThat(hash).isEqualTo("34f989596d181e1355f3276bb945ca306cee438db09be2493d26414ea2f85040");
+  }
+
+  @Test
+  void testCalculateHashFor_CooperationConditionsWithDifferentContacts_SameHashReturned() {
+    // Arrange
+    ConditionsHashCalculator conditionsHashCalculator = new ConditionsHashCalculator();
+
+    // Act
+    String hash1 = conditionsHashCalculator.calculateHashFor(createCooperationConditionsXml("A"));
+    String hash2 = conditionsHashCalculator.calculateHashFor(createCooperationConditionsXml("B"));
+
+    // Assert
+    assertThat(hash1).isEqualTo(hash2);
+  }
+
+  private static String createCooperationConditionsXml(String contactName) {
+    return "<cooperation-conditions xmlns=\"urn:x\" xmlns:c=\"urn:c\">\n"
+        + "  <student-studies-mobility-spec b=\"2\" a=\"1\">\n"
+        + "    <sending-contact>\n"
+        + "      <c:contact-name>" + contactName + "</c:contact-name>\n"
+        + "    </sending-contact>\n"
+        + "    <receiving-hei-id>uw.edu.pl</receiving-hei-id>\n"
+        + "  </student-studies-mobility-spec>\n"
+        + "</cooperation-conditions>";
+  }
+
+}
@@ -14,6 +14,8 @@ import eu.erasmuswithoutpaper.api.types.contact.v1.ContactV1;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import org.junit.jupiter.api.Test;
+import pt.ulisboa.ewp.node.config.cache.ConditionsHashCacheProperties;
+import pt.ulisboa.ewp.node.config.xml.XmlProperties;
 
 class ConditionsHashDecoratorTest {
 
@@ -21,7 +23,8 @@ class ConditionsHashDecoratorTest {
   void testDecoration_SameIiaTwice_BothIiaDecoratedWithSameHash() {
     // Arrange
     ConditionsHashDecorator conditionsHashDecorator = new ConditionsHashDecorator(
-        new ConditionsHashCalculator());
+        new ConditionsHashCalculator(), new XmlProperties(),
+        new ConditionsHashCacheProperties());
 
     IiasGetResponseV6 iiasGetResponseV6 = new IiasGetResponseV6();
 
@@ -101,4 +104,30 @@ class ConditionsHashDecoratorTest {
         iiasGetResponseV6.getIia().get(1).getConditionsHash());
   }
 
-}
\ No newline at end of file
+  @Test
+  void testDecoration_SameCooperationConditionsInTwoResponses_SecondHashObtainedFromCache() {
+    // Arrange
+    ConditionsHashDecorator conditionsHashDecorator = new ConditionsHashDecorator(
+        new ConditionsHashCalculator(), new XmlProperties(),
+        new ConditionsHashCacheProperties());
+
+    IiasGetResponseV6 firstIiasGetResponseV6 = new IiasGetResponseV6();
+    Iia firstIia = new Iia();
+    firstIia.setCooperationConditions(new CooperationConditions());
+    firstIiasGetResponseV6.getIia().add(firstIia);
+
+    IiasGetResponseV6 secondIiasGetResponseV6 = new IiasGetResponseV6();
+    Iia secondIia = new Iia();
+    secondIia.setCooperationConditions(new CooperationConditions());
+    secondIiasGetResponseV6.getIia().add(secondIia);
+
+    // Act
+    conditionsHashDecorator.decorateWithConditionsHashes(firstIiasGetResponseV6);
+    conditionsHashDecorator.decorateWithConditionsHashes(secondIiasGetResponseV6);
+
+    // Assert
+    assertThat(secondIia.getConditionsHash()).isEqualTo(firstIia.getConditionsHash());
+    assertThat(conditionsHashDecorator.getMetrics().get("misses")).isEqualTo(1L);
+    assertThat(conditionsHashDecorator.getMetrics().get("hits")).isEqualTo(1L);
+  }
+}
@@ -62,4 +62,23 @@ class EwpInterInstitutionalAgreementMappingServiceTest extends AbstractIntegrati
     assertThat(mappingOptional.get().getIiaId()).isEqualTo(iiaId);
     assertThat(mappingOptional.get().getIiaCode()).isEqualTo(iiaCode);
   }
-}
\ No newline at end of file
+
+  @Test
+  void testGetMapping_MappingPersistedAfterMissingLookup_MappingReturned() {
+    String heiId = UUID.randomUUID().toString();
+    String ounitId = UUID.randomUUID().toString();
+    String iiaId = UUID.randomUUID().toString();
+    String iiaCode = UUID.randomUUID().toString();
+
+    assertThat(service.getMapping(heiId, iiaId)).isEmpty();
+
+    // NOTE: persisted directly, as another node would, so no cached mapping is invalidated
+    repository.persist(EwpInterInstitutionalAgreementMapping.create(heiId, ounitId, iiaId,
+        iiaCode));
+
+    Optional<EwpInterInstitutionalAgreementMapping> mappingOptional = service.getMapping(heiId,
+        iiaId);
+    assertThat(mappingOptional).isPresent();
+    assertThat(mappingOptional.get().getOunitId()).isEqualTo(ounitId);
+  }
+}
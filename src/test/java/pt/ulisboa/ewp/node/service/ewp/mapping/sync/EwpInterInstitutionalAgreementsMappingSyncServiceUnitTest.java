@@ -1,11 +1,15 @@
 package pt.ulisboa.ewp.node.service.ewp.mapping.sync;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import eu.erasmuswithoutpaper.api.iias.v6.endpoints.IiasGetResponseV6.Iia;
 import eu.erasmuswithoutpaper.api.iias.v6.endpoints.IiasGetResponseV6.Iia.Partner;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -15,10 +19,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import pt.ulisboa.ewp.host.plugin.skeleton.provider.iias.InterInstitutionalAgreementsV6HostProvider;
 import pt.ulisboa.ewp.host.plugin.skeleton.provider.iias.MockInterInstitutionalAgreementsV6HostProvider;
+import pt.ulisboa.ewp.node.config.mapping.EwpMappingProperties;
 import pt.ulisboa.ewp.node.domain.entity.mapping.EwpInterInstitutionalAgreementMapping;
+import pt.ulisboa.ewp.node.domain.entity.mapping.EwpMappingSyncCheckpoint;
+import pt.ulisboa.ewp.node.domain.repository.mapping.EwpMappingSyncCheckpointRepository;
 import pt.ulisboa.ewp.node.plugin.manager.host.HostPluginManager;
 import pt.ulisboa.ewp.node.service.ewp.mapping.EwpInterInstitutionalAgreementMappingService;
 
@@ -30,7 +38,8 @@ class EwpInterInstitutionalAgreementsMappingSyncServiceUnitTest {
     EwpInterInstitutionalAgreementMappingService mappingService = Mockito.mock(
         EwpInterInstitutionalAgreementMappingService.class);
     EwpInterInstitutionalAgreementMappingSyncService syncService = new EwpInterInstitutionalAgreementMappingSyncService(
-        hostPluginManager, mappingService);
+        hostPluginManager, Mockito.mock(EwpMappingSyncCheckpointRepository.class), mappingService,
+        new EwpMappingProperties());
 
     List<String> heiIds = Arrays.asList("h1", "h2");
     List<String> ounitIds = Arrays.asList("o1", "o2");
@@ -85,7 +94,8 @@ class EwpInterInstitutionalAgreementsMappingSyncServiceUnitTest {
     EwpInterInstitutionalAgreementMappingService mappingService = Mockito.mock(
         EwpInterInstitutionalAgreementMappingService.class);
     EwpInterInstitutionalAgreementMappingSyncService syncService = new EwpInterInstitutionalAgreementMappingSyncService(
-        hostPluginManager, mappingService);
+        hostPluginManager, Mockito.mock(EwpMappingSyncCheckpointRepository.class), mappingService,
+        new EwpMappingProperties());
 
     List<String> heiIds = Arrays.asList("h1", "h2");
     List<String> ounitIds = Arrays.asList("o1", "o2");
@@ -119,10 +129,10 @@ class EwpInterInstitutionalAgreementsMappingSyncServiceUnitTest {
     doReturn(providersPerHeiId).when(hostPluginManager)
         .getAllProvidersOfTypePerHeiId(InterInstitutionalAgreementsV6HostProvider.class);
 
-    doReturn(Optional.of(
+    doReturn(Map.of(iiaIds.get(1),
         EwpInterInstitutionalAgreementMapping.create(heiIds.get(1), ounitIds.get(1), iiaIds.get(1),
             iiaCodes.get(1))))
-        .when(mappingService).getMapping(heiIds.get(1), iiaIds.get(1));
+        .when(mappingService).getMappingsByIiaIds(heiIds.get(1), List.of(iiaIds.get(1)));
 
     syncService.run();
 
@@ -139,4 +149,93 @@ class EwpInterInstitutionalAgreementsMappingSyncServiceUnitTest {
         iiaIds.get(1), iiaCodes.get(1));
   }
 
-}
\ No newline at end of file
+  @Test
+  void testRun_CheckpointWithRecentFullSync_OnlyIiaIdsModifiedSinceLastSyncRequested() {
+    HostPluginManager hostPluginManager = Mockito.mock(HostPluginManager.class);
+    EwpMappingSyncCheckpointRepository checkpointRepository = Mockito.mock(
+        EwpMappingSyncCheckpointRepository.class);
+    EwpInterInstitutionalAgreementMappingService mappingService = Mockito.mock(
+        EwpInterInstitutionalAgreementMappingService.class);
+    EwpInterInstitutionalAgreementMappingSyncService syncService = new EwpInterInstitutionalAgreementMappingSyncService(
+        hostPluginManager, checkpointRepository, mappingService,
+        new EwpMappingProperties());
+
+    MockInterInstitutionalAgreementsV6HostProvider provider = Mockito.spy(
+        new MockInterInstitutionalAgreementsV6HostProvider(1, 1).registerIia("h1", "id1", "ic1",
+            createIia("h1", "o1", "id1", "ic1")));
+    doReturn(Map.of("h1", List.of(provider))).when(hostPluginManager)
+        .getAllProvidersOfTypePerHeiId(InterInstitutionalAgreementsV6HostProvider.class);
+
+    ZonedDateTime lastFullSyncDateTime = ZonedDateTime.now().minusHours(2);
+    ZonedDateTime lastSyncDateTime = ZonedDateTime.now().minusHours(1);
+    EwpMappingSyncCheckpoint checkpoint = EwpMappingSyncCheckpoint.create(
+        EwpInterInstitutionalAgreementMappingSyncService.MAPPING_TYPE, "h1",
+        provider.getClass().getName());
+    checkpoint.setLastFullSyncDateTime(lastFullSyncDateTime);
+    checkpoint.setLastSyncDateTime(lastSyncDateTime);
+    doReturn(Optional.of(checkpoint)).when(checkpointRepository)
+        .findByMappingTypeAndHeiIdAndProvider(
+            EwpInterInstitutionalAgreementMappingSyncService.MAPPING_TYPE, "h1",
+            provider.getClass().getName());
+
+    syncService.run();
+
+    verify(provider, times(1)).findAllIiaIdsByHeiId(Collections.singletonList("h1"), "h1", null,
+        null, lastSyncDateTime.toLocalDateTime());
+    verify(mappingService, times(1)).registerMapping("h1", "o1", "id1", "ic1");
+    verify(checkpointRepository, times(1)).persist(checkpoint);
+    assertThat(checkpoint.getLastSyncDateTime()).isAfter(lastSyncDateTime);
+    assertThat(checkpoint.getLastFullSyncDateTime()).isEqualTo(lastFullSyncDateTime);
+  }
+
+  @Test
+  void testRun_ThreeNewIiaIdsAndMaxTwoIiaIdsPerRequest_IiasFetchedInTwoRequests() {
+    HostPluginManager hostPluginManager = Mockito.mock(HostPluginManager.class);
+    EwpMappingSyncCheckpointRepository checkpointRepository = Mockito.mock(
+        EwpMappingSyncCheckpointRepository.class);
+    EwpInterInstitutionalAgreementMappingService mappingService = Mockito.mock(
+        EwpInterInstitutionalAgreementMappingService.class);
+    EwpInterInstitutionalAgreementMappingSyncService syncService = new EwpInterInstitutionalAgreementMappingSyncService(
+        hostPluginManager, checkpointRepository, mappingService,
+        new EwpMappingProperties());
+
+    MockInterInstitutionalAgreementsV6HostProvider provider = new MockInterInstitutionalAgreementsV6HostProvider(
+        2, 1);
+    for (int index = 1; index <= 3; index++) {
+      provider.registerIia("h1", "id" + index, "ic" + index,
+          createIia("h1", "o1", "id" + index, "ic" + index));
+    }
+    provider = Mockito.spy(provider);
+    doReturn(Map.of("h1", List.of(provider))).when(hostPluginManager)
+        .getAllProvidersOfTypePerHeiId(InterInstitutionalAgreementsV6HostProvider.class);
+
+    syncService.run();
+
+    verify(provider, times(1)).findAllIiaIdsByHeiId(Collections.singletonList("h1"), "h1", null,
+        null, null);
+    verify(provider, times(1)).findByHeiIdAndIiaIds(Collections.singletonList("h1"), "h1",
+        List.of("id1", "id2"), false);
+    verify(provider, times(1)).findByHeiIdAndIiaIds(Collections.singletonList("h1"), "h1",
+        List.of("id3"), false);
+    verify(mappingService, times(3)).registerMapping(eq("h1"), eq("o1"), anyString(),
+        anyString());
+
+    ArgumentCaptor<EwpMappingSyncCheckpoint> checkpointCaptor = ArgumentCaptor.forClass(
+        EwpMappingSyncCheckpoint.class);
+    verify(checkpointRepository, times(1)).persist(checkpointCaptor.capture());
+    assertThat(checkpointCaptor.getValue().getLastSyncDateTime()).isNotNull();
+    assertThat(checkpointCaptor.getValue().getLastFullSyncDateTime())
+        .isEqualTo(checkpointCaptor.getValue().getLastSyncDateTime());
+  }
+
+  private static Iia createIia(String heiId, String ounitId, String iiaId, String iiaCode) {
+    Iia iia = new Iia();
+    Partner partner = new Partner();
+    partner.setHeiId(heiId);
+    partner.setOunitId(ounitId);
+    partner.setIiaId(iiaId);
+    partner.setIiaCode(iiaCode);
+    iia.getPartner().add(partner);
+    return iia;
+  }
+}
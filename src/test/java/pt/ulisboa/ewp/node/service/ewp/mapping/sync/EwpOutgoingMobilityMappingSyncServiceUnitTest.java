@@ -13,12 +13,13 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import pt.ulisboa.ewp.host.plugin.skeleton.provider.omobilities.MockOutgoingMobilitiesV1HostProvider;
 import pt.ulisboa.ewp.host.plugin.skeleton.provider.omobilities.OutgoingMobilitiesV1HostProvider;
+import pt.ulisboa.ewp.node.config.mapping.EwpMappingProperties;
 import pt.ulisboa.ewp.node.domain.entity.mapping.EwpOutgoingMobilityMapping;
+import pt.ulisboa.ewp.node.domain.repository.mapping.EwpMappingSyncCheckpointRepository;
 import pt.ulisboa.ewp.node.plugin.manager.host.HostPluginManager;
 import pt.ulisboa.ewp.node.service.ewp.mapping.EwpOutgoingMobilityMappingService;
 
@@ -30,7 +31,8 @@ class EwpOutgoingMobilityMappingSyncServiceUnitTest {
     EwpOutgoingMobilityMappingService mappingService = Mockito.mock(
         EwpOutgoingMobilityMappingService.class);
     EwpOutgoingMobilityMappingSyncService syncService = new EwpOutgoingMobilityMappingSyncService(
-        hostPluginManager, mappingService);
+        hostPluginManager, Mockito.mock(EwpMappingSyncCheckpointRepository.class), mappingService,
+        new EwpMappingProperties());
 
     List<String> heiIds = Arrays.asList("h1", "h2");
     List<String> ounitIds = Arrays.asList("o1", "o2");
@@ -81,7 +83,8 @@ class EwpOutgoingMobilityMappingSyncServiceUnitTest {
     EwpOutgoingMobilityMappingService mappingService = Mockito.mock(
         EwpOutgoingMobilityMappingService.class);
     EwpOutgoingMobilityMappingSyncService syncService = new EwpOutgoingMobilityMappingSyncService(
-        hostPluginManager, mappingService);
+        hostPluginManager, Mockito.mock(EwpMappingSyncCheckpointRepository.class), mappingService,
+        new EwpMappingProperties());
 
     List<String> heiIds = Arrays.asList("h1", "h2");
     List<String> ounitIds = Arrays.asList("o1", "o2");
@@ -111,9 +114,9 @@ class EwpOutgoingMobilityMappingSyncServiceUnitTest {
     doReturn(providersPerHeiId).when(hostPluginManager)
         .getAllProvidersOfTypePerHeiId(OutgoingMobilitiesV1HostProvider.class);
 
-    doReturn(Optional.of(
+    doReturn(Map.of(omobilityIds.get(1),
         EwpOutgoingMobilityMapping.create(heiIds.get(1), ounitIds.get(1), omobilityIds.get(1))))
-        .when(mappingService).getMapping(heiIds.get(1), omobilityIds.get(1));
+        .when(mappingService).getMappings(heiIds.get(1), List.of(omobilityIds.get(1)));
 
     syncService.run();
 
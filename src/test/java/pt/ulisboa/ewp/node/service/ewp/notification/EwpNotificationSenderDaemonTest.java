@@ -1,17 +1,23 @@
 package pt.ulisboa.ewp.node.service.ewp.notification;
 
 import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 
 import eu.erasmuswithoutpaper.api.omobilities.las.cnr.v1.OmobilityLaCnrResponseV1;
 import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.TestPropertySource;
 import pt.ulisboa.ewp.node.AbstractIntegrationTest;
 import pt.ulisboa.ewp.node.client.ewp.exception.EwpClientErrorException;
 import pt.ulisboa.ewp.node.client.ewp.exception.EwpClientProcessorException;
@@ -23,6 +29,7 @@ import pt.ulisboa.ewp.node.domain.repository.notification.EwpChangeNotificationR
 import pt.ulisboa.ewp.node.service.ewp.notification.exception.NoEwpCnrAPIException;
 import pt.ulisboa.ewp.node.service.ewp.notification.handler.EwpOutgoingMobilityLearningAgreementChangeNotificationHandler;
 
+@TestPropertySource(properties = "ewpNotificationSender.enabled=true")
 class EwpNotificationSenderDaemonTest extends AbstractIntegrationTest {
 
   @Autowired
@@ -42,9 +49,9 @@ class EwpNotificationSenderDaemonTest extends AbstractIntegrationTest {
         .responseBody(new OmobilityLaCnrResponseV1())
         .build();
 
-    doNothing().when(
-        outgoingMobilityLearningAgreementChangeNotificationHandler).sendChangeNotification(
-        Mockito.any());
+    doAnswer(this::reportAllChangeNotificationsAsSent).when(
+        outgoingMobilityLearningAgreementChangeNotificationHandler).sendChangeNotifications(
+        Mockito.anyList(), Mockito.any());
 
     changeNotificationRepository.persist(originalChangeNotification);
     await()
@@ -54,6 +61,101 @@ class EwpNotificationSenderDaemonTest extends AbstractIntegrationTest {
             .wasSuccess());
   }
 
+  @Test
+  void testRun_ScheduledChangeNotificationsWithSameSenderAndReceiver_NotificationsSentTogether()
+      throws EwpClientErrorException, NoEwpCnrAPIException {
+
+    String sendingHeiId = UUID.randomUUID().toString();
+    String receivingHeiId = UUID.randomUUID().toString();
+    ZonedDateTime scheduledDateTime = ZonedDateTime.now().plusSeconds(1);
+    EwpOutgoingMobilityLearningAgreementChangeNotification firstChangeNotification = new EwpOutgoingMobilityLearningAgreementChangeNotification(
+        1, scheduledDateTime, Status.PENDING, sendingHeiId, receivingHeiId,
+        UUID.randomUUID().toString());
+    EwpOutgoingMobilityLearningAgreementChangeNotification secondChangeNotification = new EwpOutgoingMobilityLearningAgreementChangeNotification(
+        1, scheduledDateTime, Status.PENDING, sendingHeiId, receivingHeiId,
+        UUID.randomUUID().toString());
+
+    doAnswer(this::reportAllChangeNotificationsAsSent).when(
+        outgoingMobilityLearningAgreementChangeNotificationHandler).sendChangeNotifications(
+        Mockito.anyList(), Mockito.any());
+
+    changeNotificationRepository.persist(firstChangeNotification);
+    changeNotificationRepository.persist(secondChangeNotification);
+    await()
+        .atMost(
+            Duration.ofMillis(EwpNotificationSenderDaemon.TASK_INTERVAL_IN_MILLISECONDS + 5000))
+        .until(() -> changeNotificationRepository.findById(firstChangeNotification.getId()).get()
+            .wasSuccess() && changeNotificationRepository.findById(
+            secondChangeNotification.getId()).get().wasSuccess());
+
+    verify(outgoingMobilityLearningAgreementChangeNotificationHandler).sendChangeNotifications(
+        Mockito.argThat(changeNotifications -> changeNotifications.size() == 2
+            && changeNotifications.stream().allMatch(
+            n -> n.getId() == firstChangeNotification.getId()
+                || n.getId() == secondChangeNotification.getId())), Mockito.any());
+  }
+
+  @Test
+  void testRun_ScheduledChangeNotificationsSentInTwoRequestsAndSecondFails_OnlyUnsentNotificationRescheduled()
+      throws EwpClientErrorException, NoEwpCnrAPIException {
+
+    String sendingHeiId = UUID.randomUUID().toString();
+    String receivingHeiId = UUID.randomUUID().toString();
+    ZonedDateTime scheduledDateTime = ZonedDateTime.now().plusSeconds(1);
+    EwpOutgoingMobilityLearningAgreementChangeNotification firstChangeNotification = new EwpOutgoingMobilityLearningAgreementChangeNotification(
+        1, scheduledDateTime, Status.PENDING, sendingHeiId, receivingHeiId,
+        UUID.randomUUID().toString());
+    EwpOutgoingMobilityLearningAgreementChangeNotification secondChangeNotification = new EwpOutgoingMobilityLearningAgreementChangeNotification(
+        1, scheduledDateTime, Status.PENDING, sendingHeiId, receivingHeiId,
+        UUID.randomUUID().toString());
+
+    doAnswer(invocation -> {
+      List<EwpChangeNotification> changeNotifications = invocation.getArgument(0);
+      Consumer<List<? extends EwpChangeNotification>> sentChangeNotificationsConsumer = invocation.getArgument(
+          1);
+      sentChangeNotificationsConsumer.accept(changeNotifications.subList(0, 1));
+      throw new EwpClientProcessorException(null, null, new IllegalStateException("TEST"));
+    }).when(outgoingMobilityLearningAgreementChangeNotificationHandler)
+        .sendChangeNotifications(Mockito.anyList(), Mockito.any());
+
+    changeNotificationRepository.persist(firstChangeNotification);
+    changeNotificationRepository.persist(secondChangeNotification);
+    await()
+        .atMost(
+            Duration.ofMillis(EwpNotificationSenderDaemon.TASK_INTERVAL_IN_MILLISECONDS + 5000))
+        .until(() -> {
+          List<EwpChangeNotification> changeNotifications = List.of(
+              changeNotificationRepository.findById(firstChangeNotification.getId()).get(),
+              changeNotificationRepository.findById(secondChangeNotification.getId()).get());
+          return changeNotifications.stream().filter(EwpChangeNotification::wasSuccess).count()
+              == 1 && changeNotifications.stream().filter(
+              n -> n.isPending() && n.getAttemptNumber() == 2).count() == 1;
+        });
+  }
+
+  @Test
+  void testRun_ScheduledChangeNotificationNotReportedAsSentByHandler_NewAttemptScheduled()
+      throws EwpClientErrorException, NoEwpCnrAPIException {
+
+    EwpOutgoingMobilityLearningAgreementChangeNotification originalChangeNotification = new EwpOutgoingMobilityLearningAgreementChangeNotification(
+        1, ZonedDateTime.now(), Status.PENDING, UUID.randomUUID().toString(),
+        UUID.randomUUID().toString(), UUID.randomUUID().toString());
+
+    doNothing().when(
+        outgoingMobilityLearningAgreementChangeNotificationHandler).sendChangeNotifications(
+        Mockito.anyList(), Mockito.any());
+
+    changeNotificationRepository.persist(originalChangeNotification);
+    await()
+        .atMost(
+            Duration.ofMillis(EwpNotificationSenderDaemon.TASK_INTERVAL_IN_MILLISECONDS + 5000))
+        .until(() -> {
+          EwpChangeNotification changeNotification = changeNotificationRepository.findById(
+              originalChangeNotification.getId()).get();
+          return changeNotification.isPending() && changeNotification.getAttemptNumber() == 2;
+        });
+  }
+
   @Test
   void testRun_ScheduledChangeNotificationNoCnrApiAvailable_NotificationMarkedAsFailure()
       throws EwpClientErrorException, NoEwpCnrAPIException {
@@ -63,8 +165,8 @@ class EwpNotificationSenderDaemonTest extends AbstractIntegrationTest {
         ZonedDateTime.now(), Status.PENDING, "abc", "qwe", UUID.randomUUID().toString());
 
     doThrow(new NoEwpCnrAPIException(originalChangeNotification)).when(
-        outgoingMobilityLearningAgreementChangeNotificationHandler).sendChangeNotification(
-        Mockito.any());
+        outgoingMobilityLearningAgreementChangeNotificationHandler).sendChangeNotifications(
+        Mockito.anyList(), Mockito.any());
 
     changeNotificationRepository.persist(originalChangeNotification);
     await()
@@ -83,8 +185,8 @@ class EwpNotificationSenderDaemonTest extends AbstractIntegrationTest {
         ZonedDateTime.now(), Status.PENDING, "abc", "qwe", UUID.randomUUID().toString());
 
     doThrow(new EwpClientProcessorException(null, null, new IllegalStateException("TEST"))).when(
-        outgoingMobilityLearningAgreementChangeNotificationHandler).sendChangeNotification(
-        Mockito.any());
+        outgoingMobilityLearningAgreementChangeNotificationHandler).sendChangeNotifications(
+        Mockito.anyList(), Mockito.any());
 
     changeNotificationRepository.persist(originalChangeNotification);
     await()
@@ -102,8 +204,8 @@ class EwpNotificationSenderDaemonTest extends AbstractIntegrationTest {
         1, ZonedDateTime.now(), Status.PENDING, "abc", "qwe", UUID.randomUUID().toString());
 
     doThrow(new EwpClientProcessorException(null, null, new IllegalStateException("TEST"))).when(
-        outgoingMobilityLearningAgreementChangeNotificationHandler).sendChangeNotification(
-        Mockito.any());
+        outgoingMobilityLearningAgreementChangeNotificationHandler).sendChangeNotifications(
+        Mockito.anyList(), Mockito.any());
 
     changeNotificationRepository.persist(originalChangeNotification);
     await()
@@ -118,4 +220,12 @@ class EwpNotificationSenderDaemonTest extends AbstractIntegrationTest {
                   .isAfter(originalChangeNotification.getScheduledDateTime());
         });
   }
-}
\ No newline at end of file
+
+  private Void reportAllChangeNotificationsAsSent(InvocationOnMock invocation) {
+    List<EwpChangeNotification> changeNotifications = invocation.getArgument(0);
+    Consumer<List<? extends EwpChangeNotification>> sentChangeNotificationsConsumer = invocation.getArgument(
+        1);
+    sentChangeNotificationsConsumer.accept(changeNotifications);
+    return null;
+  }
+}
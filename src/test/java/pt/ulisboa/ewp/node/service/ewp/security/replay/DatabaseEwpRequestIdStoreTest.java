@@ -0,0 +1,40 @@
+package pt.ulisboa.ewp.node.service.ewp.security.replay;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import pt.ulisboa.ewp.node.AbstractIntegrationTest;
+import pt.ulisboa.ewp.node.domain.repository.security.EwpReceivedRequestIdRepository;
+
+class DatabaseEwpRequestIdStoreTest extends AbstractIntegrationTest {
+
+  @Autowired
+  private EwpReceivedRequestIdRepository receivedRequestIdRepository;
+
+  @Test
+  void testRegisterIfAbsent_SameRequestIdTwice_OnlyFirstRegistered() {
+    DatabaseEwpRequestIdStore store = new DatabaseEwpRequestIdStore(receivedRequestIdRepository,
+        Duration.ofMinutes(10));
+    UUID requestId = UUID.randomUUID();
+
+    assertThat(store.registerIfAbsent(requestId, ZonedDateTime.now().plusMinutes(10))).isTrue();
+    assertThat(store.registerIfAbsent(requestId, ZonedDateTime.now().plusMinutes(10))).isFalse();
+    assertThat(store.registerIfAbsent(UUID.randomUUID(), ZonedDateTime.now().plusMinutes(10)))
+        .isTrue();
+  }
+
+  @Test
+  void testRegisterIfAbsent_RequestIdExpired_RegisteredAgain() {
+    DatabaseEwpRequestIdStore store = new DatabaseEwpRequestIdStore(receivedRequestIdRepository,
+        Duration.ofMinutes(10));
+    UUID requestId = UUID.randomUUID();
+
+    assertThat(store.registerIfAbsent(requestId, ZonedDateTime.now().minusSeconds(1))).isTrue();
+    assertThat(store.registerIfAbsent(requestId, ZonedDateTime.now().plusMinutes(10))).isTrue();
+    assertThat(store.registerIfAbsent(requestId, ZonedDateTime.now().plusMinutes(10))).isFalse();
+  }
+}
@@ -34,6 +34,8 @@ import pt.ulisboa.ewp.node.client.ewp.registry.RegistryClient;
 import pt.ulisboa.ewp.node.config.registry.RegistryProperties;
 import pt.ulisboa.ewp.node.domain.entity.api.ewp.auth.EwpAuthenticationMethod;
 import pt.ulisboa.ewp.node.domain.entity.http.HttpMethod;
+import pt.ulisboa.ewp.node.service.ewp.security.replay.EwpRequestIdReplayService;
+import pt.ulisboa.ewp.node.service.ewp.security.replay.InMemoryEwpRequestIdStore;
 import pt.ulisboa.ewp.node.utils.http.HttpConstants;
 
 class HttpSignatureRequestAuthenticationMethodVerifierTest extends AbstractTest {
@@ -41,7 +43,7 @@ class HttpSignatureRequestAuthenticationMethodVerifierTest extends AbstractTest
   @Test
   void testGetAuthenticationMethod() {
     HttpSignatureRequestAuthenticationMethodVerifier verifier = new HttpSignatureRequestAuthenticationMethodVerifier(
-        null);
+        null, null);
     assertThat(verifier.getAuthenticationMethod())
         .isEqualTo(EwpAuthenticationMethod.HTTP_SIGNATURE);
   }
@@ -50,7 +52,7 @@ class HttpSignatureRequestAuthenticationMethodVerifierTest extends AbstractTest
   void testVerify_MissingAuthorizationHeader_ReturnFailure()
       throws IOException {
     HttpSignatureRequestAuthenticationMethodVerifier verifier = new HttpSignatureRequestAuthenticationMethodVerifier(
-        null);
+        null, null);
 
     MockHttpServletRequest mockHttpServletRequest = new MockHttpServletRequest();
     EwpApiHttpRequestWrapper request = new EwpApiHttpRequestWrapper(
@@ -70,7 +72,7 @@ class HttpSignatureRequestAuthenticationMethodVerifierTest extends AbstractTest
   void testVerify_InvalidSignatureAlgorithm_ReturnFailure()
       throws IOException {
     HttpSignatureRequestAuthenticationMethodVerifier verifier = new HttpSignatureRequestAuthenticationMethodVerifier(
-        null);
+        null, null);
 
     MockHttpServletRequest mockHttpServletRequest = new MockHttpServletRequest();
 
@@ -99,7 +101,7 @@ class HttpSignatureRequestAuthenticationMethodVerifierTest extends AbstractTest
   void testVerify_MissingRequestTargetSignatureHeader_ReturnFailure()
       throws IOException {
     HttpSignatureRequestAuthenticationMethodVerifier verifier = new HttpSignatureRequestAuthenticationMethodVerifier(
-        null);
+        null, null);
 
     MockHttpServletRequest mockHttpServletRequest = new MockHttpServletRequest();
 
@@ -128,7 +130,7 @@ class HttpSignatureRequestAuthenticationMethodVerifierTest extends AbstractTest
   void testVerify_MissingHostSignatureHeader_ReturnFailure()
       throws IOException {
     HttpSignatureRequestAuthenticationMethodVerifier verifier = new HttpSignatureRequestAuthenticationMethodVerifier(
-        null);
+        null, null);
 
     MockHttpServletRequest mockHttpServletRequest = new MockHttpServletRequest();
 
@@ -157,7 +159,7 @@ class HttpSignatureRequestAuthenticationMethodVerifierTest extends AbstractTest
   void testVerify_MissingDateOrOriginalDateSignatureHeader_ReturnFailure()
       throws IOException {
     HttpSignatureRequestAuthenticationMethodVerifier verifier = new HttpSignatureRequestAuthenticationMethodVerifier(
-        null);
+        null, null);
 
     MockHttpServletRequest mockHttpServletRequest = new MockHttpServletRequest();
 
@@ -187,7 +189,7 @@ class HttpSignatureRequestAuthenticationMethodVerifierTest extends AbstractTest
   void testVerify_MissingDigestSignatureHeader_ReturnFailure()
       throws IOException {
     HttpSignatureRequestAuthenticationMethodVerifier verifier = new HttpSignatureRequestAuthenticationMethodVerifier(
-        null);
+        null, null);
 
     MockHttpServletRequest mockHttpServletRequest = new MockHttpServletRequest();
 
@@ -217,7 +219,7 @@ class HttpSignatureRequestAuthenticationMethodVerifierTest extends AbstractTest
   void testVerify_MissingXRequestIdSignatureHeader_ReturnFailure()
       throws IOException {
     HttpSignatureRequestAuthenticationMethodVerifier verifier = new HttpSignatureRequestAuthenticationMethodVerifier(
-        null);
+        null, null);
 
     MockHttpServletRequest mockHttpServletRequest = new MockHttpServletRequest();
 
@@ -249,7 +251,7 @@ class HttpSignatureRequestAuthenticationMethodVerifierTest extends AbstractTest
   void testVerify_MismatchedHostHeader_ReturnFailure()
       throws IOException {
     HttpSignatureRequestAuthenticationMethodVerifier verifier = new HttpSignatureRequestAuthenticationMethodVerifier(
-        null);
+        null, null);
 
     MockHttpServletRequest mockHttpServletRequest = new MockHttpServletRequest();
 
@@ -281,7 +283,7 @@ class HttpSignatureRequestAuthenticationMethodVerifierTest extends AbstractTest
       throws IOException {
     RegistryClient registryClient = Mockito.spy(new RegistryClient(new RegistryProperties()));
     HttpSignatureRequestAuthenticationMethodVerifier verifier = new HttpSignatureRequestAuthenticationMethodVerifier(
-        registryClient);
+        registryClient, createRequestIdReplayService());
 
     MockHttpServletRequest mockHttpServletRequest = new MockHttpServletRequest();
     mockHttpServletRequest.setServerName("example.com");
@@ -318,7 +320,7 @@ class HttpSignatureRequestAuthenticationMethodVerifierTest extends AbstractTest
       throws IOException {
     RegistryClient registryClient = Mockito.spy(new RegistryClient(new RegistryProperties()));
     HttpSignatureRequestAuthenticationMethodVerifier verifier = new HttpSignatureRequestAuthenticationMethodVerifier(
-        registryClient);
+        registryClient, createRequestIdReplayService());
 
     MockHttpServletRequest mockHttpServletRequest = new MockHttpServletRequest();
     mockHttpServletRequest.setServerName("example.com");
@@ -358,7 +360,7 @@ class HttpSignatureRequestAuthenticationMethodVerifierTest extends AbstractTest
       throws IOException {
     RegistryClient registryClient = Mockito.spy(new RegistryClient(new RegistryProperties()));
     HttpSignatureRequestAuthenticationMethodVerifier verifier = new HttpSignatureRequestAuthenticationMethodVerifier(
-        registryClient);
+        registryClient, createRequestIdReplayService());
 
     MockHttpServletRequest mockHttpServletRequest = new MockHttpServletRequest();
     mockHttpServletRequest.setServerName("example.com");
@@ -398,7 +400,7 @@ class HttpSignatureRequestAuthenticationMethodVerifierTest extends AbstractTest
       throws IOException {
     RegistryClient registryClient = Mockito.spy(new RegistryClient(new RegistryProperties()));
     HttpSignatureRequestAuthenticationMethodVerifier verifier = new HttpSignatureRequestAuthenticationMethodVerifier(
-        registryClient);
+        registryClient, createRequestIdReplayService());
 
     MockHttpServletRequest mockHttpServletRequest = new MockHttpServletRequest();
     mockHttpServletRequest.setServerName("example.com");
@@ -438,7 +440,7 @@ class HttpSignatureRequestAuthenticationMethodVerifierTest extends AbstractTest
       throws IOException, NoSuchAlgorithmException {
     RegistryClient registryClient = Mockito.spy(new RegistryClient(new RegistryProperties()));
     HttpSignatureRequestAuthenticationMethodVerifier verifier = new HttpSignatureRequestAuthenticationMethodVerifier(
-        registryClient);
+        registryClient, createRequestIdReplayService());
 
     MockHttpServletRequest mockHttpServletRequest = new MockHttpServletRequest();
     mockHttpServletRequest.setMethod(HttpMethod.POST.name());
@@ -485,7 +487,7 @@ class HttpSignatureRequestAuthenticationMethodVerifierTest extends AbstractTest
       throws IOException, NoSuchAlgorithmException {
     RegistryClient registryClient = Mockito.spy(new RegistryClient(new RegistryProperties()));
     HttpSignatureRequestAuthenticationMethodVerifier verifier = new HttpSignatureRequestAuthenticationMethodVerifier(
-        registryClient);
+        registryClient, createRequestIdReplayService());
 
     MockHttpServletRequest mockHttpServletRequest = new MockHttpServletRequest();
     mockHttpServletRequest.setMethod(HttpMethod.POST.name());
@@ -528,6 +530,65 @@ class HttpSignatureRequestAuthenticationMethodVerifierTest extends AbstractTest
     assertThat(verifier.verify(request)).isEqualTo(expectedResult);
   }
 
+  @Test
+  void testVerify_ReplayedValidRequest_ReturnFailure()
+      throws IOException, NoSuchAlgorithmException {
+    RegistryClient registryClient = Mockito.spy(new RegistryClient(new RegistryProperties()));
+    HttpSignatureRequestAuthenticationMethodVerifier verifier = new HttpSignatureRequestAuthenticationMethodVerifier(
+        registryClient, createRequestIdReplayService());
+
+    MockHttpServletRequest mockHttpServletRequest = new MockHttpServletRequest();
+    mockHttpServletRequest.setMethod(HttpMethod.POST.name());
+    mockHttpServletRequest.setServerName("example.com");
+
+    KeyPair keyPair = createKeyPair();
+    Signer signer =
+        new Signer(keyPair.getPrivate(), new Signature(UUID.randomUUID().toString(),
+            Algorithm.RSA_SHA256, null,
+            Arrays.asList("(request-target)", "host", "date", "digest", "x-request-id")));
+    Map<String, String> headers = new HashMap<>();
+    headers.put(HttpHeaders.HOST, "example.com");
+    headers.put(HttpHeaders.DATE,
+        DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now()));
+    String digest = new String(
+        Base64.encodeBase64(MessageDigest.getInstance("SHA-256").digest("a=b" .getBytes(
+            StandardCharsets.UTF_8))));
+    headers.put(HttpConstants.HEADER_DIGEST, "SHA-256=" + digest);
+    headers.put(HttpConstants.HEADER_X_REQUEST_ID, UUID.randomUUID().toString());
+    Signature signature = signer.sign(mockHttpServletRequest.getMethod(), "", headers);
+    mockHttpServletRequest.addHeader("Authorization", signature);
+    headers.forEach(mockHttpServletRequest::addHeader);
+
+    mockHttpServletRequest.setContentType("application/x-www-form-urlencoded");
+    mockHttpServletRequest.addParameter("a", "b");
+
+    EwpApiHttpRequestWrapper request = new EwpApiHttpRequestWrapper(
+        mockHttpServletRequest);
+
+    doReturn(keyPair.getPublic()).when(registryClient)
+        .findClientRsaPublicKey(ArgumentMatchers.anyString());
+
+    List<String> heiIdsCoveredByClient = Collections.singletonList(UUID.randomUUID().toString());
+    doReturn(heiIdsCoveredByClient).when(registryClient)
+        .getHeisCoveredByClientKey(ArgumentMatchers.any());
+
+    assertThat(verifier.verify(request).isOk()).isTrue();
+
+    EwpApiAuthenticateMethodResponse expectedResult = EwpApiAuthenticateMethodResponse
+        .failureBuilder(
+            EwpAuthenticationMethod.HTTP_SIGNATURE,
+            "A request with the same X-Request-ID was already received")
+        .withResponseCode(HttpStatus.BAD_REQUEST)
+        .build();
+    assertThat(verifier.verify(new EwpApiHttpRequestWrapper(mockHttpServletRequest)))
+        .isEqualTo(expectedResult);
+  }
+
+  private EwpRequestIdReplayService createRequestIdReplayService() {
+    return new EwpRequestIdReplayService(new InMemoryEwpRequestIdStore(100,
+        EwpRequestIdReplayService.REQUEST_ID_RETENTION));
+  }
+
   private KeyPair createKeyPair() {
     KeyPair keyPair = null;
     try {
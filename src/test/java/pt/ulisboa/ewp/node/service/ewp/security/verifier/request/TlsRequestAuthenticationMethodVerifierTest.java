@@ -2,6 +2,8 @@ package pt.ulisboa.ewp.node.service.ewp.security.verifier.request;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import java.io.IOException;
 import java.net.URLEncoder;
@@ -19,6 +21,7 @@ import org.apache.commons.codec.binary.Base64;
 import org.bouncycastle.operator.OperatorCreationException;
 import org.bouncycastle.util.encoders.Hex;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mockito;
 import org.springframework.http.HttpStatus;
@@ -41,7 +44,7 @@ class TlsRequestAuthenticationMethodVerifierTest extends AbstractTest {
   @Test
   void testGetAuthenticationMethod() {
     TlsRequestAuthenticationMethodVerifier verifier = new TlsRequestAuthenticationMethodVerifier(
-        null, null);
+        new SecurityProperties(), null);
     assertThat(verifier.getAuthenticationMethod())
         .isEqualTo(EwpAuthenticationMethod.TLS);
   }
@@ -274,4 +277,52 @@ class TlsRequestAuthenticationMethodVerifierTest extends AbstractTest {
     assertThat(verifier.verify(request)).isEqualTo(expectedResult);
   }
 
+  @Test
+  void testVerify_SameCertificateProvidedByHeaderTwice_CertificateDecodedOnce()
+      throws IOException, CertificateException, UnrecoverableKeyException, NoSuchAlgorithmException, KeyStoreException, OperatorCreationException, NoSuchProviderException {
+    SecurityProperties securityProperties = new SecurityProperties();
+    securityProperties.setAllowMissingClientCertificate(false);
+    SecurityClientTlsProperties securityClientTlsProperties = new SecurityClientTlsProperties();
+    securityClientTlsProperties.setHeaderName("X-CERTIFICATE");
+    securityClientTlsProperties.setEncoding(SecurityClientTlsEncoding.BASE64);
+    securityProperties.setClientTls(securityClientTlsProperties);
+
+    RegistryClient registryClient = Mockito.spy(new RegistryClient(new RegistryProperties()));
+
+    TlsRequestAuthenticationMethodVerifier verifier = new TlsRequestAuthenticationMethodVerifier(
+        securityProperties, registryClient);
+
+    DecodedKeystore keystore = KeyStoreGenerator.generate("", "1");
+    DecodedCertificateAndKey certificateAndKey = keystore.getDecodedCertificateAndKey("1");
+    X509Certificate[] certificates = {(X509Certificate) certificateAndKey.getCertificate()};
+
+    String certificateEncoded = URLEncoder
+        .encode(certificateAndKey.getFormattedCertificate(), StandardCharsets.UTF_8.toString());
+
+    doReturn(certificateAndKey.getCertificate()).when(registryClient)
+        .getCertificateKnownInEwpNetwork(certificates);
+
+    Collection<String> heiIdsCoveredByCertificate = Collections
+        .singletonList(UUID.randomUUID().toString());
+    doReturn(heiIdsCoveredByCertificate).when(registryClient)
+        .getHeisCoveredByCertificate(certificates[0]);
+
+    EwpApiAuthenticateMethodResponse expectedResult = EwpApiAuthenticateMethodResponse
+        .successBuilder(
+            EwpAuthenticationMethod.TLS, heiIdsCoveredByCertificate)
+        .build();
+    for (int attempt = 0; attempt < 2; attempt++) {
+      MockHttpServletRequest mockHttpServletRequest = new MockHttpServletRequest();
+      mockHttpServletRequest.addHeader("X-CERTIFICATE", certificateEncoded);
+      assertThat(verifier.verify(new EwpApiHttpRequestWrapper(mockHttpServletRequest)))
+          .isEqualTo(expectedResult);
+    }
+
+    ArgumentCaptor<X509Certificate[]> certificatesCaptor = ArgumentCaptor.forClass(
+        X509Certificate[].class);
+    verify(registryClient, times(2)).getCertificateKnownInEwpNetwork(
+        certificatesCaptor.capture());
+    assertThat(certificatesCaptor.getAllValues().get(1)[0])
+        .isSameAs(certificatesCaptor.getAllValues().get(0)[0]);
+  }
 }
@@ -0,0 +1,134 @@
+package pt.ulisboa.ewp.node.service.http.log;
+
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+import pt.ulisboa.ewp.node.config.logging.HttpCommunicationLogOverflowPolicy;
+import pt.ulisboa.ewp.node.config.logging.HttpCommunicationLogProperties;
+
+class HttpCommunicationLogWriterUnitTest {
+
+  @Test
+  void testSubmit_SeveralLogWrites_AllWrittenInBackground() throws InterruptedException {
+    HttpCommunicationLogWriter writer = createWriter(100, HttpCommunicationLogOverflowPolicy.BLOCK);
+    writer.start();
+
+    AtomicInteger numberWrites = new AtomicInteger();
+    for (int index = 0; index < 50; index++) {
+      writer.submit(numberWrites::incrementAndGet);
+    }
+
+    await().atMost(5, TimeUnit.SECONDS).until(() -> numberWrites.get() == 50);
+    writer.stop();
+
+    assertThat(writer.getMetrics().get("written"), equalTo(50L));
+    assertThat(writer.getQueueSize(), equalTo(0));
+  }
+
+  @Test
+  void testSubmit_OneLogWriteOfBatchFails_OtherLogWritesOfBatchWritten()
+      throws InterruptedException {
+    HttpCommunicationLogWriter writer = createWriter(100, HttpCommunicationLogOverflowPolicy.BLOCK);
+
+    AtomicInteger numberWrites = new AtomicInteger();
+    for (int index = 0; index < 10; index++) {
+      if (index == 5) {
+        writer.submit(() -> {
+          throw new IllegalStateException("Failed to write");
+        });
+      } else {
+        writer.submit(numberWrites::incrementAndGet);
+      }
+    }
+    // NOTE: the writer starts after all submits so that all log writes are part of the same batch
+    writer.start();
+
+    await().atMost(5, TimeUnit.SECONDS)
+        .until(() -> writer.getMetrics().get("failed").longValue() == 1L);
+    writer.stop();
+
+    assertThat(writer.getMetrics().get("written"), equalTo(9L));
+    assertThat(writer.getMetrics().get("failed"), equalTo(1L));
+  }
+
+  @Test
+  void testSubmit_QueueFullWithDropPolicy_ExceedingLogWritesDropped()
+      throws InterruptedException {
+    HttpCommunicationLogWriter writer = createWriter(1, HttpCommunicationLogOverflowPolicy.DROP);
+    writer.start();
+
+    CountDownLatch writerBlockedLatch = new CountDownLatch(1);
+    CountDownLatch releaseWriterLatch = new CountDownLatch(1);
+    writer.submit(() -> {
+      writerBlockedLatch.countDown();
+      awaitUninterruptibly(releaseWriterLatch);
+    });
+    writerBlockedLatch.await(5, TimeUnit.SECONDS);
+
+    AtomicInteger numberWrites = new AtomicInteger();
+    writer.submit(numberWrites::incrementAndGet);
+    writer.submit(numberWrites::incrementAndGet);
+
+    releaseWriterLatch.countDown();
+    await().atMost(5, TimeUnit.SECONDS).until(() -> numberWrites.get() == 1);
+    writer.stop();
+
+    assertThat(writer.getMetrics().get("dropped"), equalTo(1L));
+    assertThat(numberWrites.get(), equalTo(1));
+  }
+
+  @Test
+  void testSubmit_QueueFullWithWriteThroughPolicy_ExceedingLogWriteWrittenByCaller()
+      throws InterruptedException {
+    HttpCommunicationLogWriter writer = createWriter(1,
+        HttpCommunicationLogOverflowPolicy.WRITE_THROUGH);
+    writer.start();
+
+    CountDownLatch writerBlockedLatch = new CountDownLatch(1);
+    CountDownLatch releaseWriterLatch = new CountDownLatch(1);
+    writer.submit(() -> {
+      writerBlockedLatch.countDown();
+      awaitUninterruptibly(releaseWriterLatch);
+    });
+    writerBlockedLatch.await(5, TimeUnit.SECONDS);
+
+    AtomicInteger numberWrites = new AtomicInteger();
+    writer.submit(numberWrites::incrementAndGet);
+    Thread callerThread = Thread.currentThread();
+    writer.submit(() -> {
+      assertThat(Thread.currentThread(), equalTo(callerThread));
+      numberWrites.incrementAndGet();
+    });
+    assertThat(numberWrites.get(), equalTo(1));
+
+    releaseWriterLatch.countDown();
+    await().atMost(5, TimeUnit.SECONDS).until(() -> numberWrites.get() == 2);
+    writer.stop();
+
+    assertThat(writer.getMetrics().get("dropped"), equalTo(0L));
+  }
+
+  private HttpCommunicationLogWriter createWriter(int queueCapacity,
+      HttpCommunicationLogOverflowPolicy overflowPolicy) {
+    HttpCommunicationLogProperties properties = new HttpCommunicationLogProperties();
+    properties.setQueueCapacity(queueCapacity);
+    properties.setOverflowPolicy(overflowPolicy);
+    return new HttpCommunicationLogWriter(properties,
+        Mockito.mock(PlatformTransactionManager.class));
+  }
+
+  private static void awaitUninterruptibly(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
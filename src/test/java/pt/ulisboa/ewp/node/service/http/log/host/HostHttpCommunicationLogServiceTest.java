@@ -0,0 +1,92 @@
+package pt.ulisboa.ewp.node.service.http.log.host;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import pt.ulisboa.ewp.node.AbstractIntegrationTest;
+import pt.ulisboa.ewp.node.domain.entity.Host;
+import pt.ulisboa.ewp.node.domain.repository.HostRepository;
+import pt.ulisboa.ewp.node.domain.repository.http.log.host.HttpCommunicationFromHostLogRepository;
+import pt.ulisboa.ewp.node.service.http.log.HttpCommunicationLogWriter;
+
+class HostHttpCommunicationLogServiceTest extends AbstractIntegrationTest {
+
+  @Autowired
+  private HostRepository hostRepository;
+
+  @Autowired
+  private HttpCommunicationFromHostLogRepository httpCommunicationFromHostLogRepository;
+
+  @Autowired
+  private HttpCommunicationLogWriter httpCommunicationLogWriter;
+
+  @Autowired
+  private HostHttpCommunicationLogService hostHttpCommunicationLogService;
+
+  @Test
+  void testLogCommunicationFromHost_OneLogWriteOfBatchFails_OtherLogsOfBatchPersisted()
+      throws InterruptedException {
+    Host host = hostRepository.findByCode("sample-host").orElseThrow();
+    String observations = UUID.randomUUID().toString();
+    long numberFailedLogWritesBefore = httpCommunicationLogWriter.getMetrics().get("failed")
+        .longValue();
+
+    // NOTE: the writer is blocked while the logs are submitted, so that all of them are written
+    // in the same batch
+    CountDownLatch writerBlockedLatch = new CountDownLatch(1);
+    CountDownLatch releaseWriterLatch = new CountDownLatch(1);
+    httpCommunicationLogWriter.submit(() -> {
+      writerBlockedLatch.countDown();
+      awaitUninterruptibly(releaseWriterLatch);
+    });
+    assertThat(writerBlockedLatch.await(5, TimeUnit.SECONDS)).isTrue();
+
+    for (int index = 0; index < 5; index++) {
+      if (index == 2) {
+        httpCommunicationLogWriter.submit(() -> {
+          throw new IllegalStateException("Failed to write");
+        });
+      }
+      logCommunicationFromHost(host, observations);
+    }
+    releaseWriterLatch.countDown();
+
+    await().atMost(10, TimeUnit.SECONDS).until(() -> countLogsWithObservations(observations) == 5);
+    assertThat(httpCommunicationLogWriter.getMetrics().get("failed").longValue())
+        .isEqualTo(numberFailedLogWritesBefore + 1);
+  }
+
+  private void logCommunicationFromHost(Host host, String observations) {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/test");
+    request.addHeader("Accept", "application/xml");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    response.addHeader("Content-Type", "application/xml");
+    hostHttpCommunicationLogService.logCommunicationFromHost(host,
+        new ContentCachingRequestWrapper(request), new ContentCachingResponseWrapper(response),
+        ZonedDateTime.now(), ZonedDateTime.now(), observations);
+  }
+
+  private long countLogsWithObservations(String observations) {
+    return httpCommunicationFromHostLogRepository.findAll().stream()
+        .filter(log -> observations.equals(log.getObservations()))
+        .count();
+  }
+
+  private static void awaitUninterruptibly(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
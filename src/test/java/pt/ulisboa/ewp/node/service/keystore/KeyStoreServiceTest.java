@@ -0,0 +1,55 @@
+package pt.ulisboa.ewp.node.service.keystore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import pt.ulisboa.ewp.node.AbstractIntegrationTest;
+import pt.ulisboa.ewp.node.utils.keystore.DecodedKeystore;
+
+class KeyStoreServiceTest extends AbstractIntegrationTest {
+
+  @Autowired
+  private KeyStoreService keyStoreService;
+
+  @Test
+  void testRefreshFromStorage_KeystoreNotChanged_DecodedKeystoreReused() {
+    keyStoreService.refreshFromStorage();
+    DecodedKeystore decodedKeystore = keyStoreService.getDecodedKeyStoreFromStorage();
+
+    keyStoreService.refreshFromStorage();
+
+    assertThat(keyStoreService.getDecodedKeyStoreFromStorage()).isSameAs(decodedKeystore);
+  }
+
+  @Test
+  void testGetSigner_SameHeaderNames_SignerReused() {
+    assertThat(keyStoreService.getSigner(List.of("(request-target)", "host", "date")))
+        .isSameAs(keyStoreService.getSigner(List.of("(request-target)", "host", "date")))
+        .isNotSameAs(keyStoreService.getSigner(List.of("(request-target)", "host")));
+  }
+
+  @Test
+  void testPersistKeystore_NewKeystore_NewCertificateAndSignerUsed() throws Exception {
+    DecodedKeystore originalDecodedKeystore = keyStoreService.getDecodedKeyStoreFromStorage();
+    List<String> headerNames = List.of("(request-target)", "host");
+    try {
+      DecodedKeystore newDecodedKeystore = keyStoreService.generateKeystore();
+      assertThat(keyStoreService.persistKeystore(newDecodedKeystore)).isTrue();
+
+      String newPublicKeyFingerprint = newDecodedKeystore.getDecodedCertificateAndKeys().values()
+          .iterator().next().getPublicKeyFingerprint();
+      assertThat(keyStoreService.getDecodedKeyStoreFromStorage()).isSameAs(newDecodedKeystore);
+      assertThat(keyStoreService.getDecodedCertificateAndKeyFromStorage()
+          .getPublicKeyFingerprint()).isEqualTo(newPublicKeyFingerprint);
+      assertThat(keyStoreService.getSigner(headerNames)
+          .sign("get", "/", Map.of("host", "example.com")).getKeyId())
+          .isEqualTo(newPublicKeyFingerprint);
+
+    } finally {
+      keyStoreService.persistKeystore(originalDecodedKeystore);
+    }
+  }
+}
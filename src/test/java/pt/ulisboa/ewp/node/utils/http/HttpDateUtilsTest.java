@@ -0,0 +1,55 @@
+package pt.ulisboa.ewp.node.utils.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.text.ParseException;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import org.junit.jupiter.api.Test;
+
+public class HttpDateUtilsTest {
+
+  @Test
+  public void testFormat() {
+    assertThat(HttpDateUtils.format(Instant.parse("1994-11-06T08:49:37Z")))
+        .isEqualTo("Sun, 06 Nov 1994 08:49:37 GMT");
+  }
+
+  @Test
+  public void testFormatCurrentDate() throws ParseException {
+    long before = System.currentTimeMillis() / 1000L * 1000L;
+    String currentDate = HttpDateUtils.formatCurrentDate();
+    long after = System.currentTimeMillis();
+
+    assertThat(HttpDateUtils.parseToEpochMilli(currentDate)).isBetween(before, after);
+  }
+
+  @Test
+  public void testParseToEpochMilliWithImfFixdate() throws ParseException {
+    assertThat(HttpDateUtils.parseToEpochMilli("Sun, 06 Nov 1994 08:49:37 GMT"))
+        .isEqualTo(Instant.parse("1994-11-06T08:49:37Z").toEpochMilli());
+    assertThat(HttpDateUtils.parseToEpochMilli("Thu, 29 Feb 2024 23:59:59 GMT"))
+        .isEqualTo(Instant.parse("2024-02-29T23:59:59Z").toEpochMilli());
+  }
+
+  @Test
+  public void testParseToEpochMilliWithOtherTimeZone() throws ParseException {
+    ZonedDateTime dateTime = ZonedDateTime.parse("2021-03-01T10:00:00+01:00");
+    String value = DateTimeFormatter.RFC_1123_DATE_TIME.format(dateTime);
+
+    assertThat(HttpDateUtils.parseToEpochMilli(value))
+        .isEqualTo(dateTime.toInstant().toEpochMilli());
+    assertThat(HttpDateUtils.parseToEpochMilli("Mon, 01 Mar 2021 09:00:00 UTC"))
+        .isEqualTo(dateTime.toInstant().toEpochMilli());
+  }
+
+  @Test
+  public void testParseToEpochMilliWithInvalidDate() {
+    assertThatThrownBy(() -> HttpDateUtils.parseToEpochMilli("invalid"))
+        .isInstanceOf(ParseException.class);
+    assertThatThrownBy(() -> HttpDateUtils.parseToEpochMilli("Sun, 06 Nov 1994 08:49:37"))
+        .isInstanceOf(ParseException.class);
+  }
+}
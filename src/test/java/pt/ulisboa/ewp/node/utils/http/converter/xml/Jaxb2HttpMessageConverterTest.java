@@ -0,0 +1,74 @@
+package pt.ulisboa.ewp.node.utils.http.converter.xml;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import eu.erasmuswithoutpaper.api.architecture.v1.MultilineStringV1;
+import eu.erasmuswithoutpaper.api.echo.v2.ResponseV2;
+import java.io.IOException;
+import javax.xml.bind.JAXBElement;
+import javax.xml.namespace.QName;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+public class Jaxb2HttpMessageConverterTest {
+
+  private Jaxb2HttpMessageConverter converter;
+
+  @BeforeEach
+  public void setUp() {
+    converter = new Jaxb2HttpMessageConverter();
+    converter.setPackagesToScan("eu.erasmuswithoutpaper.api", "pt.ulisboa.ewp.node");
+    converter.setSupportJaxbElementClass(true);
+    converter.setNamespacePrefixMapper(new EwpNamespacePrefixMapper());
+  }
+
+  @Test
+  public void testWrite_SameClassTwice_SameOutputWithEmptyMainNamespacePrefix()
+      throws IOException {
+    ResponseV2 response = new ResponseV2();
+    response.getEcho().add("test");
+
+    String firstXml = write(response);
+    String secondXml = write(response);
+
+    assertThat(firstXml).contains("<response xmlns=").contains("<echo>test</echo>");
+    assertThat(secondXml).isEqualTo(firstXml);
+  }
+
+  @Test
+  public void testWrite_ElementRequiringFallbackTwice_SameOutput() throws IOException {
+    MultilineStringV1 description = new MultilineStringV1();
+    description.setValue("test");
+    JAXBElement<MultilineStringV1> element = new JAXBElement<>(
+        new QName("urn:test", "description"), MultilineStringV1.class, description);
+
+    String firstXml = write(element);
+    String secondXml = write(element);
+
+    assertThat(firstXml).contains("description").contains(">test<");
+    assertThat(secondXml).isEqualTo(firstXml);
+  }
+
+  @Test
+  public void testWrite_FormattedOutputSetOrNot_XmlIndentedOnlyWhenSet() throws IOException {
+    ResponseV2 response = new ResponseV2();
+    response.getEcho().add("test");
+
+    String compactXml = write(response);
+    setUp();
+    converter.setFormattedOutput(true);
+    String formattedXml = write(response);
+
+    assertThat(compactXml).doesNotContain("\n    <echo>");
+    assertThat(formattedXml).contains("\n    <echo>test</echo>");
+    assertThat(compactXml.length()).isLessThan(formattedXml.length());
+  }
+
+  private String write(Object object) throws IOException {
+    MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+    converter.write(object, MediaType.APPLICATION_XML, outputMessage);
+    return outputMessage.getBodyAsString();
+  }
+}